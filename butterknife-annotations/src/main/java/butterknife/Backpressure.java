@@ -0,0 +1,15 @@
+package butterknife;
+
+/**
+ * What a listener method {@linkplain OnClick#dispatch() dispatched} off the main thread does with
+ * events which arrive while a previous call is still running. Calls of one method for one target
+ * never run concurrently.
+ */
+public enum Backpressure {
+  /** Ignore events until the running call has finished. */
+  DROP,
+  /** Keep only the most recent event and call the method for it once the running call finishes. */
+  LATEST,
+  /** Call the method for every event, one after another in the order they arrived. */
+  QUEUE
+}
@@ -0,0 +1,47 @@
+package butterknife;
+
+import android.support.annotation.DimenRes;
+import android.support.annotation.DrawableRes;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+/**
+ * Bind a field to a {@link android.graphics.Bitmap} from the specified drawable resource ID.
+ * <pre><code>
+ * {@literal @}BindBitmap(R.drawable.logo) Bitmap logo;
+ * </code></pre>
+ * Large resources shown in small views can be decoded at a reduced size, either to fit a target
+ * size or with an explicit sample size:
+ * <pre><code>
+ * {@literal @}BindBitmap(value = R.drawable.photo, width = R.dimen.thumb, height = R.dimen.thumb)
+ * Bitmap thumbnail;
+ * {@literal @}BindBitmap(value = R.drawable.photo, sampleSize = 4) Bitmap preview;
+ * </code></pre>
+ * Decoded bitmaps are shared through a size-bounded cache and must not be recycled or modified.
+ */
+@Retention(CLASS) @Target(FIELD)
+public @interface BindBitmap {
+  /** Drawable resource ID from which the {@link android.graphics.Bitmap} will be created. */
+  @DrawableRes int value();
+
+  /**
+   * Dimension resource ID of the width the bitmap is displayed at. The bitmap is downsampled by the
+   * largest power of two that keeps it at least this wide.
+   */
+  @DimenRes int width() default 0;
+
+  /**
+   * Dimension resource ID of the height the bitmap is displayed at. The bitmap is downsampled by
+   * the largest power of two that keeps it at least this tall.
+   */
+  @DimenRes int height() default 0;
+
+  /**
+   * Explicit {@link android.graphics.BitmapFactory.Options#inSampleSize sample size}. Takes
+   * precedence over {@link #width()} and {@link #height()} when greater than one.
+   */
+  int sampleSize() default 1;
+}
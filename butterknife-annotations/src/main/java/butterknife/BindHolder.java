@@ -0,0 +1,36 @@
+package butterknife;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+/**
+ * Mark a class as a view holder which is bound once per item view in a scrolling list. Subclasses
+ * of {@code android.support.v7.widget.RecyclerView.ViewHolder} are detected without this
+ * annotation.
+ * <p>
+ * Holders get a static {@code bind} method on their generated binding which performs only the
+ * view lookups. Nothing is allocated for the binding itself and listeners are shared by every
+ * holder of the class:
+ * <pre><code>
+ * {@literal @}BindHolder
+ * static final class TweetHolder {
+ *   {@literal @}BindView(R.id.text) TextView text;
+ *
+ *   TweetHolder(View itemView) {
+ *     TweetHolder_ViewBinding.bind(this, itemView);
+ *   }
+ *
+ *   {@literal @}OnClick(R.id.text) void onTextClicked(int position) {
+ *     // React to the click on the item at the adapter position.
+ *   }
+ * }
+ * </code></pre>
+ * An {@code int} parameter on a listener method receives the holder's
+ * {@code getAdapterPosition()}.
+ */
+@Retention(CLASS) @Target(TYPE)
+public @interface BindHolder {
+}
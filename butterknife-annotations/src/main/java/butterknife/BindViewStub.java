@@ -0,0 +1,26 @@
+package butterknife;
+
+import android.support.annotation.IdRes;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+/**
+ * Bind a {@code LazyStub} field to the {@code ViewStub} for the specified ID. The stub is not
+ * inflated until its view is first requested.
+ * <pre><code>
+ * {@literal @}BindViewStub(R.id.details_stub) LazyStub&lt;LinearLayout&gt; details;
+ * </code></pre>
+ * Views inside the stub's layout are bound when it inflates by specifying the stub ID on their
+ * bindings:
+ * <pre><code>
+ * {@literal @}BindView(value = R.id.details_title, stubId = R.id.details_stub) TextView title;
+ * </code></pre>
+ */
+@Retention(CLASS) @Target(FIELD)
+public @interface BindViewStub {
+  /** View ID of the {@code ViewStub} to which the field will be bound. */
+  @IdRes int value();
+}
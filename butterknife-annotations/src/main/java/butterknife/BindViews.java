@@ -19,6 +19,18 @@ import static java.lang.annotation.RetentionPolicy.CLASS;
 public @interface BindViews {
   /** View IDs to which the field will be bound. */
   @IdRes int[] value();
+  /** View ID of the container in which the views are looked up. Same as a single-entry path. */
   @IdRes int parentId() default 0;
 
+  /**
+   * View IDs of the nested containers in which the views are looked up, outermost first. Useful
+   * when the same IDs are reused by several {@code <include>}d layouts.
+   */
+  @IdRes int[] parentPath() default {};
+
+  /**
+   * ID of the {@link BindViewStub view stub} whose layout contains the views. The field is bound
+   * when the stub inflates instead of with the rest of the target.
+   */
+  @IdRes int stubId() default 0;
 }
@@ -0,0 +1,16 @@
+package butterknife;
+
+/**
+ * Names of the executors a listener method can be {@linkplain OnClick#dispatch() dispatched} to.
+ * Any other name refers to an executor registered with {@code ButterKnife.setExecutor}.
+ */
+public final class Dispatch {
+  /** Call the method on the main thread as the event is delivered. */
+  public static final String MAIN = "";
+  /** Call the method on Butter Knife's shared pool of background threads. */
+  public static final String BACKGROUND = "background";
+
+  private Dispatch() {
+    throw new AssertionError("No instances.");
+  }
+}
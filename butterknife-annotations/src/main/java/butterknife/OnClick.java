@@ -21,6 +21,13 @@ import static java.lang.annotation.RetentionPolicy.CLASS;
  * Any number of parameters from
  * {@link OnClickListener#onClick(android.view.View) onClick} may be used on the
  * method.
+ * <p>
+ * Handlers which start slow work can be called on another thread instead:
+ * <pre><code>
+ * {@literal @}OnClick(value = R.id.sync, dispatch = Dispatch.BACKGROUND) void sync() {
+ *   repository.sync();
+ * }
+ * </code></pre>
  *
  * @see OnClickListener
  */
@@ -38,4 +45,20 @@ import static java.lang.annotation.RetentionPolicy.CLASS;
 public @interface OnClick {
   /** View IDs to which the method will be bound. */
   @IdRes int[] value() default { View.NO_ID };
+
+  /**
+   * ID of the {@link BindViewStub view stub} whose layout contains the views. The method is bound
+   * when the stub inflates instead of with the rest of the target.
+   */
+  @IdRes int stubId() default 0;
+
+  /**
+   * Executor to call the method on instead of the main thread, either {@link Dispatch#BACKGROUND}
+   * or the name of an executor registered with {@code ButterKnife.setExecutor}. The method must
+   * not touch views when dispatched off the main thread.
+   */
+  String dispatch() default Dispatch.MAIN;
+
+  /** What to do with clicks which arrive while a {@linkplain #dispatch() dispatched} call runs. */
+  Backpressure backpressure() default Backpressure.DROP;
 }
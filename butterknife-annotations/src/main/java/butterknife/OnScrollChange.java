@@ -0,0 +1,64 @@
+package butterknife;
+
+import android.support.annotation.IdRes;
+import android.view.View;
+import butterknife.internal.ListenerClass;
+import butterknife.internal.ListenerMethod;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static android.view.View.OnScrollChangeListener;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+/**
+ * Bind a method to an {@link OnScrollChangeListener OnScrollChangeListener} on the view for each
+ * ID specified.
+ * <pre><code>
+ * {@literal @}OnScrollChange(value = R.id.example, coalesce = true)
+ * void onScrollChange(int scrollX, int scrollY) {
+ *   header.setTranslationY(-scrollY);
+ * }
+ * </code></pre>
+ * Any number of parameters from
+ * {@link OnScrollChangeListener#onScrollChange(View, int, int, int, int) onScrollChange} may be
+ * used on the method.
+ * <p>
+ * The listener was added in API 23. On older platforms the method is never called.
+ *
+ * @see OnScrollChangeListener
+ */
+@Target(METHOD)
+@Retention(CLASS)
+@ListenerClass(
+    targetType = "android.view.View",
+    setter = "setOnScrollChangeListener",
+    type = "android.view.View.OnScrollChangeListener",
+    method = @ListenerMethod(
+        name = "onScrollChange",
+        parameters = {
+            "android.view.View",
+            "int",
+            "int",
+            "int",
+            "int"
+        }
+    ),
+    minSdk = 23
+)
+public @interface OnScrollChange {
+  /** View IDs to which the method will be bound. */
+  @IdRes int[] value() default { View.NO_ID };
+
+  /**
+   * ID of the {@link BindViewStub view stub} whose layout contains the views. The method is bound
+   * when the stub inflates instead of with the rest of the target.
+   */
+  @IdRes int stubId() default 0;
+
+  /**
+   * Call the method at most once per frame for each view, with the scroll position at the last
+   * change in that frame, instead of once per change.
+   */
+  boolean coalesce() default false;
+}
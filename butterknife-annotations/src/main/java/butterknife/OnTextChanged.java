@@ -0,0 +1,97 @@
+package butterknife;
+
+import android.support.annotation.IdRes;
+import android.text.TextWatcher;
+import android.view.View;
+import butterknife.internal.ListenerClass;
+import butterknife.internal.ListenerMethod;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+/**
+ * Bind a method to a {@link TextWatcher TextWatcher} on the view for each ID specified.
+ * <pre><code>
+ * {@literal @}OnTextChanged(R.id.example) void onTextChanged(CharSequence text) {
+ *   Toast.makeText(this, "Text changed: " + text, Toast.LENGTH_SHORT).show();
+ * }
+ * </code></pre>
+ * Any number of parameters from {@link TextWatcher#onTextChanged(CharSequence, int, int, int)
+ * onTextChanged} may be used on the method.
+ * <p>
+ * To bind to methods other than {@code onTextChanged}, specify a different {@code callback}.
+ * <pre><code>
+ * {@literal @}OnTextChanged(value = R.id.example, callback = BEFORE_TEXT_CHANGED)
+ * void onBeforeTextChanged(CharSequence text) {
+ *   Toast.makeText(this, "Before text changed: " + text, Toast.LENGTH_SHORT).show();
+ * }
+ * </code></pre>
+ * Text which changes many times within one frame, for example while it is being set
+ * programmatically, can be {@linkplain #coalesce() coalesced}.
+ *
+ * @see TextWatcher
+ */
+@Target(METHOD)
+@Retention(CLASS)
+@ListenerClass(
+    targetType = "android.widget.TextView",
+    setter = "addTextChangedListener",
+    remover = "removeTextChangedListener",
+    type = "android.text.TextWatcher",
+    callbacks = OnTextChanged.Callback.class
+)
+public @interface OnTextChanged {
+  /** View IDs to which the method will be bound. */
+  @IdRes int[] value() default { View.NO_ID };
+
+  /**
+   * ID of the {@link BindViewStub view stub} whose layout contains the views. The method is bound
+   * when the stub inflates instead of with the rest of the target.
+   */
+  @IdRes int stubId() default 0;
+
+  /** Listener callback to which the method will be bound. */
+  Callback callback() default Callback.TEXT_CHANGED;
+
+  /**
+   * Call the method at most once per frame for each view, with the arguments of the last change in
+   * that frame, instead of once per change.
+   */
+  boolean coalesce() default false;
+
+  /** {@link TextWatcher} callback methods. */
+  enum Callback {
+    /** {@link TextWatcher#onTextChanged(CharSequence, int, int, int)} */
+    @ListenerMethod(
+        name = "onTextChanged",
+        parameters = {
+            "java.lang.CharSequence",
+            "int",
+            "int",
+            "int"
+        }
+    )
+    TEXT_CHANGED,
+
+    /** {@link TextWatcher#beforeTextChanged(CharSequence, int, int, int)} */
+    @ListenerMethod(
+        name = "beforeTextChanged",
+        parameters = {
+            "java.lang.CharSequence",
+            "int",
+            "int",
+            "int"
+        }
+    )
+    BEFORE_TEXT_CHANGED,
+
+    /** {@link TextWatcher#afterTextChanged(android.text.Editable)} */
+    @ListenerMethod(
+        name = "afterTextChanged",
+        parameters = "android.text.Editable"
+    )
+    AFTER_TEXT_CHANGED,
+  }
+}
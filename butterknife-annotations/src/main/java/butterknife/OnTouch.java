@@ -0,0 +1,69 @@
+package butterknife;
+
+import android.support.annotation.IdRes;
+import android.view.View;
+import butterknife.internal.ListenerClass;
+import butterknife.internal.ListenerMethod;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static android.view.View.OnTouchListener;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+/**
+ * Bind a method to an {@link OnTouchListener OnTouchListener} on the view for each ID specified.
+ * <pre><code>
+ * {@literal @}OnTouch(R.id.example) boolean onTouch() {
+ *   Toast.makeText(this, "Touched!", Toast.LENGTH_SHORT).show();
+ *   return false;
+ * }
+ * </code></pre>
+ * Any number of parameters from
+ * {@link OnTouchListener#onTouch(android.view.View, android.view.MotionEvent) onTouch} may be used
+ * on the method.
+ * <p>
+ * Handlers which track a finger can have the moves of each frame
+ * {@linkplain #coalesce() coalesced}:
+ * <pre><code>
+ * {@literal @}OnTouch(value = R.id.canvas, coalesce = true) boolean onTouch(MotionEvent event) {
+ *   brush.moveTo(event.getX(), event.getY());
+ *   return true;
+ * }
+ * </code></pre>
+ *
+ * @see OnTouchListener
+ */
+@Target(METHOD)
+@Retention(CLASS)
+@ListenerClass(
+    targetType = "android.view.View",
+    setter = "setOnTouchListener",
+    type = "android.view.View.OnTouchListener",
+    method = @ListenerMethod(
+        name = "onTouch",
+        parameters = {
+            "android.view.View",
+            "android.view.MotionEvent"
+        },
+        returnType = "boolean",
+        defaultReturn = "false"
+    )
+)
+public @interface OnTouch {
+  /** View IDs to which the method will be bound. */
+  @IdRes int[] value() default { View.NO_ID };
+
+  /**
+   * ID of the {@link BindViewStub view stub} whose layout contains the views. The method is bound
+   * when the stub inflates instead of with the rest of the target.
+   */
+  @IdRes int stubId() default 0;
+
+  /**
+   * Call the method at most once per frame for each view with the last {@code ACTION_MOVE} of
+   * that frame. The listener consumes the moves it coalesces. Every other action is delivered
+   * straight away, after any move still pending, and its result is returned to the view.
+   */
+  boolean coalesce() default false;
+}
@@ -0,0 +1,25 @@
+package butterknife;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+/**
+ * Generate a binding which only holds weak references to its target, its root view and the views
+ * it sets listeners on. Use this for targets whose lifetime differs from their views, such as
+ * retained fragments or presenters, so that holding the {@link Unbinder} does not keep a view
+ * hierarchy alive and views which outlive the target do not keep the target alive.
+ * <pre><code>
+ * {@literal @}WeakBinding
+ * public class RetainedFragment extends Fragment {
+ *   {@literal @}BindView(R.id.title) TextView title;
+ * }
+ * </code></pre>
+ * Listeners check that the target is still alive and has not been unbound before calling it.
+ * Listeners which return a value return their default, such as {@code false}, once it is gone.
+ */
+@Retention(CLASS) @Target(TYPE)
+public @interface WeakBinding {
+}
@@ -0,0 +1,18 @@
+package butterknife.internal;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+/**
+ * Marks a class generated into the {@code butterknife.index} package of a module with a binding
+ * registry. The processor of the app module finds these classes on its classpath and merges the
+ * registries they name into one index. Never kept at runtime.
+ */
+@Retention(CLASS) @Target(TYPE)
+public @interface IndexFragment {
+  /** Qualified name of the module's {@code butterknife.BindingRegistry}. */
+  String value();
+}
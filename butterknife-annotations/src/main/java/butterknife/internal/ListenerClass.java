@@ -31,6 +31,12 @@ public @interface ListenerClass {
    */
   ListenerMethod[] method() default { };
 
+  /**
+   * Platform version which introduced the listener. Bindings only set the listener when running on
+   * this version or newer.
+   */
+  int minSdk() default 1;
+
   /** Default value for {@link #callbacks()}. */
   enum NONE { }
 }
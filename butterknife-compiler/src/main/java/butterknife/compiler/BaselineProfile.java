@@ -0,0 +1,88 @@
+package butterknife.compiler;
+
+import com.squareup.javapoet.JavaFile;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Baseline profile rules for the generated bindings, written when the
+ * {@code butterknife.baselineProfile} option is set. Merged into an app's profile they let ART
+ * compile the binding classes, their listener classes and the runtime methods they call ahead of
+ * time rather than interpreting them while the app starts.
+ * <p>
+ * The names of the anonymous listener classes are only known once javac has compiled the
+ * bindings, so they are matched with a wildcard.
+ */
+final class BaselineProfile {
+  /** Every binding is looked up and created through these. */
+  private static final String[] ENTRY_RULES = {
+      "HSPLbutterknife/ButterKnife;->bind(**)**",
+      "HSPLbutterknife/ButterKnife;->bindUntilDestroyed(**)**",
+      "HSPLbutterknife/ButterKnife;->bindUntilViewDestroyed(**)**",
+      "HSPLbutterknife/ButterKnife;->createBinding(**)**",
+      "HSPLbutterknife/ButterKnife;->createFragmentBinding(**)**",
+      "HSPLbutterknife/ButterKnife;->findBindingConstructorForClass(**)**",
+      "Lbutterknife/ButterKnife;"
+  };
+
+  // Rendered without imports, so runtime types are qualified.
+  private static final Pattern STATIC_CALL =
+      Pattern.compile("(butterknife\\.(?:internal\\.)?[A-Z][\\w.]*)\\.([a-z]\\w*)\\(");
+  private static final Pattern INSTANCE =
+      Pattern.compile("new (butterknife\\.(?:internal\\.)?[A-Z][\\w.]*)\\(");
+
+  private final Set<String> rules = new TreeSet<>();
+
+  void add(JavaFile javaFile) {
+    String packageName = javaFile.packageName;
+    String binding = internalName(
+        packageName.isEmpty() ? "" : packageName + ".", javaFile.typeSpec.name);
+    rules.add("HSPL" + binding + ";->**(**)**");
+    rules.add("HSPL" + binding + "$*;->**(**)**");
+    rules.add("L" + binding + ";");
+    rules.add("L" + binding + "$*;");
+
+    String source = javaFile.typeSpec.toString();
+    Matcher call = STATIC_CALL.matcher(source);
+    while (call.find()) {
+      String type = internalName(call.group(1));
+      rules.add("HSPL" + type + ";->" + call.group(2) + "(**)**");
+      rules.add("L" + type + ";");
+    }
+    // Listeners and helpers created by a binding are mostly called through their own methods.
+    Matcher instance = INSTANCE.matcher(source);
+    while (instance.find()) {
+      String type = internalName(instance.group(1));
+      rules.add("HSPL" + type + ";->**(**)**");
+      rules.add("L" + type + ";");
+    }
+  }
+
+  /** Writes the rules sorted, so the output only changes when the bindings do. */
+  void write(Writer writer) throws IOException {
+    Set<String> all = new TreeSet<>(rules);
+    all.addAll(Arrays.asList(ENTRY_RULES));
+    for (String rule : all) {
+      writer.write(rule);
+      writer.write('\n');
+    }
+  }
+
+  /** {@code butterknife.LazyStub.Binder} is {@code butterknife/LazyStub$Binder}. */
+  private static String internalName(String className) {
+    int typeStart = 0;
+    while (typeStart < className.length() && !Character.isUpperCase(className.charAt(typeStart))) {
+      typeStart = className.indexOf('.', typeStart) + 1;
+    }
+    return internalName(className.substring(0, typeStart), className.substring(typeStart));
+  }
+
+  private static String internalName(String packagePrefix, String typeName) {
+    return packagePrefix.replace('.', '/') + typeName.replace('.', '$');
+  }
+}
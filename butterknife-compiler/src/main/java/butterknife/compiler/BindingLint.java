@@ -0,0 +1,219 @@
+package butterknife.compiler;
+
+import butterknife.OnClick;
+import butterknife.internal.ListenerClass;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binding patterns which cost more at runtime than they need to, reported as warnings when the
+ * {@code butterknife.lint} option is set. Each finding says what the pattern costs and what to do
+ * instead. The costs are estimates from the bindings alone, as the processor cannot see layouts.
+ */
+final class BindingLint {
+  private static final ListenerClass ON_CLICK = OnClick.class.getAnnotation(ListenerClass.class);
+  /** Roughly what an anonymous listener class with one method adds to a dex file. */
+  private static final int LISTENER_CLASS_DEX_BYTES = 500;
+
+  private final int maxOptionalLookups;
+  private final int maxParentDepth;
+  private final int maxClickListeners;
+  private final int maxBindViews;
+
+  /**
+   * @param maxOptionalLookups optional views a class may look up from the root.
+   * @param maxParentDepth containers a view may be found through.
+   * @param maxClickListeners click listener classes the binding of a class may create.
+   * @param maxBindViews views one {@code @BindViews} field may bind.
+   */
+  BindingLint(int maxOptionalLookups, int maxParentDepth, int maxClickListeners,
+      int maxBindViews) {
+    this.maxOptionalLookups = maxOptionalLookups;
+    this.maxParentDepth = maxParentDepth;
+    this.maxClickListeners = maxClickListeners;
+    this.maxBindViews = maxBindViews;
+  }
+
+  List<Finding> check(BindingSet binding) {
+    List<Finding> findings = new ArrayList<>();
+    checkOptionalLookups(binding, findings);
+    checkSuperclassLookups(binding, findings);
+    checkParentPaths(binding, findings);
+    checkClickListeners(binding, findings);
+    checkBindViews(binding, findings);
+    return findings;
+  }
+
+  /** A view missing from the layout is only known to be missing once the whole tree is searched. */
+  private void checkOptionalLookups(BindingSet binding, List<Finding> findings) {
+    List<String> descriptions = new ArrayList<>();
+    for (Lookup lookup : lookups(binding)) {
+      if (!lookup.required && lookup.fromRoot) {
+        descriptions.add(lookup.description);
+      }
+    }
+    if (descriptions.size() > maxOptionalLookups) {
+      findings.add(new Finding(null, String.format("%s looks up %d optional views from the root "
+              + "(%s). Each one missing from the layout costs a search of every view in it, up to "
+              + "%d full-tree searches per bind. Bind them with the parentId of the container "
+              + "they are in so a miss only searches the container, or make them required.",
+          binding.targetSimpleName(), descriptions.size(), join(descriptions),
+          descriptions.size())));
+    }
+  }
+
+  /** The superclass binding has already searched the tree for the same view. */
+  private void checkSuperclassLookups(BindingSet binding, List<Finding> findings) {
+    Map<Id, BindingSet> inherited = new LinkedHashMap<>();
+    for (BindingSet parent = binding.getParentBinding(); parent != null;
+        parent = parent.getParentBinding()) {
+      for (Lookup lookup : lookups(parent)) {
+        // An ID under a container may well be another view than the same ID elsewhere.
+        if (lookup.fromRoot && !inherited.containsKey(lookup.id)) {
+          inherited.put(lookup.id, parent);
+        }
+      }
+    }
+    for (Lookup lookup : lookups(binding)) {
+      BindingSet parent = inherited.get(lookup.id);
+      if (parent != null && lookup.fromRoot) {
+        findings.add(new Finding(lookup.member, String.format("%s looks up ID %s, which the "
+                + "binding of its superclass %s looks up too. Costs a second search of the view "
+                + "tree for the same view per bind. Bind the view once in %s and use its field.",
+            lookup.description, lookup.id.code, parent.targetSimpleName(),
+            parent.targetSimpleName())));
+      }
+    }
+  }
+
+  private void checkParentPaths(BindingSet binding, List<Finding> findings) {
+    for (ViewBinding view : binding.getViewBindings()) {
+      FieldViewBinding field = view.getFieldBinding();
+      if (field != null) {
+        checkParentPath(field.getName(), field.getDescription(), field.getParentPath(), findings);
+      }
+    }
+    for (FieldCollectionViewBinding collection : binding.getCollectionBindings()) {
+      checkParentPath(collection.name, collection.getDescription(), collection.getParentPath(),
+          findings);
+    }
+  }
+
+  private void checkParentPath(String member, String description, List<Id> parentPath,
+      List<Finding> findings) {
+    if (parentPath.size() > maxParentDepth) {
+      findings.add(new Finding(member, String.format("%s is found through %d nested containers. "
+              + "Costs %d container lookups and casts before the view itself per bind. Give the "
+              + "view an ID which is unique in the layout and bind it from the nearest container "
+              + "with parentId, or from the root.",
+          description, parentPath.size(), parentPath.size())));
+    }
+  }
+
+  private void checkClickListeners(BindingSet binding, List<Finding> findings) {
+    int count = countClickListeners(binding.getViewBindings());
+    for (StubBinding stub : binding.getStubBindings()) {
+      count += countClickListeners(stub.getViewBindings());
+    }
+    if (count > maxClickListeners) {
+      findings.add(new Finding(null, String.format("%s creates %d click listener classes, one for "
+              + "each view with an @OnClick method. Costs about %d bytes of dex and %d listener "
+              + "objects per bind. Handle the clicks in one View.OnClickListener which switches on "
+              + "view.getId(), and set it on the views of a @BindViews field.",
+          binding.targetSimpleName(), count, count * LISTENER_CLASS_DEX_BYTES, count)));
+    }
+  }
+
+  private static int countClickListeners(List<ViewBinding> viewBindings) {
+    int count = 0;
+    for (ViewBinding view : viewBindings) {
+      if (view.getMethodBindings().containsKey(ON_CLICK)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private void checkBindViews(BindingSet binding, List<Finding> findings) {
+    for (FieldCollectionViewBinding collection : binding.getCollectionBindings()) {
+      int size = collection.getIds().size();
+      if (size > maxBindViews) {
+        findings.add(new Finding(collection.name, String.format("%s binds %d views. Costs %d "
+                + "searches of the view tree and a new %d-element collection per bind. Keep the "
+                + "views in one ViewGroup and walk its children, or show them in a RecyclerView "
+                + "which only binds the ones on screen.",
+            collection.getDescription(), size, size, size)));
+      }
+    }
+  }
+
+  /** The views {@code binding} searches the tree for, leaving out containers and the root. */
+  private static List<Lookup> lookups(BindingSet binding) {
+    List<Lookup> lookups = new ArrayList<>();
+    for (ViewBinding view : binding.getViewBindings()) {
+      if (view.isBoundToRoot()) {
+        continue;
+      }
+      FieldViewBinding field = view.getFieldBinding();
+      MemberViewBinding member = field;
+      String name = field != null ? field.getName() : null;
+      if (field == null) {
+        MethodViewBinding method = firstMethod(view);
+        member = method;
+        name = method.getName();
+      }
+      boolean fromRoot = field == null || field.getParentPath().isEmpty();
+      lookups.add(new Lookup(view.getId(), name, member.getDescription(),
+          !view.getRequiredBindings().isEmpty(), fromRoot));
+    }
+    for (FieldCollectionViewBinding collection : binding.getCollectionBindings()) {
+      for (Id id : collection.getIds()) {
+        lookups.add(new Lookup(id, collection.name, collection.getDescription(),
+            collection.isRequired(), collection.getParentPath().isEmpty()));
+      }
+    }
+    return lookups;
+  }
+
+  private static MethodViewBinding firstMethod(ViewBinding view) {
+    return view.getMethodBindings().values().iterator().next().values().iterator().next()
+        .iterator().next();
+  }
+
+  private static String join(List<String> parts) {
+    StringBuilder builder = new StringBuilder();
+    for (String part : parts) {
+      builder.append(builder.length() == 0 ? "" : ", ").append(part);
+    }
+    return builder.toString();
+  }
+
+  private static final class Lookup {
+    final Id id;
+    final String member;
+    final String description;
+    final boolean required;
+    final boolean fromRoot;
+
+    Lookup(Id id, String member, String description, boolean required, boolean fromRoot) {
+      this.id = id;
+      this.member = member;
+      this.description = description;
+      this.required = required;
+      this.fromRoot = fromRoot;
+    }
+  }
+
+  /** One warning, on the field or method named {@code member}, or on the class if it is null. */
+  static final class Finding {
+    final String member;
+    final String message;
+
+    Finding(String member, String message) {
+      this.member = member;
+      this.message = message;
+    }
+  }
+}
@@ -3,20 +3,26 @@ package butterknife.compiler;
 import android.support.annotation.LayoutRes;
 
 import com.google.common.collect.ImmutableList;
+import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.WildcardTypeName;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -25,17 +31,22 @@ import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.TypeMirror;
 
+import butterknife.WeakBinding;
 import butterknife.internal.ListenerClass;
 import butterknife.internal.ListenerMethod;
 
 import static butterknife.compiler.ButterKnifeProcessor.ACTIVITY_TYPE;
 import static butterknife.compiler.ButterKnifeProcessor.VIEW_TYPE;
+import static butterknife.compiler.ButterKnifeProcessor.isHolderType;
 import static butterknife.compiler.ButterKnifeProcessor.isSubtypeOfType;
+import static butterknife.compiler.StubBinding.LAZY_STUB;
+import static butterknife.compiler.StubBinding.VIEW_STUB;
 import static com.google.auto.common.MoreElements.getPackage;
 import static java.util.Collections.singletonList;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
 
 /**
  * A set of all the bindings requested by a single type.
@@ -49,39 +60,86 @@ final class BindingSet {
     private static final ClassName RESOURCES = ClassName.get("android.content.res", "Resources");
     private static final ClassName UI_THREAD =
             ClassName.get("android.support.annotation", "UiThread");
+    private static final ClassName ANY_THREAD =
+            ClassName.get("android.support.annotation", "AnyThread");
     private static final ClassName CALL_SUPER =
             ClassName.get("android.support.annotation", "CallSuper");
     private static final ClassName SUPPRESS_LINT =
             ClassName.get("android.annotation", "SuppressLint");
     private static final ClassName UNBINDER = ClassName.get("butterknife", "Unbinder");
-    static final ClassName BITMAP_FACTORY = ClassName.get("android.graphics", "BitmapFactory");
+    // Aapt can change IDs out from underneath us, just suppress since all will work at runtime.
+    private static final AnnotationSpec SUPPRESS_RESOURCE_TYPE =
+            AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "$S", "ResourceType")
+                    .build();
+    static final ClassName BITMAP_CACHE = ClassName.get("butterknife.internal", "BitmapCache");
     static final ClassName CONTEXT_COMPAT =
             ClassName.get("android.support.v4.content", "ContextCompat");
+    static final ClassName RESOURCE_CACHE = ClassName.get("butterknife.internal", "ResourceCache");
+    private static final ClassName LAZY_STUB_BINDER = LAZY_STUB.nestedClass("Binder");
+    private static final ClassName MISSING_VIEW_CACHE =
+            ClassName.get("butterknife.internal", "MissingViewCache");
+    private static final ClassName WEAK_REFERENCE = ClassName.get(WeakReference.class);
+    private static final ClassName DISPATCH_CHANNEL =
+            ClassName.get("butterknife.internal", "DispatchChannel");
+    private static final ClassName BACKPRESSURE = ClassName.get("butterknife", "Backpressure");
+    private static final ClassName FRAME_COALESCER =
+            ClassName.get("butterknife.internal", "FrameCoalescer");
+    private static final ClassName MOTION_EVENT = ClassName.get("android.view", "MotionEvent");
+    private static final ClassName BUILD = ClassName.get("android.os", "Build");
+    private static final ClassName TRACING = ClassName.get("butterknife.internal", "Tracing");
+    private static final String DEBOUNCING_ON_CLICK_LISTENER =
+            "butterknife.internal.DebouncingOnClickListener";
 
     private final TypeName targetTypeName;
     private final ClassName bindingClassName;
     private final boolean isFinal;
     private final boolean isActivity;
+    private final boolean isHolder;
+    private final boolean isWeak;
     private final ImmutableList<ViewBinding> viewBindings;
     private final ImmutableList<FieldCollectionViewBinding> collectionBindings;
+    private final ImmutableList<ResourceBinding> resourceBindings;
+    private final ImmutableList<StubBinding> stubBindings;
     private final BindingSet parentBinding;
+    /** The binding field holding the channel of each method called off the main thread. */
+    private final Map<MethodViewBinding, String> channels;
+    /** The binding field holding the coalescer of each coalesced method, by view. */
+    private final Map<ViewBinding, Map<MethodViewBinding, String>> coalescers;
     private int layoutId;
+    private int sharedListenerCount;
+    /** Whether the code being brewed marks its phases as trace sections. */
+    private boolean trace;
 
     private BindingSet(TypeName targetTypeName, ClassName bindingClassName, boolean isFinal,
-                       boolean isActivity, ImmutableList<ViewBinding> viewBindings,
+                       boolean isActivity, boolean isHolder, boolean isWeak,
+                       ImmutableList<ViewBinding> viewBindings,
                        ImmutableList<FieldCollectionViewBinding> collectionBindings,
+                       ImmutableList<ResourceBinding> resourceBindings,
+                       ImmutableList<StubBinding> stubBindings,
                        BindingSet parentBinding, @LayoutRes int layoutId) {
         this.isFinal = isFinal;
         this.targetTypeName = targetTypeName;
         this.bindingClassName = bindingClassName;
         this.isActivity = isActivity;
+        this.isHolder = isHolder;
+        this.isWeak = isWeak;
         this.viewBindings = viewBindings;
         this.collectionBindings = collectionBindings;
+        this.resourceBindings = resourceBindings;
+        this.stubBindings = stubBindings;
         this.parentBinding = parentBinding;
         this.layoutId = layoutId;
+        List<ViewBinding> allViewBindings = allViewBindings(viewBindings, stubBindings);
+        this.channels = nameDispatchChannels(allViewBindings);
+        this.coalescers = nameCoalescers(allViewBindings);
     }
 
-    JavaFile brewJava(int sdk) {
+    /** @param trace whether to mark the phases of binding as systrace sections. */
+    JavaFile brewJava(int sdk, boolean trace) {
+        this.trace = trace;
+        // Brewing again names the shared listeners the same.
+        sharedListenerCount = 0;
         return JavaFile.builder(bindingClassName.packageName(), createType(sdk))
                 .addFileComment("Generated code from Butter Knife. Do not modify!")
                 .build();
@@ -99,47 +157,69 @@ final class BindingSet {
             result.addSuperinterface(UNBINDER);
         }
         if (hasTargetField()) {
-            result.addField(targetTypeName, "target", PRIVATE);
+            result.addField(isWeak ? weak(targetTypeName) : targetTypeName, "target", PRIVATE);
+        }
+        for (StubBinding stub : stubBindings) {
+            result.addField(stub.getLazyStubType(), stubFieldName(stub), PRIVATE);
+        }
+        for (Map.Entry<MethodViewBinding, String> channel : channels.entrySet()) {
+            result.addField(FieldSpec.builder(DISPATCH_CHANNEL, channel.getValue(), PRIVATE, FINAL)
+                    .initializer("$L", newDispatchChannel(channel.getKey()))
+                    .build());
+        }
+        for (Map<MethodViewBinding, String> names : coalescers.values()) {
+            for (String name : names.values()) {
+                result.addField(FieldSpec.builder(FRAME_COALESCER, name, PRIVATE, FINAL)
+                        .initializer("new $T()", FRAME_COALESCER)
+                        .build());
+            }
         }
         if (!isActivity) {
-            result.addField(VIEW, "source", PRIVATE);
-            result.addMethod(createBindingConstructorForView());
+            result.addField(isWeak ? weak(VIEW) : VIEW, "source", PRIVATE);
+            if (isWeak) {
+                result.addField(VIEW, "layout", PRIVATE);
+            }
+            result.addMethod(createBindingConstructorForView(sdk));
         }
         result.addMethod(createBindingConstructor(sdk));
+        if (hasResourceBindings()) {
+            result.addMethod(createBindResourcesMethod(sdk));
+        }
+        if (isHolder) {
+            result.addMethod(createHolderBindMethod(result));
+        }
         result.addMethod(createBindingUnbindMethod(result));
         result.addMethod(createGetLayoutMethod());
         return result.build();
     }
-    private MethodSpec createBindingConstructorForView() {
+    private MethodSpec createBindingConstructorForView(int sdk) {
         MethodSpec.Builder builder = MethodSpec.constructorBuilder()
                 .addAnnotation(UI_THREAD)
                 .addModifiers(PUBLIC)
                 .addParameter(targetTypeName, "target",FINAL)
                 .addParameter(VIEW, "source");
-        if (hasTargetField()) {
-            builder.addStatement("this.target = target");
+        if (parentBinding != null) {
+            builder.addStatement("super(target, source)");
             builder.addCode("\n");
         }
-        builder.addStatement("this.source = source");
+        if (hasTargetField()) {
+            addTargetField(builder);
+        }
+        builder.addStatement(isWeak ? "this.source = new WeakReference<>(source)"
+                : "this.source = source");
         builder.addCode("\n");
         if (hasViewBindings()) {
-            if (hasViewLocal()) {
-                builder.addStatement("$T view", VIEW);
-            }
-            for (ViewBinding binding : viewBindings) {
-                addViewBinding(builder, binding);
-            }
-            for (FieldCollectionViewBinding binding : collectionBindings) {
-                builder.addStatement("$L", binding.render());
-            }
+            addViewBindings(builder, viewBindings, collectionBindings, null, null);
+            addStubBindings(builder, null, null);
         }
+        addResourceBindings(builder, "source.getContext()", sdk);
         return builder.build();
     }
     private MethodSpec createBindingConstructor(int sdk) {
         MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
                 .addAnnotation(UI_THREAD)
                 .addModifiers(PUBLIC);
-        if (hasMethodBindings()) {
+        if (hasMethodBindings() || !stubBindings.isEmpty()) {
             constructor.addParameter(targetTypeName, "target", FINAL);
         } else {
             constructor.addParameter(targetTypeName, "target");
@@ -160,22 +240,18 @@ final class BindingSet {
                     constructor.addStatement("super(target, inflater, container, $L)",layoutId);
                 else
                     constructor.addStatement("super(target, inflater, container, layoutId)");
-            }else if (parentBinding.constructorNeedsView()) {
+            } else {
                 if(layoutId != 0)
                     constructor.addStatement("super(target, source, $L)",layoutId);
                 else
                     constructor.addStatement("super(target, source, layoutId)");
-            } else if (constructorNeedsView()) {
-                constructor.addStatement("super(target, source.getContext())");
-            } else {
-                constructor.addStatement("super(target, context)");
             }
             constructor.addCode("\n");
         }
         if (hasTargetField()) {
-            constructor.addStatement("this.target = target");
-            constructor.addCode("\n");
+            addTargetField(constructor);
         }
+        beginTraceSection(constructor, "inflate");
         if (isActivity) {
             if(layoutId != 0) {
                 if(parentBinding == null)
@@ -184,7 +260,21 @@ final class BindingSet {
             else {
                 constructor.addStatement("if(layoutId != 0)\ntarget.setContentView(layoutId)");
             }
-        }else {
+        } else if (isWeak) {
+            // The binding only holds the root weakly, so it lives in a local while views are bound
+            // and is handed to the caller through a reference which getLayout gives up.
+            if (layoutId != 0 && parentBinding == null) {
+                constructor.addStatement("$T source = inflater.inflate($L, container, false)", VIEW,
+                        layoutId);
+            } else if (layoutId != 0) {
+                constructor.addStatement("$T source = ($T) super.getLayout()", VIEW, VIEW);
+            } else {
+                constructor.addStatement("$T source = layoutId != 0\n"
+                        + "? inflater.inflate(layoutId, container, false) : null", VIEW);
+            }
+            constructor.addStatement("this.source = new $T<>(source)", WEAK_REFERENCE);
+            constructor.addStatement("this.layout = source");
+        } else {
             if (layoutId != 0) {
                 if(parentBinding == null)
                     constructor.addStatement("source = inflater.inflate($L, container, false)", layoutId);
@@ -195,20 +285,168 @@ final class BindingSet {
                 constructor.addStatement("if(layoutId != 0)\nsource = inflater.inflate(layoutId, container, false)");
             }
         }
+        endTraceSection(constructor);
         constructor.addCode("\n");
         if (hasViewBindings()) {
-            if (hasViewLocal()) {
-                // Local variable in which all views will be temporarily stored.
-                constructor.addStatement("$T view", VIEW);
+            String missing = null;
+            if (hasOptionalRootLookups()) {
+                // The layout was just inflated from its resource so views missing from it last
+                // time in this configuration are still missing.
+                missing = "missing";
+                constructor.addStatement("$T $N = $T.forLayout($L, $L)",
+                        MISSING_VIEW_CACHE.nestedClass("Layout"), missing, MISSING_VIEW_CACHE,
+                        isActivity ? "target" : "inflater.getContext()",
+                        layoutId != 0 ? layoutId : "layoutId");
             }
-            for (ViewBinding binding : viewBindings) {
-                addViewBinding(constructor, binding);
+            addViewBindings(constructor, viewBindings, collectionBindings, null, missing);
+            addStubBindings(constructor, null, missing);
+        }
+        // An activity is its own context. A fragment may not have inflated a layout.
+        addResourceBindings(constructor, isActivity ? "target" : "inflater.getContext()", sdk);
+        return constructor.build();
+    }
+
+    /**
+     * In weak mode the binding and its listeners only reach the target through a reference which
+     * unbinding clears, so views which outlive the target do not keep it alive.
+     */
+    private void addTargetField(MethodSpec.Builder constructor) {
+        if (isWeak) {
+            constructor.addStatement("final $T weakTarget = new $T<>(target)", weak(targetTypeName),
+                    WEAK_REFERENCE);
+            constructor.addStatement("this.target = weakTarget");
+        } else {
+            constructor.addStatement("this.target = target");
+        }
+        constructor.addCode("\n");
+    }
+
+    private static TypeName weak(TypeName type) {
+        return ParameterizedTypeName.get(WEAK_REFERENCE, type);
+    }
+
+    /**
+     * Declares {@code target} at the start of a callback, returning {@code defaultReturn} when the
+     * target of a weak binding is gone or unbound.
+     */
+    private void addWeakTargetLocal(CodeBlock.Builder builder, String defaultReturn) {
+        builder.addStatement("final $T target = weakTarget.get()", targetTypeName);
+        if (defaultReturn == null) {
+            builder.addStatement("if (target == null) return");
+        } else {
+            builder.addStatement("if (target == null) return $L", defaultReturn);
+        }
+    }
+
+    /**
+     * Wraps each stub in a {@code LazyStub} which binds the views of the stub's layout once it has
+     * been inflated, so nothing inside a stub is looked up or allocated until it is shown.
+     */
+    private void addStubBindings(MethodSpec.Builder result, TypeSpec.Builder sharedListeners,
+                                 String missing) {
+        for (StubBinding stub : stubBindings) {
+            Object binder = "null";
+            if (!stub.getViewBindings().isEmpty() || !stub.getCollectionBindings().isEmpty()) {
+                MethodSpec.Builder bind = MethodSpec.methodBuilder("bind")
+                        .addAnnotation(Override.class)
+                        .addModifiers(PUBLIC)
+                        .addParameter(VIEW, "source");
+                if (isWeak && sharedListeners == null) {
+                    CodeBlock.Builder targetLocal = CodeBlock.builder();
+                    addWeakTargetLocal(targetLocal, null);
+                    bind.addCode(targetLocal.build());
+                }
+                addViewBindings(bind, stub.getViewBindings(), stub.getCollectionBindings(),
+                        sharedListeners, null);
+                binder = TypeSpec.anonymousClassBuilder("")
+                        .addSuperinterface(LAZY_STUB_BINDER)
+                        .addMethod(bind.build())
+                        .build();
             }
-            for (FieldCollectionViewBinding binding : collectionBindings) {
-                constructor.addStatement("$L", binding.render());
+
+            CodeBlock.Builder find = CodeBlock.builder();
+            if (stub.isRequired()) {
+                find.add("$T.findRequiredViewAsType(source, $L", UTILS, stub.getId().code);
+            } else {
+                find.add("$T.findOptionalViewAsType(source, $L", UTILS, stub.getId().code);
+                if (missing != null) {
+                    find.add(", $N", missing);
+                }
+            }
+            find.add(", $S, $T.class)", stub.getDescription(), VIEW_STUB);
+            CodeBlock lazyStub = CodeBlock.of("$T.of($L, $T.class, $L)", LAZY_STUB, find.build(),
+                    stub.getViewType(), binder);
+            if (sharedListeners == null) {
+                result.addStatement("$N = $L", stubFieldName(stub), lazyStub);
+                if (stub.getFieldName() != null) {
+                    result.addStatement("target.$L = $N", stub.getFieldName(), stubFieldName(stub));
+                }
+            } else if (stub.getFieldName() != null) {
+                result.addStatement("target.$L = $L", stub.getFieldName(), lazyStub);
+            } else {
+                result.addStatement("$L", lazyStub);
             }
         }
-        return constructor.build();
+    }
+
+    private static String stubFieldName(StubBinding stub) {
+        return "stub" + stub.getId().value;
+    }
+
+    private void addResourceBindings(MethodSpec.Builder result, String context, int sdk) {
+        if (!hasResourceBindings()) {
+            return;
+        }
+        if (hasViewBindings()) {
+            result.addCode("\n");
+        }
+        // A split bind resolves resources on a background thread through bindResources instead.
+        result.beginControlFlow("if (!$T.isResourceBindingDeferred())", UTILS);
+        result.addStatement("bindResources(target, $L)", context);
+        result.endControlFlow();
+    }
+
+    /**
+     * Holders are created for every item view of a list so their static bind method only looks up
+     * views. No binding instance is created and listeners are static and shared by every holder.
+     */
+    private MethodSpec createHolderBindMethod(TypeSpec.Builder bindingClass) {
+        MethodSpec.Builder result = MethodSpec.methodBuilder("bind")
+                .addAnnotation(UI_THREAD)
+                .addModifiers(PUBLIC, STATIC)
+                .addParameter(targetTypeName, "target", FINAL)
+                .addParameter(VIEW, "source");
+        if (parentBinding != null) {
+            result.addStatement("$T.bind(target, source)", parentBinding.bindingClassName);
+        }
+        if (hasViewBindings()) {
+            addViewBindings(result, viewBindings, collectionBindings, bindingClass, null);
+            addStubBindings(result, bindingClass, null);
+        }
+        if (hasResourceBindings()) {
+            result.addStatement("bindResources(target, source.getContext())");
+        }
+        return result.build();
+    }
+
+    /**
+     * Resource fields only depend on a context so they are bound by a static method which the
+     * constructors and a split bind running on a background thread can both call.
+     */
+    private MethodSpec createBindResourcesMethod(int sdk) {
+        MethodSpec.Builder result = MethodSpec.methodBuilder("bindResources")
+                .addAnnotation(ANY_THREAD)
+                .addAnnotation(SUPPRESS_RESOURCE_TYPE)
+                .addModifiers(PUBLIC, STATIC)
+                .addParameter(targetTypeName, "target")
+                .addParameter(CONTEXT, "context");
+        if (hasResourceBindingsNeedingResource(sdk)) {
+            result.addStatement("$T res = context.getResources()", RESOURCES);
+        }
+        for (ResourceBinding binding : resourceBindings) {
+            result.addStatement("$L", binding.render(sdk));
+        }
+        return result.build();
     }
 
     private MethodSpec createGetLayoutMethod() {
@@ -216,7 +454,11 @@ final class BindingSet {
                 .returns(TypeName.OBJECT)
                 .addAnnotation(Override.class)
                 .addModifiers(PUBLIC);
-        if (!isActivity) {
+        if (!isActivity && isWeak) {
+            result.addStatement("$T layout = this.layout", VIEW);
+            result.addStatement("this.layout = null");
+            result.addStatement("return layout != null ? layout : source.get()");
+        } else if (!isActivity) {
             result.addStatement("return source");
         } else {
             result.addStatement("throw new $T($S)", IllegalStateException.class,
@@ -233,7 +475,20 @@ final class BindingSet {
             result.addAnnotation(CALL_SUPER);
         }
 
-        if (hasTargetField()) {
+        if (hasTargetField() && isWeak) {
+            result.addStatement("if (this.target == null) throw new $T($S)",
+                    IllegalStateException.class, "Bindings already cleared.");
+            if (hasFieldBindings()) {
+                result.addStatement("$T target = this.target.get()", targetTypeName);
+            }
+            // Clearing the reference also stops listeners which are still set from calling back.
+            result.addStatement("this.target.clear()");
+            result.addStatement("this.target = null");
+            if (hasFieldBindings()) {
+                result.addCode("\n");
+                result.beginControlFlow("if (target != null)");
+            }
+        } else if (hasTargetField()) {
             if (hasFieldBindings()) {
                 result.addStatement("$T target = this.target", targetTypeName);
             }
@@ -241,6 +496,8 @@ final class BindingSet {
                     "Bindings already cleared.");
             result.addStatement("$N = null", hasFieldBindings() ? "this.target" : "target");
             result.addCode("\n");
+        }
+        if (hasTargetField()) {
             for (ViewBinding binding : viewBindings) {
                 if (binding.getFieldBinding() != null) {
                     result.addStatement("target.$L = null", binding.getFieldBinding().getName());
@@ -249,12 +506,56 @@ final class BindingSet {
             for (FieldCollectionViewBinding binding : collectionBindings) {
                 result.addStatement("target.$L = null", binding.name);
             }
+            for (StubBinding stub : stubBindings) {
+                if (stub.getFieldName() != null) {
+                    result.addStatement("target.$L = null", stub.getFieldName());
+                }
+                for (ViewBinding binding : stub.getViewBindings()) {
+                    if (binding.getFieldBinding() != null) {
+                        result.addStatement("target.$L = null", binding.getFieldBinding().getName());
+                    }
+                }
+                for (FieldCollectionViewBinding binding : stub.getCollectionBindings()) {
+                    result.addStatement("target.$L = null", binding.name);
+                }
+            }
+            if (isWeak && hasFieldBindings()) {
+                result.endControlFlow();
+            }
         }
 
         if (hasMethodBindings()) {
             result.addCode("\n");
             for (ViewBinding binding : viewBindings) {
-                addFieldAndUnbindStatement(bindingClass, result, binding);
+                addFieldAndUnbindStatement(bindingClass, result, binding, false);
+            }
+            // Views inside a stub are only bound if the stub was inflated.
+            for (StubBinding stub : stubBindings) {
+                for (ViewBinding binding : stub.getViewBindings()) {
+                    addFieldAndUnbindStatement(bindingClass, result, binding, true);
+                }
+            }
+            // Calls still waiting would otherwise reach the target once it has been unbound.
+            for (String channel : channels.values()) {
+                result.addStatement("$N.close()", channel);
+            }
+            for (Map<MethodViewBinding, String> names : coalescers.values()) {
+                for (String name : names.values()) {
+                    result.addStatement("$N.cancel()", name);
+                }
+            }
+        }
+
+        if (!stubBindings.isEmpty()) {
+            result.addCode("\n");
+            for (StubBinding stub : stubBindings) {
+                String field = stubFieldName(stub);
+                if (stub.isRequired()) {
+                    result.addStatement("$N.unbind()", field);
+                } else {
+                    result.addStatement("if ($N != null) $N.unbind()", field, field);
+                }
+                result.addStatement("$N = null", field);
             }
         }
 
@@ -266,7 +567,7 @@ final class BindingSet {
     }
 
     private void addFieldAndUnbindStatement(TypeSpec.Builder result, MethodSpec.Builder unbindMethod,
-                                            ViewBinding bindings) {
+                                            ViewBinding bindings, boolean mayBeUnbound) {
         // Only add fields to the binding if there are method bindings.
         Map<ListenerClass, Map<ListenerMethod, Set<MethodViewBinding>>> classMethodBindings =
                 bindings.getMethodBindings();
@@ -275,13 +576,21 @@ final class BindingSet {
         }
 
         String fieldName = bindings.isBoundToRoot() ? "viewSource" : "view" + bindings.getId().value;
-        result.addField(VIEW, fieldName, PRIVATE);
+        result.addField(isWeak ? weak(VIEW) : VIEW, fieldName, PRIVATE);
 
         // We only need to emit the null check if there are zero required bindings.
-        boolean needsNullChecked = bindings.getRequiredBindings().isEmpty();
+        boolean needsNullChecked =
+                isWeak || mayBeUnbound || bindings.getRequiredBindings().isEmpty();
         if (needsNullChecked) {
             unbindMethod.beginControlFlow("if ($N != null)", fieldName);
         }
+        // A weakly held view which has been collected has no listeners left to remove.
+        String viewName = fieldName;
+        if (isWeak) {
+            viewName = "view";
+            unbindMethod.addStatement("$T $N = $N.get()", VIEW, viewName, fieldName);
+            unbindMethod.beginControlFlow("if ($N != null)", viewName);
+        }
 
         for (ListenerClass listenerClass : classMethodBindings.keySet()) {
             // We need to keep a reference to the listener
@@ -294,19 +603,30 @@ final class BindingSet {
                 result.addField(listenerClassName, listenerField, PRIVATE);
             }
 
+            boolean guarded = listenerClass.minSdk() > 1;
+            if (guarded) {
+                unbindMethod.beginControlFlow("if ($T.VERSION.SDK_INT >= $L)", BUILD,
+                        listenerClass.minSdk());
+            }
             if (!VIEW_TYPE.equals(listenerClass.targetType())) {
                 unbindMethod.addStatement("(($T) $N).$N($N)", bestGuess(listenerClass.targetType()),
-                        fieldName, removerOrSetter(listenerClass, requiresRemoval), listenerField);
+                        viewName, removerOrSetter(listenerClass, requiresRemoval), listenerField);
             } else {
-                unbindMethod.addStatement("$N.$N($N)", fieldName,
+                unbindMethod.addStatement("$N.$N($N)", viewName,
                         removerOrSetter(listenerClass, requiresRemoval), listenerField);
             }
+            if (guarded) {
+                unbindMethod.endControlFlow();
+            }
 
             if (requiresRemoval) {
                 unbindMethod.addStatement("$N = null", listenerField);
             }
         }
 
+        if (isWeak) {
+            unbindMethod.endControlFlow();
+        }
         unbindMethod.addStatement("$N = null", fieldName);
 
         if (needsNullChecked) {
@@ -320,31 +640,171 @@ final class BindingSet {
                 : listenerClass.setter();
     }
 
-    private void addViewBinding(MethodSpec.Builder result, ViewBinding binding) {
+    /**
+     * @param sharedListeners the binding class to which static listeners shared by every target are
+     * added, or null to create listeners for this target only.
+     * @param missing the local holding the memo of views missing from the root's layout, or null
+     * when the root was not inflated by this binding.
+     */
+    private void addViewBindings(MethodSpec.Builder result, List<ViewBinding> viewBindings,
+                                 List<FieldCollectionViewBinding> collectionBindings,
+                                 TypeSpec.Builder sharedListeners, String missing) {
+        beginTraceSection(result, "views");
+        if (hasViewLocal(viewBindings)) {
+            // Local variable in which all views will be temporarily stored.
+            result.addStatement("$T view", VIEW);
+        }
+        Map<MethodViewBinding, String> channels = this.channels;
+        if (sharedListeners != null) {
+            // A holder's static bind method has no binding to keep them on.
+            channels = addDispatchChannels(result, viewBindings);
+        }
+        Map<List<Id>, String> parents =
+                addParentLocals(result, viewBindings, collectionBindings, missing);
+        for (ViewBinding binding : viewBindings) {
+            addViewBinding(result, binding, parents, channels, sharedListeners, missing);
+        }
+        for (FieldCollectionViewBinding binding : collectionBindings) {
+            String source = binding.getParentPath().isEmpty()
+                    ? "source"
+                    : parents.get(binding.getParentPath());
+            result.addStatement("$L", binding.render(source, missing));
+        }
+        endTraceSection(result);
+    }
+
+    /**
+     * Opens a systrace section named after the target and {@code phase}. A lookup which throws
+     * leaves it open but the bind has failed at that point anyway.
+     */
+    private void beginTraceSection(MethodSpec.Builder result, String phase) {
+        if (trace) {
+            result.addStatement("$T.beginSection($S)", TRACING,
+                    "ButterKnife:" + targetSimpleName() + " " + phase);
+        }
+    }
+
+    String targetSimpleName() {
+        String name = bindingClassName.simpleName();
+        return name.substring(0, name.length() - "_ViewBinding".length());
+    }
+
+    /** Names the methods a click listener calls in what {@code ClickLatency} records. */
+    private String clickHandlerName(Map<ListenerMethod, Set<MethodViewBinding>> methodBindings) {
+        StringBuilder names = new StringBuilder();
+        for (Set<MethodViewBinding> bindings : methodBindings.values()) {
+            for (MethodViewBinding methodBinding : bindings) {
+                names.append(names.length() == 0 ? "" : "+").append(methodBinding.getName());
+            }
+        }
+        return targetSimpleName() + "." + names;
+    }
+
+    private void endTraceSection(MethodSpec.Builder result) {
+        if (trace) {
+            result.addStatement("$T.endSection()", TRACING);
+        }
+    }
+
+    /**
+     * Declares a local for every container on the parent paths of the field bindings so that a
+     * container is looked up once however many fields are found inside it. A container is required
+     * when any field inside it is. Returns the name of the local holding each path's container.
+     */
+    private static Map<List<Id>, String> addParentLocals(MethodSpec.Builder result,
+            List<ViewBinding> viewBindings, List<FieldCollectionViewBinding> collectionBindings,
+            String missing) {
+        Map<List<Id>, List<MemberViewBinding>> members = new LinkedHashMap<>();
+        Map<List<Id>, Boolean> required = new LinkedHashMap<>();
+        for (ViewBinding binding : viewBindings) {
+            FieldViewBinding fieldBinding = binding.getFieldBinding();
+            if (fieldBinding != null) {
+                addParentPath(members, required, fieldBinding.getParentPath(), fieldBinding,
+                        fieldBinding.isRequired());
+            }
+        }
+        for (FieldCollectionViewBinding binding : collectionBindings) {
+            addParentPath(members, required, binding.getParentPath(), binding,
+                    binding.isRequired());
+        }
+
+        Map<List<Id>, String> parents = new LinkedHashMap<>();
+        for (Map.Entry<List<Id>, List<MemberViewBinding>> entry : members.entrySet()) {
+            List<Id> path = entry.getKey();
+            Id id = path.get(path.size() - 1);
+            String container = path.size() == 1
+                    ? "source"
+                    : parents.get(path.subList(0, path.size() - 1));
+            String name = "parent" + parents.size();
+            if (required.get(path)) {
+                result.addStatement("$T $N = $T.findRequiredView($N, $L, $S)", VIEW, name, UTILS,
+                        container, id.code, "parent of " + asHumanDescription(entry.getValue()));
+            } else if (path.size() == 1 && missing != null) {
+                result.addStatement("$T $N = $T.findOptionalView($N, $L, $N)", VIEW, name, UTILS,
+                        container, id.code, missing);
+            } else {
+                result.addStatement("$T $N = $T.findOptionalView($N, $L)", VIEW, name, UTILS,
+                        container, id.code);
+            }
+            parents.put(path, name);
+        }
+        return parents;
+    }
+
+    private static void addParentPath(Map<List<Id>, List<MemberViewBinding>> members,
+            Map<List<Id>, Boolean> required, List<Id> parentPath, MemberViewBinding member,
+            boolean memberRequired) {
+        // Every prefix is a container of its own, visited outermost first.
+        for (int i = 1; i <= parentPath.size(); i++) {
+            List<Id> path = parentPath.subList(0, i);
+            List<MemberViewBinding> pathMembers = members.get(path);
+            if (pathMembers == null) {
+                pathMembers = new ArrayList<>();
+                members.put(path, pathMembers);
+                required.put(path, false);
+            }
+            pathMembers.add(member);
+            if (memberRequired) {
+                required.put(path, true);
+            }
+        }
+    }
+
+    private void addViewBinding(MethodSpec.Builder result, ViewBinding binding,
+                                Map<List<Id>, String> parents,
+                                Map<MethodViewBinding, String> channels,
+                                TypeSpec.Builder sharedListeners, String missing) {
         if (binding.isSingleFieldBinding()) {
             // Optimize the common case where there's a single binding directly to a field.
 
             FieldViewBinding fieldBinding = binding.getFieldBinding();
-            int parentId = fieldBinding.getParentId();
+            List<Id> parentPath = fieldBinding.getParentPath();
+            String source = parentPath.isEmpty() ? "source" : parents.get(parentPath);
             CodeBlock.Builder builder = CodeBlock.builder()
                     .add("target.$L = ", fieldBinding.getName());
 
             boolean requiresCast = requiresCast(fieldBinding.getType());
+            if (!parentPath.isEmpty() || fieldBinding.isRequired()) {
+                missing = null;
+            }
             if (!requiresCast && !fieldBinding.isRequired()) {
-                if(parentId != 0)
-                    builder.add("source.findViewById($L).findViewById($L)",parentId,binding.getId().code);
-                else
-                    builder.add("source.findViewById($L)", binding.getId().code);
+                if (missing != null) {
+                    builder.add("$T.findOptionalView(source, $L, $N)", UTILS, binding.getId().code,
+                            missing);
+                } else {
+                    // Also goes through the shared view index and tolerates a missing container.
+                    builder.add("$T.findOptionalView($N, $L)", UTILS, source, binding.getId().code);
+                }
             } else {
                 builder.add("$T.find", UTILS);
                 builder.add(fieldBinding.isRequired() ? "RequiredView" : "OptionalView");
                 if (requiresCast) {
                     builder.add("AsType");
                 }
-                if(parentId != 0)
-                    builder.add("(source.findViewById($L), $L",parentId, binding.getId().code);
-                else
-                    builder.add("(source, $L", binding.getId().code);
+                builder.add("($N, $L", source, binding.getId().code);
+                if (missing != null) {
+                    builder.add(", $N", missing);
+                }
                 if (fieldBinding.isRequired() || requiresCast) {
                     builder.add(", $S", asHumanDescription(singletonList(fieldBinding)));
                 }
@@ -359,14 +819,20 @@ final class BindingSet {
 
         List<MemberViewBinding> requiredBindings = binding.getRequiredBindings();
         if (requiredBindings.isEmpty()) {
-            result.addStatement("view = source.findViewById($L)", binding.getId().code);
+            if (missing != null) {
+                result.addStatement("view = $T.findOptionalView(source, $L, $N)", UTILS,
+                        binding.getId().code, missing);
+            } else {
+                result.addStatement("view = $T.findOptionalView(source, $L)", UTILS,
+                        binding.getId().code);
+            }
         } else if (!binding.isBoundToRoot()) {
             result.addStatement("view = $T.findRequiredView(source, $L, $S)", UTILS,
                     binding.getId().code, asHumanDescription(requiredBindings));
         }
 
         addFieldBinding(result, binding);
-        addMethodBindings(result, binding);
+        addMethodBindings(result, binding, channels, sharedListeners);
     }
 
     private void addFieldBinding(MethodSpec.Builder result, ViewBinding binding) {
@@ -382,7 +848,9 @@ final class BindingSet {
         }
     }
 
-    private void addMethodBindings(MethodSpec.Builder result, ViewBinding binding) {
+    private void addMethodBindings(MethodSpec.Builder result, ViewBinding binding,
+                                   Map<MethodViewBinding, String> channels,
+                                   TypeSpec.Builder sharedListeners) {
         Map<ListenerClass, Map<ListenerMethod, Set<MethodViewBinding>>> classMethodBindings =
                 binding.getMethodBindings();
         if (classMethodBindings.isEmpty()) {
@@ -394,6 +862,7 @@ final class BindingSet {
         if (needsNullChecked) {
             result.beginControlFlow("if (view != null)");
         }
+        beginTraceSection(result, "listeners");
 
         // Add the view reference to the binding.
         String fieldName = "viewSource";
@@ -402,15 +871,27 @@ final class BindingSet {
             fieldName = "view" + binding.getId().value;
             bindName = "view";
         }
-        result.addStatement("$L = $N", fieldName, bindName);
+        if (sharedListeners == null && isWeak) {
+            result.addStatement("$L = new $T<>($N)", fieldName, WEAK_REFERENCE, bindName);
+        } else if (sharedListeners == null) {
+            result.addStatement("$L = $N", fieldName, bindName);
+        } else {
+            result.addStatement("$T.setHolder($N, target)", UTILS, bindName);
+        }
 
         for (Map.Entry<ListenerClass, Map<ListenerMethod, Set<MethodViewBinding>>> e
                 : classMethodBindings.entrySet()) {
             ListenerClass listener = e.getKey();
             Map<ListenerMethod, Set<MethodViewBinding>> methodBindings = e.getValue();
+            // Static listeners have nowhere to keep a dispatch channel or coalescer per target.
+            boolean shared = sharedListeners != null && canShare(listener)
+                    && !hasDeferredMethods(methodBindings);
 
-            TypeSpec.Builder callback = TypeSpec.anonymousClassBuilder("")
-                    .superclass(ClassName.bestGuess(listener.type()));
+            TypeSpec.Builder callback = DEBOUNCING_ON_CLICK_LISTENER.equals(listener.type())
+                    ? TypeSpec.anonymousClassBuilder("$S", clickHandlerName(methodBindings))
+                    : TypeSpec.anonymousClassBuilder("");
+            callback.superclass(ClassName.bestGuess(listener.type()));
+            int coalescerCount = 0;
 
             for (ListenerMethod method : getListenerMethods(listener)) {
                 MethodSpec.Builder callbackMethod = MethodSpec.methodBuilder(method.name())
@@ -418,37 +899,64 @@ final class BindingSet {
                         .addModifiers(PUBLIC)
                         .returns(bestGuess(method.returnType()));
                 String[] parameterTypes = method.parameters();
+                // Dispatched and coalesced calls capture the parameters in a task run later.
+                boolean deferred = isDeferred(methodBindings.get(method));
                 for (int i = 0, count = parameterTypes.length; i < count; i++) {
-                    callbackMethod.addParameter(bestGuess(parameterTypes[i]), "p" + i);
+                    ParameterSpec.Builder parameter =
+                            ParameterSpec.builder(bestGuess(parameterTypes[i]), "p" + i);
+                    if (deferred) {
+                        parameter.addModifiers(FINAL);
+                    }
+                    callbackMethod.addParameter(parameter.build());
                 }
 
                 boolean hasReturnType = !"void".equals(method.returnType());
                 CodeBlock.Builder builder = CodeBlock.builder();
-                if (hasReturnType) {
+                if (shared && methodBindings.containsKey(method)) {
+                    builder.addStatement("final $T target = $T.getHolder(p$L)", targetTypeName,
+                            UTILS, viewParameterPosition(listener, method));
+                } else if (isWeak && sharedListeners == null
+                        && methodBindings.containsKey(method)) {
+                    addWeakTargetLocal(builder, hasReturnType ? method.defaultReturn() : null);
+                }
+                // A coalesced call returns from each of its branches.
+                if (hasReturnType && !isCoalesced(methodBindings.get(method))) {
                     builder.add("return ");
                 }
 
                 if (methodBindings.containsKey(method)) {
                     for (MethodViewBinding methodBinding : methodBindings.get(method)) {
-                        builder.add("target.$L(", methodBinding.getName());
-                        List<Parameter> parameters = methodBinding.getParameters();
-                        String[] listenerParameters = method.parameters();
-                        for (int i = 0, count = parameters.size(); i < count; i++) {
-                            if (i > 0) {
-                                builder.add(", ");
-                            }
-
-                            Parameter parameter = parameters.get(i);
-                            int listenerPosition = parameter.getListenerPosition();
-
-                            if (parameter.requiresCast(listenerParameters[listenerPosition])) {
-                                builder.add("$T.<$T>castParam(p$L, $S, $L, $S, $L)", UTILS, parameter.getType(),
-                                        listenerPosition, method.name(), listenerPosition, methodBinding.getName(), i);
+                        if (methodBinding.isCoalesced()) {
+                            String coalescer = "coalescer" + coalescerCount;
+                            if (sharedListeners == null) {
+                                coalescer = coalescers.get(binding).get(methodBinding);
                             } else {
-                                builder.add("p$L", listenerPosition);
+                                // A holder's static bind method has no binding to keep it on.
+                                callback.addField(FieldSpec.builder(FRAME_COALESCER, coalescer,
+                                        PRIVATE, FINAL)
+                                        .initializer("new $T()", FRAME_COALESCER)
+                                        .build());
+                            }
+                            String consumed = null;
+                            if (hasReturnType) {
+                                // Consumed until the method says otherwise, so the gesture
+                                // keeps coming while the first coalesced call is pending.
+                                consumed = "consumed" + coalescerCount;
+                                callback.addField(FieldSpec.builder(boolean.class, consumed,
+                                        PRIVATE)
+                                        .initializer("true")
+                                        .build());
                             }
+                            coalescerCount++;
+                            addCoalescedCall(builder, method, methodBinding, coalescer,
+                                    consumed);
+                        } else if (methodBinding.isDispatched()) {
+                            addDispatchedCall(builder, method, methodBinding,
+                                    channels.get(methodBinding));
+                        } else {
+                            builder.add("$L;\n", methodCall(method, methodBinding,
+                                    "target.getAdapterPosition()"));
                         }
-                        builder.add(");\n");
                     }
                 } else if (hasReturnType) {
                     builder.add("$L;\n", method.defaultReturn());
@@ -457,7 +965,32 @@ final class BindingSet {
                 callback.addMethod(callbackMethod.build());
             }
 
-            boolean requiresRemoval = listener.remover().length() != 0;
+            // Listeners newer than the platform are left unset rather than failing to link.
+            boolean guarded = listener.minSdk() > 1;
+            if (guarded) {
+                result.beginControlFlow("if ($T.VERSION.SDK_INT >= $L)", BUILD, listener.minSdk());
+            }
+
+            if (shared) {
+                String listenerField = "LISTENER_" + sharedListenerCount++;
+                sharedListeners.addField(FieldSpec.builder(bestGuess(listener.type()),
+                        listenerField, PRIVATE, STATIC, FINAL)
+                        .initializer("$L", callback.build())
+                        .build());
+                if (!VIEW_TYPE.equals(listener.targetType())) {
+                    result.addStatement("(($T) $N).$L($N)", bestGuess(listener.targetType()),
+                            bindName, listener.setter(), listenerField);
+                } else {
+                    result.addStatement("$N.$L($N)", bindName, listener.setter(), listenerField);
+                }
+                if (guarded) {
+                    result.endControlFlow();
+                }
+                continue;
+            }
+
+            // A holder's static bind method has no instance to keep the listener on for removal.
+            boolean requiresRemoval = listener.remover().length() != 0 && sharedListeners == null;
             String listenerField = null;
             if (requiresRemoval) {
                 TypeName listenerClassName = bestGuess(listener.type());
@@ -472,13 +1005,278 @@ final class BindingSet {
                 result.addStatement("$N.$L($L)", bindName, listener.setter(),
                         requiresRemoval ? listenerField : callback.build());
             }
+            if (guarded) {
+                result.endControlFlow();
+            }
         }
 
+        endTraceSection(result);
         if (needsNullChecked) {
             result.endControlFlow();
         }
     }
 
+    /**
+     * Renders the call of {@code methodBinding} from the listener callback {@code method}.
+     *
+     * @param adapterPosition the expression passed for an adapter position parameter.
+     */
+    private static CodeBlock methodCall(ListenerMethod method, MethodViewBinding methodBinding,
+                                        String adapterPosition) {
+        return methodCall(method, methodBinding, adapterPosition, listenerArguments(method));
+    }
+
+    /** @param arguments the expression passed for each of the listener's parameters. */
+    private static CodeBlock methodCall(ListenerMethod method, MethodViewBinding methodBinding,
+                                        String adapterPosition, String[] arguments) {
+        CodeBlock.Builder builder = CodeBlock.builder()
+                .add("target.$L(", methodBinding.getName());
+        List<Parameter> parameters = methodBinding.getParameters();
+        String[] listenerParameters = method.parameters();
+        for (int i = 0, count = parameters.size(); i < count; i++) {
+            if (i > 0) {
+                builder.add(", ");
+            }
+
+            Parameter parameter = parameters.get(i);
+            int listenerPosition = parameter.getListenerPosition();
+
+            if (listenerPosition == Parameter.ADAPTER_POSITION) {
+                builder.add("$L", adapterPosition);
+            } else if (parameter.requiresCast(listenerParameters[listenerPosition])) {
+                builder.add("$T.<$T>castParam($N, $S, $L, $S, $L)", UTILS, parameter.getType(),
+                        arguments[listenerPosition], method.name(), listenerPosition,
+                        methodBinding.getName(), i);
+            } else {
+                builder.add("$N", arguments[listenerPosition]);
+            }
+        }
+        return builder.add(")").build();
+    }
+
+    private static String[] listenerArguments(ListenerMethod method) {
+        String[] arguments = new String[method.parameters().length];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = "p" + i;
+        }
+        return arguments;
+    }
+
+    /**
+     * Hands the call to the method's {@code DispatchChannel}. The adapter position is read on the
+     * main thread when the event arrives since the holder may be rebound before the call runs.
+     */
+    private static void addDispatchedCall(CodeBlock.Builder builder, ListenerMethod method,
+                                          MethodViewBinding methodBinding, String channel) {
+        String adapterPosition = "target.getAdapterPosition()";
+        for (Parameter parameter : methodBinding.getParameters()) {
+            if (parameter.getListenerPosition() == Parameter.ADAPTER_POSITION) {
+                adapterPosition = "position";
+                builder.addStatement("final int position = target.getAdapterPosition()");
+                break;
+            }
+        }
+        TypeSpec task = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(Runnable.class)
+                .addMethod(MethodSpec.methodBuilder("run")
+                        .addAnnotation(Override.class)
+                        .addModifiers(PUBLIC)
+                        .addStatement("$L", methodCall(method, methodBinding, adapterPosition))
+                        .build())
+                .build();
+        builder.addStatement("$N.dispatch($L)", channel, task);
+    }
+
+    /**
+     * Posts the call to the listener's {@code FrameCoalescer} so that only the last event of each
+     * frame reaches the method. Touch events are recycled once delivered so a move is copied for
+     * the later call, and every other action is delivered at once, after any pending move, so that
+     * its result can be returned and the gesture keeps its order.
+     *
+     * @param consumed the listener field holding what the method last returned, or null if the
+     * listener method returns nothing. Moves answer with it since their own result is only known
+     * once the coalesced call runs.
+     */
+    private static void addCoalescedCall(CodeBlock.Builder builder, ListenerMethod method,
+                                         MethodViewBinding methodBinding, String coalescer,
+                                         String consumed) {
+        String result = consumed != null ? consumed + " = " : "";
+        String[] arguments = listenerArguments(method);
+        int eventPosition = Arrays.asList(method.parameters()).indexOf(MOTION_EVENT.toString());
+        CodeBlock.Builder task = CodeBlock.builder();
+        TypeSpec.Builder taskType = TypeSpec.anonymousClassBuilder("");
+        if (eventPosition != -1) {
+            builder.beginControlFlow("if ($N.getActionMasked() != $T.ACTION_MOVE)",
+                    arguments[eventPosition], MOTION_EVENT);
+            builder.addStatement("$N.flush()", coalescer);
+            builder.addStatement("$L$L", result,
+                    methodCall(method, methodBinding, "target.getAdapterPosition()"));
+            if (consumed != null) {
+                builder.addStatement("return $N", consumed);
+            }
+            builder.endControlFlow();
+            arguments[eventPosition] = "event";
+            builder.addStatement("final $T event = $T.obtain(p$L)", MOTION_EVENT, MOTION_EVENT,
+                    eventPosition);
+            task.addStatement("$L$L", result, methodCall(method, methodBinding,
+                    "target.getAdapterPosition()", arguments));
+            task.addStatement("event.recycle()");
+            // A move replaced by the next one is recycled into the pool the next copy comes from.
+            taskType.addSuperinterface(FRAME_COALESCER.nestedClass("DiscardableTask"))
+                    .addMethod(MethodSpec.methodBuilder("discard")
+                            .addAnnotation(Override.class)
+                            .addModifiers(PUBLIC)
+                            .addStatement("event.recycle()")
+                            .build());
+        } else {
+            taskType.addSuperinterface(Runnable.class);
+            task.addStatement("$L$L", result, methodCall(method, methodBinding,
+                    "target.getAdapterPosition()"));
+        }
+        builder.addStatement("$N.post($L)", coalescer, taskType
+                .addMethod(MethodSpec.methodBuilder("run")
+                        .addAnnotation(Override.class)
+                        .addModifiers(PUBLIC)
+                        .addCode(task.build())
+                        .build())
+                .build());
+        if (consumed != null) {
+            builder.addStatement("return $N", consumed);
+        }
+    }
+
+    private static boolean hasDeferredMethods(
+            Map<ListenerMethod, Set<MethodViewBinding>> methodBindings) {
+        for (Set<MethodViewBinding> bindings : methodBindings.values()) {
+            if (isDeferred(bindings)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** True when a call of the bindings runs after the listener callback has returned. */
+    private static boolean isDeferred(Set<MethodViewBinding> methodBindings) {
+        if (methodBindings != null) {
+            for (MethodViewBinding methodBinding : methodBindings) {
+                if (methodBinding.isDispatched() || methodBinding.isCoalesced()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCoalesced(Set<MethodViewBinding> methodBindings) {
+        if (methodBindings != null) {
+            for (MethodViewBinding methodBinding : methodBindings) {
+                if (methodBinding.isCoalesced()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Names a binding field for the coalescer of each coalesced method of each view, so that
+     * unbinding can cancel the calls still pending.
+     */
+    private static Map<ViewBinding, Map<MethodViewBinding, String>> nameCoalescers(
+            List<ViewBinding> bindings) {
+        Map<ViewBinding, Map<MethodViewBinding, String>> coalescers = new LinkedHashMap<>();
+        int count = 0;
+        for (ViewBinding binding : bindings) {
+            Map<MethodViewBinding, String> names = new LinkedHashMap<>();
+            for (Map<ListenerMethod, Set<MethodViewBinding>> methods
+                    : binding.getMethodBindings().values()) {
+                for (Set<MethodViewBinding> methodBindings : methods.values()) {
+                    for (MethodViewBinding methodBinding : methodBindings) {
+                        if (methodBinding.isCoalesced()) {
+                            names.put(methodBinding, "coalescer" + count++);
+                        }
+                    }
+                }
+            }
+            if (!names.isEmpty()) {
+                coalescers.put(binding, names);
+            }
+        }
+        return coalescers;
+    }
+
+    /** The views bound directly and those bound once their stub is inflated. */
+    private static List<ViewBinding> allViewBindings(List<ViewBinding> viewBindings,
+            List<StubBinding> stubBindings) {
+        List<ViewBinding> bindings = new ArrayList<>(viewBindings);
+        for (StubBinding stub : stubBindings) {
+            bindings.addAll(stub.getViewBindings());
+        }
+        return bindings;
+    }
+
+    /**
+     * Declares a local {@code DispatchChannel} for each method the bindings call off the main
+     * thread. Returns the local holding each method's channel.
+     */
+    private static Map<MethodViewBinding, String> addDispatchChannels(MethodSpec.Builder result,
+            List<ViewBinding> viewBindings) {
+        Map<MethodViewBinding, String> channels = nameDispatchChannels(viewBindings);
+        for (Map.Entry<MethodViewBinding, String> channel : channels.entrySet()) {
+            result.addStatement("final $T $N = $L", DISPATCH_CHANNEL, channel.getValue(),
+                    newDispatchChannel(channel.getKey()));
+        }
+        return channels;
+    }
+
+    /**
+     * Names a channel for each method the bindings call off the main thread. Every view bound to
+     * the method shares the channel so backpressure applies to the method as a whole.
+     */
+    private static Map<MethodViewBinding, String> nameDispatchChannels(
+            List<ViewBinding> viewBindings) {
+        Map<MethodViewBinding, String> channels = new LinkedHashMap<>();
+        for (ViewBinding binding : viewBindings) {
+            for (Map<ListenerMethod, Set<MethodViewBinding>> methods
+                    : binding.getMethodBindings().values()) {
+                for (Set<MethodViewBinding> methodBindings : methods.values()) {
+                    for (MethodViewBinding methodBinding : methodBindings) {
+                        if (methodBinding.isDispatched() && !channels.containsKey(methodBinding)) {
+                            channels.put(methodBinding, "dispatch" + channels.size());
+                        }
+                    }
+                }
+            }
+        }
+        return channels;
+    }
+
+    private static CodeBlock newDispatchChannel(MethodViewBinding methodBinding) {
+        return CodeBlock.of("new $T($S, $T.$L)", DISPATCH_CHANNEL, methodBinding.getDispatch(),
+                BACKPRESSURE, methodBinding.getBackpressure());
+    }
+
+    /** A listener can be shared when every callback receives the view it was set on. */
+    private static boolean canShare(ListenerClass listener) {
+        for (ListenerMethod method : getListenerMethods(listener)) {
+            if (viewParameterPosition(listener, method) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int viewParameterPosition(ListenerClass listener, ListenerMethod method) {
+        String[] parameterTypes = method.parameters();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (VIEW_TYPE.equals(parameterTypes[i])
+                    || listener.targetType().equals(parameterTypes[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     private static List<ListenerMethod> getListenerMethods(ListenerClass listener) {
         if (listener.method().length == 1) {
             return Arrays.asList(listener.method());
@@ -565,7 +1363,7 @@ final class BindingSet {
      * True when this type's bindings require a view hierarchy.
      */
     private boolean hasViewBindings() {
-        return !viewBindings.isEmpty() || !collectionBindings.isEmpty();
+        return !viewBindings.isEmpty() || !collectionBindings.isEmpty() || !stubBindings.isEmpty();
     }
 
     private boolean hasMethodBindings() {
@@ -574,6 +1372,13 @@ final class BindingSet {
                 return true;
             }
         }
+        for (StubBinding stub : stubBindings) {
+            for (ViewBinding bindings : stub.getViewBindings()) {
+                if (!bindings.getMethodBindings().isEmpty()) {
+                    return true;
+                }
+            }
+        }
         return false;
     }
 
@@ -583,6 +1388,16 @@ final class BindingSet {
                 return true;
             }
         }
+        for (StubBinding stub : stubBindings) {
+            if (stub.getFieldName() != null || !stub.getCollectionBindings().isEmpty()) {
+                return true;
+            }
+            for (ViewBinding bindings : stub.getViewBindings()) {
+                if (bindings.getFieldBinding() != null) {
+                    return true;
+                }
+            }
+        }
         return !collectionBindings.isEmpty();
     }
 
@@ -590,7 +1405,7 @@ final class BindingSet {
         return hasFieldBindings() || hasMethodBindings();
     }
 
-    private boolean hasViewLocal() {
+    private static boolean hasViewLocal(List<ViewBinding> viewBindings) {
         for (ViewBinding bindings : viewBindings) {
             if (bindings.requiresLocal()) {
                 return true;
@@ -600,11 +1415,117 @@ final class BindingSet {
     }
 
     /**
-     * True if this binding requires a view. Otherwise only a context is needed.
+     * True when a view which may be absent from the layout is looked up directly in the root, which
+     * is where a missing view costs a walk of the whole hierarchy.
      */
-    private boolean constructorNeedsView() {
-        return hasViewBindings() //
-                || parentBinding != null && parentBinding.constructorNeedsView();
+    private boolean hasOptionalRootLookups() {
+        Set<Id> requiredContainers = new LinkedHashSet<>();
+        List<List<Id>> optionalPaths = new ArrayList<>();
+        for (ViewBinding binding : viewBindings) {
+            FieldViewBinding fieldBinding = binding.getFieldBinding();
+            if (binding.isSingleFieldBinding()) {
+                List<Id> parentPath = fieldBinding.getParentPath();
+                if (fieldBinding.isRequired()) {
+                    if (!parentPath.isEmpty()) {
+                        requiredContainers.add(parentPath.get(0));
+                    }
+                } else if (parentPath.isEmpty()) {
+                    return true;
+                } else {
+                    optionalPaths.add(parentPath);
+                }
+            } else if (binding.getRequiredBindings().isEmpty()) {
+                return true;
+            }
+        }
+        for (FieldCollectionViewBinding binding : collectionBindings) {
+            List<Id> parentPath = binding.getParentPath();
+            if (binding.isRequired()) {
+                if (!parentPath.isEmpty()) {
+                    requiredContainers.add(parentPath.get(0));
+                }
+            } else if (parentPath.isEmpty()) {
+                return true;
+            } else {
+                optionalPaths.add(parentPath);
+            }
+        }
+        for (StubBinding stub : stubBindings) {
+            if (!stub.isRequired()) {
+                return true;
+            }
+        }
+        // An outermost container is looked up optionally when nothing inside it is required.
+        for (List<Id> parentPath : optionalPaths) {
+            if (!requiredContainers.contains(parentPath.get(0))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean hasResourceBindings() {
+        return !resourceBindings.isEmpty();
+    }
+
+    private boolean hasResourceBindingsNeedingResource(int sdk) {
+        for (ResourceBinding binding : resourceBindings) {
+            if (binding.requiresResources(sdk)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isHolder() {
+        return isHolder;
+    }
+
+    boolean isActivity() {
+        return isActivity;
+    }
+
+    ClassName getBindingClassName() {
+        return bindingClassName;
+    }
+
+    ImmutableList<ViewBinding> getViewBindings() {
+        return viewBindings;
+    }
+
+    ImmutableList<FieldCollectionViewBinding> getCollectionBindings() {
+        return collectionBindings;
+    }
+
+    ImmutableList<StubBinding> getStubBindings() {
+        return stubBindings;
+    }
+
+    BindingSet getParentBinding() {
+        return parentBinding;
+    }
+
+    /** Number of listener objects created per bind, counting each listener of each view once. */
+    int getListenerClassCount() {
+        int count = 0;
+        for (ViewBinding binding : viewBindings) {
+            count += binding.getMethodBindings().size();
+        }
+        for (StubBinding stub : stubBindings) {
+            for (ViewBinding binding : stub.getViewBindings()) {
+                count += binding.getMethodBindings().size();
+            }
+        }
+        return count;
+    }
+
+    /** Number of superclasses with bindings of their own. */
+    int getSuperclassDepth() {
+        int depth = 0;
+        for (BindingSet parent = parentBinding; parent != null; parent = parent.parentBinding) {
+            depth++;
+        }
+        return depth;
     }
 
     static boolean requiresCast(TypeName type) {
@@ -620,6 +1541,7 @@ final class BindingSet {
         TypeMirror typeMirror = enclosingElement.asType();
 
         boolean isActivity = isSubtypeOfType(typeMirror, ACTIVITY_TYPE);
+        boolean isHolder = isHolderType(enclosingElement);
 
         TypeName targetType = TypeName.get(typeMirror);
         if (targetType instanceof ParameterizedTypeName) {
@@ -632,7 +1554,8 @@ final class BindingSet {
         ClassName bindingClassName = ClassName.get(packageName, className + "_ViewBinding");
 
         boolean isFinal = enclosingElement.getModifiers().contains(Modifier.FINAL);
-        return new Builder(targetType, bindingClassName, isFinal, isActivity);
+        boolean isWeak = enclosingElement.getAnnotation(WeakBinding.class) != null;
+        return new Builder(targetType, bindingClassName, isFinal, isActivity, isHolder, isWeak);
     }
 
     static final class Builder {
@@ -640,22 +1563,34 @@ final class BindingSet {
         private final ClassName bindingClassName;
         private final boolean isFinal;
         private final boolean isActivity;
+        private final boolean isHolder;
+        private final boolean isWeak;
         private int layoutId;
         private BindingSet parentBinding;
 
         private final List<ViewBinding.Builder> viewIdMap = new ArrayList<>();
         private final ImmutableList.Builder<FieldCollectionViewBinding> collectionBindings =
                 ImmutableList.builder();
+        private final ImmutableList.Builder<ResourceBinding> resourceBindings =
+                ImmutableList.builder();
+        private final Map<Id, StubBinding.Builder> stubBindings = new LinkedHashMap<>();
 
         void setContentLayoutId(@LayoutRes int layoutId) {
             this.layoutId = layoutId;
         }
 
-        private Builder(TypeName targetTypeName, ClassName bindingClassName, boolean isFinal,boolean isActivity) {
+        private Builder(TypeName targetTypeName, ClassName bindingClassName, boolean isFinal,boolean isActivity,
+                        boolean isHolder, boolean isWeak) {
             this.targetTypeName = targetTypeName;
             this.bindingClassName = bindingClassName;
             this.isFinal = isFinal;
             this.isActivity = isActivity;
+            this.isHolder = isHolder;
+            this.isWeak = isWeak;
+        }
+
+        boolean isHolder() {
+            return isHolder;
         }
 
         void addField(Id id, FieldViewBinding binding) {
@@ -666,12 +1601,16 @@ final class BindingSet {
             collectionBindings.add(binding);
         }
 
+        void addResource(ResourceBinding binding) {
+            resourceBindings.add(binding);
+        }
+
         boolean addMethod(
                 Id id,
                 ListenerClass listener,
                 ListenerMethod method,
                 MethodViewBinding binding) {
-            ViewBinding.Builder viewBinding = getOrCreateViewBindings(id);
+            ViewBinding.Builder viewBinding = getOrCreateMethodViewBindings(id);
             if (viewBinding.hasMethodBinding(listener, method) && !"void".equals(method.returnType())) {
                 return false;
             }
@@ -679,6 +1618,15 @@ final class BindingSet {
             return true;
         }
 
+        StubBinding.Builder getOrCreateStub(Id id) {
+            StubBinding.Builder stub = stubBindings.get(id);
+            if (stub == null) {
+                stub = new StubBinding.Builder(id);
+                stubBindings.put(id, stub);
+            }
+            return stub;
+        }
+
         void setParent(BindingSet parent) {
             this.parentBinding = parent;
         }
@@ -689,13 +1637,28 @@ final class BindingSet {
             return viewId;
         }
 
+        /** Every listener of a view shares one binding so the view is looked up and kept once. */
+        private ViewBinding.Builder getOrCreateMethodViewBindings(Id id) {
+            for (ViewBinding.Builder viewBinding : viewIdMap) {
+                if (viewBinding.isRootLookupOf(id)) {
+                    return viewBinding;
+                }
+            }
+            return getOrCreateViewBindings(id);
+        }
+
         BindingSet build() {
             ImmutableList.Builder<ViewBinding> viewBindings = ImmutableList.builder();
             for (ViewBinding.Builder builder : viewIdMap) {
                 viewBindings.add(builder.build());
             }
-            return new BindingSet(targetTypeName, bindingClassName, isFinal, isActivity,
-                    viewBindings.build(), collectionBindings.build(), parentBinding, layoutId);
+            ImmutableList.Builder<StubBinding> stubBindings = ImmutableList.builder();
+            for (StubBinding.Builder builder : this.stubBindings.values()) {
+                stubBindings.add(builder.build());
+            }
+            return new BindingSet(targetTypeName, bindingClassName, isFinal, isActivity, isHolder,
+                    isWeak, viewBindings.build(), collectionBindings.build(),
+                    resourceBindings.build(), stubBindings.build(), parentBinding, layoutId);
         }
     }
 }
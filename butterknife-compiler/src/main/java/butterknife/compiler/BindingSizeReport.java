@@ -0,0 +1,190 @@
+package butterknife.compiler;
+
+import com.squareup.javapoet.JavaFile;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * What each generated binding class costs: view lookups, casts, listener classes, fields, an
+ * estimate of its bytecode and how deep its superclass chain is. Written as JSON next to the
+ * generated sources when the {@code butterknife.sizeReport} option is set, with totals for the
+ * module and the change since a baseline report when one is given.
+ * <p>
+ * Each class is written on a line of its own so that a report can be read back as a baseline
+ * without a JSON parser.
+ */
+final class BindingSizeReport {
+  static final String[] METRICS = {
+      "viewLookups", "parentLookups", "casts", "listenerClasses", "fields",
+      "estimatedBytecodeBytes", "superclassDepth"
+  };
+
+  private static final Pattern LOOKUP = Pattern.compile("\\.find(Required|Optional)View");
+  private static final Pattern PARENT_LOOKUP =
+      Pattern.compile("View parent\\d+ = [\\w.]+\\.find(Required|Optional)View");
+  private static final Pattern CAST = Pattern.compile(
+      "\\.cast(View|Param)\\(|ViewAsType\\(|\\(\\([\\w.]+\\) \\w+\\)");
+  private static final Pattern CALL = Pattern.compile("[\\w>]\\(");
+  private static final Pattern STRING = Pattern.compile("\"(?:[^\"\\\\]|\\\\.)*\"");
+  private static final Pattern STATEMENT = Pattern.compile(";\\s*$", Pattern.MULTILINE);
+  private static final Pattern NAME = Pattern.compile("\"name\": \"([^\"]*)\"");
+  private static final Pattern METRIC = Pattern.compile("\"(\\w+)\": (-?\\d+)");
+
+  private final Map<String, Map<String, Integer>> classes = new LinkedHashMap<>();
+
+  void add(BindingSet binding, JavaFile javaFile) {
+    // Rendered without imports, so type names are qualified.
+    String source = javaFile.typeSpec.toString();
+    int lookups = count(LOOKUP, source);
+    int parentLookups = count(PARENT_LOOKUP, source);
+    Map<String, Integer> metrics = new LinkedHashMap<>();
+    metrics.put("viewLookups", lookups - parentLookups);
+    metrics.put("parentLookups", parentLookups);
+    metrics.put("casts", count(CAST, source));
+    metrics.put("listenerClasses", binding.getListenerClassCount());
+    metrics.put("fields", javaFile.typeSpec.fieldSpecs.size());
+    metrics.put("estimatedBytecodeBytes", estimateBytecode(source));
+    metrics.put("superclassDepth", binding.getSuperclassDepth());
+    classes.put(javaFile.packageName + "." + javaFile.typeSpec.name, metrics);
+  }
+
+  /**
+   * A rough estimate from the source: about three bytes for each call and its receiver, two for
+   * each constant string and four for the loads and stores of each statement.
+   */
+  private static int estimateBytecode(String source) {
+    return 3 * count(CALL, source) + 2 * count(STRING, source) + 4 * count(STATEMENT, source);
+  }
+
+  private static int count(Pattern pattern, String source) {
+    int count = 0;
+    Matcher matcher = pattern.matcher(source);
+    while (matcher.find()) {
+      count++;
+    }
+    return count;
+  }
+
+  /** Reads the classes of a report written earlier. */
+  static Map<String, Map<String, Integer>> readBaseline(BufferedReader reader) throws IOException {
+    Map<String, Map<String, Integer>> baseline = new LinkedHashMap<>();
+    boolean inClasses = false;
+    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+      if (line.contains("\"classes\"")) {
+        inClasses = true;
+        continue;
+      }
+      Matcher name = NAME.matcher(line);
+      if (!inClasses || !name.find()) {
+        continue;
+      }
+      // Leave out the deltas that report had against its own baseline.
+      int delta = line.indexOf(", \"delta\"");
+      if (delta != -1) {
+        line = line.substring(0, delta);
+      }
+      Map<String, Integer> metrics = new LinkedHashMap<>();
+      Matcher metric = METRIC.matcher(line);
+      while (metric.find()) {
+        metrics.put(metric.group(1), Integer.parseInt(metric.group(2)));
+      }
+      baseline.put(name.group(1), metrics);
+    }
+    return baseline;
+  }
+
+  /**
+   * Writes the report with the heaviest classes first.
+   *
+   * @param baseline the classes of an earlier report, or null to leave the deltas out.
+   */
+  void writeJson(Writer writer, Map<String, Map<String, Integer>> baseline) throws IOException {
+    List<Map.Entry<String, Map<String, Integer>>> sorted = new ArrayList<>(classes.entrySet());
+    Collections.sort(sorted, new Comparator<Map.Entry<String, Map<String, Integer>>>() {
+      @Override public int compare(Map.Entry<String, Map<String, Integer>> left,
+          Map.Entry<String, Map<String, Integer>> right) {
+        int leftBytes = left.getValue().get("estimatedBytecodeBytes");
+        int rightBytes = right.getValue().get("estimatedBytecodeBytes");
+        return leftBytes < rightBytes ? 1 : leftBytes > rightBytes ? -1 : 0;
+      }
+    });
+
+    writer.write("{\n");
+    writer.write("  \"totals\": " + metrics(totals(classes)));
+    if (baseline != null) {
+      writer.write(",\n  \"baselineTotals\": " + metrics(totals(baseline)));
+      writer.write(",\n  \"delta\": " + delta(totals(classes), totals(baseline)));
+      List<String> removed = new ArrayList<>(baseline.keySet());
+      removed.removeAll(classes.keySet());
+      writer.write(",\n  \"removedClasses\": [");
+      for (int i = 0; i < removed.size(); i++) {
+        writer.write((i == 0 ? "" : ", ") + "\"" + removed.get(i) + "\"");
+      }
+      writer.write("]");
+    }
+    writer.write(",\n  \"classes\": [");
+    for (int i = 0; i < sorted.size(); i++) {
+      Map.Entry<String, Map<String, Integer>> entry = sorted.get(i);
+      Map<String, Integer> metrics = entry.getValue();
+      writer.write(i == 0 ? "\n" : ",\n");
+      writer.write("    {\"name\": \"" + entry.getKey() + "\"");
+      for (String metric : METRICS) {
+        writer.write(", \"" + metric + "\": " + metrics.get(metric));
+      }
+      if (baseline != null) {
+        Map<String, Integer> previous = baseline.get(entry.getKey());
+        writer.write(previous != null
+            ? ", \"delta\": " + delta(metrics, previous)
+            : ", \"new\": true");
+      }
+      writer.write("}");
+    }
+    writer.write(sorted.isEmpty() ? "]\n" : "\n  ]\n");
+    writer.write("}\n");
+  }
+
+  private static Map<String, Integer> totals(Map<String, Map<String, Integer>> classes) {
+    Map<String, Integer> totals = new LinkedHashMap<>();
+    for (String metric : METRICS) {
+      int total = 0;
+      for (Map<String, Integer> metrics : classes.values()) {
+        Integer value = metrics.get(metric);
+        if (value != null) {
+          total = "superclassDepth".equals(metric) ? Math.max(total, value) : total + value;
+        }
+      }
+      totals.put(metric, total);
+    }
+    totals.put("classes", classes.size());
+    return totals;
+  }
+
+  private static String metrics(Map<String, Integer> metrics) {
+    StringBuilder builder = new StringBuilder("{");
+    for (Map.Entry<String, Integer> entry : metrics.entrySet()) {
+      if (builder.length() > 1) {
+        builder.append(", ");
+      }
+      builder.append('"').append(entry.getKey()).append("\": ").append(entry.getValue());
+    }
+    return builder.append('}').toString();
+  }
+
+  private static String delta(Map<String, Integer> current, Map<String, Integer> previous) {
+    Map<String, Integer> delta = new LinkedHashMap<>();
+    for (Map.Entry<String, Integer> entry : current.entrySet()) {
+      Integer before = previous.get(entry.getKey());
+      delta.put(entry.getKey(), entry.getValue() - (before != null ? before : 0));
+    }
+    return metrics(delta);
+  }
+}
@@ -11,9 +11,16 @@ import com.sun.tools.javac.code.Symbol;
 import com.sun.tools.javac.tree.JCTree;
 import com.sun.tools.javac.tree.TreeScanner;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -21,14 +28,18 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Deque;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
@@ -41,6 +52,7 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.Name;
+import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.ArrayType;
@@ -52,12 +64,32 @@ import javax.lang.model.type.TypeVariable;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import javax.tools.Diagnostic.Kind;
-
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import butterknife.Backpressure;
+import butterknife.BindArray;
+import butterknife.BindBitmap;
+import butterknife.BindBool;
+import butterknife.BindColor;
+import butterknife.BindDimen;
+import butterknife.BindDrawable;
+import butterknife.BindFloat;
+import butterknife.BindHolder;
+import butterknife.BindInt;
 import butterknife.BindLayout;
+import butterknife.BindString;
 import butterknife.BindView;
+import butterknife.BindViewStub;
 import butterknife.BindViews;
+import butterknife.Dispatch;
 import butterknife.OnClick;
+import butterknife.OnScrollChange;
+import butterknife.OnTextChanged;
+import butterknife.OnTouch;
 import butterknife.Optional;
+import butterknife.WeakBinding;
+import butterknife.internal.IndexFragment;
 import butterknife.internal.ListenerClass;
 import butterknife.internal.ListenerMethod;
 
@@ -66,17 +98,67 @@ import static javax.lang.model.element.ElementKind.INTERFACE;
 import static javax.lang.model.element.ElementKind.METHOD;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.STATIC;
-import static jdk.nashorn.internal.objects.NativeMath.log;
 
 @AutoService(Processor.class)
 public final class ButterKnifeProcessor extends AbstractProcessor {
   // TODO remove when http://b.android.com/187527 is released.
   private static final String OPTION_SDK_INT = "butterknife.minSdk";
+  /** "true" to write a profile with the generated sources, or the path to write it to. */
+  private static final String OPTION_PROFILE = "butterknife.profile";
+  /** One of "error", "warning", "note" or "debug". Defaults to "note". */
+  private static final String OPTION_LOG_LEVEL = "butterknife.logLevel";
+  /** "true" to write a report of the size of each generated class next to the sources. */
+  private static final String OPTION_SIZE_REPORT = "butterknife.sizeReport";
+  /** Path of an earlier size report to compare against. */
+  private static final String OPTION_SIZE_BASELINE = "butterknife.sizeReportBaseline";
+  /** "true" to mark the phases of generated bindings as systrace sections. */
+  private static final String OPTION_TRACE = "butterknife.trace";
+  /** "true" to write baseline profile rules with the generated sources, or the path to write to. */
+  private static final String OPTION_BASELINE_PROFILE = "butterknife.baselineProfile";
+  /** Qualified name of a {@code BindingRegistry} to generate for the bindings of this module. */
+  private static final String OPTION_REGISTRY = "butterknife.registry";
+  /**
+   * Qualified name of an index to generate which merges the registries of every module on the
+   * classpath, and of this one, into one table.
+   */
+  private static final String OPTION_INDEX = "butterknife.index";
+  /**
+   * "true" to parse each round a second time from its elements and R classes in reverse order, and
+   * fail on any binding which differs between the two.
+   */
+  private static final String OPTION_CHECK_DETERMINISM = "butterknife.checkDeterminism";
+  /** "true" to warn about bindings which cost more at runtime than they need to. */
+  private static final String OPTION_LINT = "butterknife.lint";
+  /** Optional views a class may look up from the root before lint warns. Defaults to 3. */
+  private static final String OPTION_LINT_OPTIONAL_LOOKUPS = "butterknife.lintOptionalLookups";
+  /** Containers a view may be found through before lint warns. Defaults to 2. */
+  private static final String OPTION_LINT_PARENT_DEPTH = "butterknife.lintParentDepth";
+  /** Click listener classes the binding of a class may create before lint warns. Defaults to 10. */
+  private static final String OPTION_LINT_CLICK_LISTENERS = "butterknife.lintClickListeners";
+  /** Views one {@code @BindViews} field may bind before lint warns. Defaults to 16. */
+  private static final String OPTION_LINT_BIND_VIEWS = "butterknife.lintBindViews";
   static final Id NO_ID = new Id(-1);
   static final String VIEW_TYPE = "android.view.View";
   static final String ACTIVITY_TYPE = "android.app.Activity";
+  private static final String VIEW_HOLDER_TYPE =
+      "android.support.v7.widget.RecyclerView.ViewHolder";
   private static final String NULLABLE_ANNOTATION_NAME = "Nullable";
   private static final String LIST_TYPE = List.class.getCanonicalName();
+  private static final String COLOR_STATE_LIST_TYPE = "android.content.res.ColorStateList";
+  private static final String BITMAP_TYPE = "android.graphics.Bitmap";
+  private static final String DRAWABLE_TYPE = "android.graphics.drawable.Drawable";
+  private static final String TYPED_ARRAY_TYPE = "android.content.res.TypedArray";
+  private static final String STRING_TYPE = "java.lang.String";
+  private static final String LAZY_STUB_TYPE = "butterknife.LazyStub";
+
+  private static final String MOTION_EVENT_TYPE = "android.view.MotionEvent";
+
+  private static final List<Class<? extends Annotation>> LISTENERS = Arrays.asList(//
+      OnClick.class, //
+      OnScrollChange.class, //
+      OnTextChanged.class, //
+      OnTouch.class //
+  );
 
   private static final List<String> SUPPORTED_TYPES = Arrays.asList(
       "array", "attr", "bool", "color", "dimen", "drawable", "id", "integer", "string"
@@ -87,6 +169,26 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
   private Filer filer;
   private Trees trees;
   private int sdk = 1;
+  private LogLevel logLevel = LogLevel.NOTE;
+  private ProcessingProfile profile = new ProcessingProfile(false);
+  private BindingSizeReport sizeReport;
+  private boolean trace;
+  private BaselineProfile baselineProfile;
+  private RegistryFile registry;
+  private boolean registryWritten;
+  private boolean indexWritten;
+  private boolean checkDeterminism;
+  private BindingLint lint;
+  /** Set while the second parse of a determinism check runs, to report nothing twice. */
+  private boolean quiet;
+  /** Set while the second parse of a determinism check runs, to read its inputs backwards. */
+  private boolean reverseInputs;
+  /** Qualified names of the target classes set aside until all their elements resolve. */
+  private final Set<String> deferredTypes = new TreeSet<>();
+  /** Target classes set aside in an earlier round and parsed in this one. */
+  private List<TypeElement> resumedTypes = Collections.emptyList();
+  /** The binding generated for each target class, by qualified name. */
+  private final Map<String, BindingSet> generatedBindings = new LinkedHashMap<>();
 
   private final Map<QualifiedId, Id> symbols = new LinkedHashMap<>();
 
@@ -105,6 +207,49 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
       }
     }
 
+    String logLevel = env.getOptions().get(OPTION_LOG_LEVEL);
+    if (logLevel != null) {
+      try {
+        this.logLevel = LogLevel.valueOf(logLevel.toUpperCase(Locale.US));
+      } catch (IllegalArgumentException e) {
+        env.getMessager()
+            .printMessage(Kind.WARNING, "Unable to parse supplied logLevel option '"
+                + logLevel
+                + "'. Falling back to 'note'.");
+      }
+    }
+
+    String profile = env.getOptions().get(OPTION_PROFILE);
+    if (profile != null && !profile.isEmpty() && !"false".equals(profile)) {
+      this.profile = new ProcessingProfile(true);
+    }
+
+    trace = "true".equals(env.getOptions().get(OPTION_TRACE));
+    checkDeterminism = "true".equals(env.getOptions().get(OPTION_CHECK_DETERMINISM));
+
+    if ("true".equals(env.getOptions().get(OPTION_SIZE_REPORT))) {
+      sizeReport = new BindingSizeReport();
+    }
+
+    String baselineProfile = env.getOptions().get(OPTION_BASELINE_PROFILE);
+    if (baselineProfile != null && !baselineProfile.isEmpty()
+        && !"false".equals(baselineProfile)) {
+      this.baselineProfile = new BaselineProfile();
+    }
+
+    String registry = env.getOptions().get(OPTION_REGISTRY);
+    if (registry != null && !registry.isEmpty()) {
+      this.registry = new RegistryFile(ClassName.bestGuess(registry));
+    }
+
+    if ("true".equals(env.getOptions().get(OPTION_LINT))) {
+      lint = new BindingLint(
+          intOption(env, OPTION_LINT_OPTIONAL_LOOKUPS, 3),
+          intOption(env, OPTION_LINT_PARENT_DEPTH, 2),
+          intOption(env, OPTION_LINT_CLICK_LISTENERS, 10),
+          intOption(env, OPTION_LINT_BIND_VIEWS, 16));
+    }
+
     elementUtils = env.getElementUtils();
     typeUtils = env.getTypeUtils();
     filer = env.getFiler();
@@ -115,7 +260,29 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
   }
 
   @Override public Set<String> getSupportedOptions() {
-    return Collections.singleton(OPTION_SDK_INT);
+    return new LinkedHashSet<>(Arrays.asList(OPTION_SDK_INT, OPTION_PROFILE, OPTION_LOG_LEVEL,
+        OPTION_SIZE_REPORT, OPTION_SIZE_BASELINE, OPTION_TRACE, OPTION_BASELINE_PROFILE,
+        OPTION_REGISTRY, OPTION_INDEX, OPTION_CHECK_DETERMINISM, OPTION_LINT,
+        OPTION_LINT_OPTIONAL_LOOKUPS, OPTION_LINT_PARENT_DEPTH, OPTION_LINT_CLICK_LISTENERS,
+        OPTION_LINT_BIND_VIEWS));
+  }
+
+  private static int intOption(ProcessingEnvironment env, String option, int defaultValue) {
+    String value = env.getOptions().get(option);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      env.getMessager()
+          .printMessage(Kind.WARNING, "Unable to parse supplied " + option + " option '"
+              + value
+              + "'. Falling back to "
+              + defaultValue
+              + ".");
+      return defaultValue;
+    }
   }
 
   @Override public Set<String> getSupportedAnnotationTypes() {
@@ -128,28 +295,451 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
 
   private Set<Class<? extends Annotation>> getSupportedAnnotations() {
     Set<Class<? extends Annotation>> annotations = new LinkedHashSet<>();
+    annotations.add(BindArray.class);
+    annotations.add(BindBitmap.class);
+    annotations.add(BindBool.class);
+    annotations.add(BindColor.class);
+    annotations.add(BindDimen.class);
+    annotations.add(BindDrawable.class);
+    annotations.add(BindFloat.class);
+    annotations.add(BindHolder.class);
+    annotations.add(WeakBinding.class);
+    annotations.add(BindInt.class);
     annotations.add(BindLayout.class);//添加BindLayout支持
+    annotations.add(BindString.class);
     annotations.add(BindView.class);
+    annotations.add(BindViewStub.class);
     annotations.add(BindViews.class);
-    annotations.add(OnClick.class);
+    annotations.addAll(LISTENERS);
     return annotations;
   }
 
   @Override public boolean process(Set<? extends TypeElement> elements, RoundEnvironment env) {
+    ProcessingProfile.Mark round = profile.mark();
+    startRound(env);
     Map<TypeElement, BindingSet> bindingMap = findAndParseTargets(env);
+    Map<TypeElement, String> reversedBuild = checkDeterminism && !bindingMap.isEmpty()
+        ? buildReversed(env, bindingMap)
+        : null;
 
     for (Map.Entry<TypeElement, BindingSet> entry : bindingMap.entrySet()) {
       TypeElement typeElement = entry.getKey();
       BindingSet binding = entry.getValue();
+      String className = typeElement.getQualifiedName().toString();
 
-      JavaFile javaFile = binding.brewJava(sdk);
+      ProcessingProfile.Mark mark = profile.mark();
+      JavaFile javaFile = binding.brewJava(sdk, trace);
+      profile.record("brewJava", className, mark);
+      if (reversedBuild != null) {
+        compareBuilds(typeElement, javaFile.toString(), reversedBuild.get(typeElement));
+      }
+      if (sizeReport != null) {
+        sizeReport.add(binding, javaFile);
+      }
+      if (lint != null) {
+        for (BindingLint.Finding finding : lint.check(binding)) {
+          printMessage(Kind.WARNING, findMember(typeElement, finding.member), "%s",
+              new Object[] { finding.message });
+        }
+      }
+      if (baselineProfile != null) {
+        baselineProfile.add(javaFile);
+      }
+      mark = profile.mark();
       try {
         javaFile.writeTo(filer);
       } catch (IOException e) {
         error(typeElement, "Unable to write binding for type %s: %s", typeElement, e.getMessage());
       }
+      if (registry != null && registry.canReach(typeElement)) {
+        if (registryWritten) {
+          error(typeElement, "Binding for %s was generated after the registry %s was written.",
+              typeElement, registry.getClassName());
+        }
+        registry.add(typeElement, binding);
+      } else {
+        writeKeepRules(typeElement, binding);
+      }
+      generatedBindings.put(className, binding);
+      profile.record("write", className, mark);
+      debug(typeElement, "Generated %s.%s", javaFile.packageName, javaFile.typeSpec.name);
+    }
+
+    // Written once a round adds no bindings and none wait for a later round, so javac still
+    // compiles it in a later round.
+    if (registry != null && !registryWritten
+        && (bindingMap.isEmpty() && deferredTypes.isEmpty() || env.processingOver())) {
+      registryWritten = true;
+      try {
+        registry.brewJava().writeTo(filer);
+        registry.brewIndexFragment().writeTo(filer);
+      } catch (IOException e) {
+        error(null, "Unable to write binding registry %s: %s", registry.getClassName(),
+            e.getMessage());
+      }
+    }
+    if (!indexWritten && processingEnv.getOptions().get(OPTION_INDEX) != null) {
+      indexWritten = true;
+      writeIndex();
+    }
+    profile.recordRound(round);
+
+    if (env.processingOver()) {
+      writeProfile();
+      writeSizeReport();
+      writeBaselineProfile();
+    }
+
+    return false;
+  }
+
+  /** Writes the size report next to the generated sources, compared to the baseline if any. */
+  private void writeSizeReport() {
+    if (sizeReport == null) {
+      return;
+    }
+    Map<String, Map<String, Integer>> baseline = null;
+    String baselinePath = processingEnv.getOptions().get(OPTION_SIZE_BASELINE);
+    if (baselinePath != null && new File(baselinePath).isFile()) {
+      BufferedReader reader = null;
+      try {
+        reader = new BufferedReader(
+            new InputStreamReader(new FileInputStream(baselinePath), "UTF-8"));
+        baseline = BindingSizeReport.readBaseline(reader);
+      } catch (IOException e) {
+        printMessage(Kind.WARNING, null, "Unable to read Butter Knife size baseline %s: %s",
+            new Object[] { baselinePath, e.getMessage() });
+      } finally {
+        if (reader != null) {
+          try {
+            reader.close();
+          } catch (IOException ignored) {
+          }
+        }
+      }
+    } else if (baselinePath != null) {
+      note(null, "No Butter Knife size baseline at %s yet.", baselinePath);
+    }
+
+    Writer writer = null;
+    try {
+      FileObject file = filer.createResource(StandardLocation.SOURCE_OUTPUT, "butterknife",
+          "size-report.json");
+      writer = file.openWriter();
+      sizeReport.writeJson(writer, baseline);
+      note(null, "Butter Knife size report written to %s", file.toUri());
+    } catch (IOException e) {
+      printMessage(Kind.WARNING, null, "Unable to write Butter Knife size report: %s",
+          new Object[] { e.getMessage() });
+    } finally {
+      if (writer != null) {
+        try {
+          writer.close();
+        } catch (IOException ignored) {
+        }
+      }
+    }
+  }
+
+  /**
+   * Parses the round again, with nothing reported and nothing profiled, from its annotated elements
+   * and R classes in the reverse of the order javac gave them, and from a symbol table filled in
+   * that order. Returns the source of each binding brewed from the second parse.
+   */
+  private Map<TypeElement, String> buildReversed(RoundEnvironment env,
+      Map<TypeElement, BindingSet> firstBuild) {
+    ProcessingProfile firstProfile = profile;
+    Map<QualifiedId, Id> firstSymbols = new LinkedHashMap<>(symbols);
+    Map<TypeElement, BindingSet> bindingMap;
+    profile = new ProcessingProfile(false);
+    symbols.clear();
+    quiet = true;
+    reverseInputs = true;
+    try {
+      bindingMap = findAndParseTargets(env);
+    } finally {
+      quiet = false;
+      reverseInputs = false;
+      profile = firstProfile;
+      symbols.clear();
+      symbols.putAll(firstSymbols);
+    }
+    if (!new ArrayList<>(bindingMap.keySet()).equals(new ArrayList<>(firstBuild.keySet()))) {
+      error(null, "Butter Knife ordered the targets of this round differently when parsing them "
+          + "in reverse order:\n  %s\n  %s", firstBuild.keySet(), bindingMap.keySet());
+    }
+    Map<TypeElement, String> sources = new LinkedHashMap<>();
+    for (Map.Entry<TypeElement, BindingSet> entry : bindingMap.entrySet()) {
+      sources.put(entry.getKey(), entry.getValue().brewJava(sdk, trace).toString());
+    }
+    return sources;
+  }
+
+  /** Reports the first line at which the two builds of {@code typeElement}'s binding differ. */
+  private void compareBuilds(TypeElement typeElement, String first, String reversed) {
+    if (first.equals(reversed)) {
+      return;
+    }
+    if (reversed == null) {
+      error(typeElement, "Parsing the round in reverse order gave no binding for %s.",
+          typeElement);
+      return;
+    }
+    String[] firstLines = first.split("\n", -1);
+    String[] reversedLines = reversed.split("\n", -1);
+    int line = 0;
+    while (line < firstLines.length && line < reversedLines.length
+        && firstLines[line].equals(reversedLines[line])) {
+      line++;
+    }
+    error(typeElement, "The binding for %s differs when the round is parsed in reverse order, at "
+            + "line %d:\n  %s\n  %s", typeElement, line + 1,
+        line < firstLines.length ? firstLines[line].trim() : "<end of file>",
+        line < reversedLines.length ? reversedLines[line].trim() : "<end of file>");
+  }
+
+  /** The member of {@code typeElement} named {@code name}, or the class if there is none. */
+  private static Element findMember(TypeElement typeElement, String name) {
+    if (name != null) {
+      for (Element member : typeElement.getEnclosedElements()) {
+        if (member.getSimpleName().contentEquals(name)) {
+          return member;
+        }
+      }
+    }
+    return typeElement;
+  }
+
+  /**
+   * Writes the index of the app, which merges the registries named by the index fragments that
+   * the modules on the classpath generated, and this module's own registry, into one table.
+   */
+  private void writeIndex() {
+    ClassName index = ClassName.bestGuess(processingEnv.getOptions().get(OPTION_INDEX));
+    // Sorted so the index does not depend on the order of the classpath.
+    Set<String> registries = new TreeSet<>();
+    PackageElement fragments = elementUtils.getPackageElement(RegistryFile.INDEX_PACKAGE);
+    if (fragments != null) {
+      for (Element element : fragments.getEnclosedElements()) {
+        IndexFragment fragment = element.getAnnotation(IndexFragment.class);
+        if (fragment != null) {
+          registries.add(fragment.value());
+        }
+      }
+    }
+    if (registry != null) {
+      registries.add(registry.getClassName().toString());
+    }
+    try {
+      RegistryFile.brewIndex(index, registries).writeTo(filer);
+    } catch (IOException e) {
+      error(null, "Unable to write binding index %s: %s", index, e.getMessage());
+      return;
+    }
+    note(null, "Butter Knife index %s merges %d registries.", index, registries.size());
+  }
+
+  /**
+   * Writes the rules which keep what {@code ButterKnife} reaches reflectively for one binding: the
+   * name of its target, which it derives the name of the binding from, and the constructors and
+   * resource binder of the binding for as long as the target is kept. R8 only reads
+   * {@code META-INF/proguard} from library jars, so these narrow the rules of library modules; the
+   * bindings of an app module are kept by the consumer rules of the runtime library.
+   */
+  private void writeKeepRules(TypeElement typeElement, BindingSet binding) {
+    String target = elementUtils.getBinaryName(typeElement).toString();
+    ClassName bindingClassName = binding.getBindingClassName();
+    String bindingName = bindingClassName.packageName().isEmpty()
+        ? bindingClassName.simpleName()
+        : bindingClassName.packageName() + "." + bindingClassName.simpleName();
+
+    StringBuilder rules = new StringBuilder()
+        .append("# Generated code from Butter Knife. Do not modify!\n")
+        .append("-keepnames class ").append(target).append('\n')
+        .append("-if class ").append(target).append('\n')
+        .append("-keep class ").append(bindingName).append(" {\n");
+    if (binding.isActivity()) {
+      rules.append("    public <init>(").append(target).append(", android.view.View, int);\n");
+    } else {
+      rules.append("    public <init>(").append(target).append(", android.view.View);\n")
+          .append("    public <init>(").append(target)
+          .append(", android.view.LayoutInflater, android.view.ViewGroup, int);\n");
+    }
+    if (binding.hasResourceBindings()) {
+      rules.append("    public static void bindResources(").append(target)
+          .append(", android.content.Context);\n");
+    }
+    rules.append("}\n");
+
+    Writer writer = null;
+    try {
+      FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+          "META-INF/proguard/butterknife-" + bindingName + ".pro", typeElement);
+      writer = file.openWriter();
+      writer.write(rules.toString());
+    } catch (IOException e) {
+      error(typeElement, "Unable to write keep rules for type %s: %s", typeElement,
+          e.getMessage());
+    } finally {
+      if (writer != null) {
+        try {
+          writer.close();
+        } catch (IOException ignored) {
+        }
+      }
+    }
+  }
+
+  /** Writes the baseline profile rules to the option's path, or with the sources for "true". */
+  private void writeBaselineProfile() {
+    if (baselineProfile == null) {
+      return;
+    }
+    String location = processingEnv.getOptions().get(OPTION_BASELINE_PROFILE);
+    Writer writer = null;
+    try {
+      if ("true".equals(location)) {
+        FileObject file = filer.createResource(StandardLocation.SOURCE_OUTPUT, "butterknife",
+            "baseline-prof.txt");
+        location = file.toUri().toString();
+        writer = file.openWriter();
+      } else {
+        File file = new File(location);
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+          throw new IOException("Unable to create " + parent);
+        }
+        writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+      }
+      baselineProfile.write(writer);
+    } catch (IOException e) {
+      printMessage(Kind.WARNING, null, "Unable to write Butter Knife baseline profile to %s: %s",
+          new Object[] { location, e.getMessage() });
+      return;
+    } finally {
+      if (writer != null) {
+        try {
+          writer.close();
+        } catch (IOException ignored) {
+        }
+      }
+    }
+    note(null, "Butter Knife baseline profile written to %s", location);
+  }
+
+  /** Writes the profile report to the option's path, or with the generated sources for "true". */
+  private void writeProfile() {
+    if (!profile.isEnabled()) {
+      return;
+    }
+    String location = processingEnv.getOptions().get(OPTION_PROFILE);
+    Writer writer = null;
+    try {
+      if ("true".equals(location)) {
+        FileObject file = filer.createResource(StandardLocation.SOURCE_OUTPUT, "butterknife",
+            "profile.json");
+        location = file.toUri().toString();
+        writer = file.openWriter();
+      } else {
+        File file = new File(location);
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+          throw new IOException("Unable to create " + parent);
+        }
+        writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+      }
+      profile.writeJson(writer);
+    } catch (IOException e) {
+      printMessage(Kind.WARNING, null, "Unable to write Butter Knife profile to %s: %s",
+          new Object[] { location, e.getMessage() });
+      return;
+    } finally {
+      if (writer != null) {
+        try {
+          writer.close();
+        } catch (IOException ignored) {
+        }
+      }
+    }
+    note(null, "Butter Knife took %.1fms. Profile written to %s", profile.getTotalMillis(),
+        location);
+  }
+
+  /**
+   * Picks up the target classes set aside in earlier rounds, and sets aside those of this round
+   * with an annotated element which does not resolve yet, such as a field of a view type another
+   * processor generates. Each class is parsed as a whole once all of it resolves, rather than
+   * parsed in part and reported on in every round. Nothing is set aside in the last round, so what
+   * still does not resolve is reported then.
+   */
+  private void startRound(RoundEnvironment env) {
+    List<TypeElement> resumed = new ArrayList<>();
+    for (String name : deferredTypes) {
+      TypeElement type = elementUtils.getTypeElement(name);
+      if (type != null) {
+        resumed.add(type);
+      }
+    }
+    resumedTypes = resumed;
+    deferredTypes.clear();
+    if (env.processingOver()) {
+      return;
+    }
+
+    Set<TypeElement> targets = new LinkedHashSet<>(resumed);
+    for (Class<? extends Annotation> annotation : getSupportedAnnotations()) {
+      for (Element element : env.getElementsAnnotatedWith(annotation)) {
+        targets.add(targetTypeOf(element));
+      }
+    }
+    for (TypeElement target : targets) {
+      Element unresolved = findUnresolvedElement(target);
+      if (unresolved != null) {
+        deferredTypes.add(target.getQualifiedName().toString());
+        debug(unresolved, "Deferring %s to a later round until %s resolves.", target, unresolved);
+      }
     }
+    // A subclass waits for its superclass, so it can extend the superclass's binding.
+    for (TypeElement target : targets) {
+      String name = target.getQualifiedName().toString();
+      if (!deferredTypes.contains(name) && hasDeferredSuperclass(target)) {
+        deferredTypes.add(name);
+        debug(target, "Deferring %s to a later round with its superclass.", target);
+      }
+    }
+  }
+
+  /** Returns an annotated element of {@code target} which does not resolve yet, or null. */
+  private Element findUnresolvedElement(TypeElement target) {
+    if (target.getSuperclass().getKind() == TypeKind.ERROR) {
+      return target;
+    }
+    for (Element member : target.getEnclosedElements()) {
+      if (isAnnotated(member) && !SuperficialValidation.validateElement(member)) {
+        return member;
+      }
+    }
+    return null;
+  }
+
+  private boolean isAnnotated(Element element) {
+    for (Class<? extends Annotation> annotation : getSupportedAnnotations()) {
+      if (element.getAnnotation(annotation) != null) {
+        return true;
+      }
+    }
+    return false;
+  }
 
+  private boolean hasDeferredSuperclass(TypeElement type) {
+    TypeMirror superclass = type.getSuperclass();
+    while (superclass.getKind() == TypeKind.DECLARED) {
+      TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+      if (deferredTypes.contains(element.getQualifiedName().toString())) {
+        return true;
+      }
+      superclass = element.getSuperclass();
+    }
     return false;
   }
 
@@ -157,44 +747,176 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
     Map<TypeElement, BindingSet.Builder> builderMap = new LinkedHashMap<>();
     Set<TypeElement> erasedTargetNames = new LinkedHashSet<>();
 
+    ProcessingProfile.Mark phase = profile.mark();
     scanForRClasses(env);
+    profile.record("scan R classes", phase);
+
     // Process each @Bind element.
-    for (Element element : env.getElementsAnnotatedWith(BindLayout.class)) {
+    for (Element element : elementsToParse(env, BindLayout.class)) {
       if (!SuperficialValidation.validateElement(element)) continue;
+      ProcessingProfile.Mark mark = profile.mark();
       try {
         parseBindLayout(element, builderMap, erasedTargetNames);
       } catch (Exception e) {
         logParsingError(element, BindLayout.class, e);
       }
+      profile.record(BindLayout.class, element, mark);
     }
 
     // Process each @BindView element.
-    for (Element element : env.getElementsAnnotatedWith(BindView.class)) {
+    for (Element element : elementsToParse(env, BindView.class)) {
       // we don't SuperficialValidation.validateElement(element)
       // so that an unresolved View type can be generated by later processing rounds
+      ProcessingProfile.Mark mark = profile.mark();
       try {
         parseBindView(element, builderMap, erasedTargetNames);
       } catch (Exception e) {
         logParsingError(element, BindView.class, e);
       }
+      profile.record(BindView.class, element, mark);
+    }
+
+    // Process each @BindViewStub element.
+    for (Element element : elementsToParse(env, BindViewStub.class)) {
+      if (!SuperficialValidation.validateElement(element)) continue;
+      ProcessingProfile.Mark mark = profile.mark();
+      try {
+        parseBindViewStub(element, builderMap, erasedTargetNames);
+      } catch (Exception e) {
+        logParsingError(element, BindViewStub.class, e);
+      }
+      profile.record(BindViewStub.class, element, mark);
     }
 
     // Process each @BindViews element.
-    for (Element element : env.getElementsAnnotatedWith(BindViews.class)) {
+    for (Element element : elementsToParse(env, BindViews.class)) {
       // we don't SuperficialValidation.validateElement(element)
       // so that an unresolved View type can be generated by later processing rounds
+      ProcessingProfile.Mark mark = profile.mark();
       try {
         parseBindViews(element, builderMap, erasedTargetNames);
       } catch (Exception e) {
         logParsingError(element, BindViews.class, e);
       }
+      profile.record(BindViews.class, element, mark);
+    }
+
+    // Process each @BindArray element.
+    for (Element element : elementsToParse(env, BindArray.class)) {
+      if (!SuperficialValidation.validateElement(element)) continue;
+      ProcessingProfile.Mark mark = profile.mark();
+      try {
+        parseResourceArray(element, builderMap, erasedTargetNames);
+      } catch (Exception e) {
+        logParsingError(element, BindArray.class, e);
+      }
+      profile.record(BindArray.class, element, mark);
+    }
+
+    // Process each @BindBitmap element.
+    for (Element element : elementsToParse(env, BindBitmap.class)) {
+      if (!SuperficialValidation.validateElement(element)) continue;
+      ProcessingProfile.Mark mark = profile.mark();
+      try {
+        parseResourceBitmap(element, builderMap, erasedTargetNames);
+      } catch (Exception e) {
+        logParsingError(element, BindBitmap.class, e);
+      }
+      profile.record(BindBitmap.class, element, mark);
+    }
+
+    // Process each @BindBool element.
+    for (Element element : elementsToParse(env, BindBool.class)) {
+      if (!SuperficialValidation.validateElement(element)) continue;
+      ProcessingProfile.Mark mark = profile.mark();
+      try {
+        parseResourceBool(element, builderMap, erasedTargetNames);
+      } catch (Exception e) {
+        logParsingError(element, BindBool.class, e);
+      }
+      profile.record(BindBool.class, element, mark);
+    }
+
+    // Process each @BindColor element.
+    for (Element element : elementsToParse(env, BindColor.class)) {
+      if (!SuperficialValidation.validateElement(element)) continue;
+      ProcessingProfile.Mark mark = profile.mark();
+      try {
+        parseResourceColor(element, builderMap, erasedTargetNames);
+      } catch (Exception e) {
+        logParsingError(element, BindColor.class, e);
+      }
+      profile.record(BindColor.class, element, mark);
+    }
+
+    // Process each @BindDimen element.
+    for (Element element : elementsToParse(env, BindDimen.class)) {
+      if (!SuperficialValidation.validateElement(element)) continue;
+      ProcessingProfile.Mark mark = profile.mark();
+      try {
+        parseResourceDimen(element, builderMap, erasedTargetNames);
+      } catch (Exception e) {
+        logParsingError(element, BindDimen.class, e);
+      }
+      profile.record(BindDimen.class, element, mark);
+    }
+
+    // Process each @BindDrawable element.
+    for (Element element : elementsToParse(env, BindDrawable.class)) {
+      if (!SuperficialValidation.validateElement(element)) continue;
+      ProcessingProfile.Mark mark = profile.mark();
+      try {
+        parseResourceDrawable(element, builderMap, erasedTargetNames);
+      } catch (Exception e) {
+        logParsingError(element, BindDrawable.class, e);
+      }
+      profile.record(BindDrawable.class, element, mark);
+    }
+
+    // Process each @BindFloat element.
+    for (Element element : elementsToParse(env, BindFloat.class)) {
+      if (!SuperficialValidation.validateElement(element)) continue;
+      ProcessingProfile.Mark mark = profile.mark();
+      try {
+        parseResourceFloat(element, builderMap, erasedTargetNames);
+      } catch (Exception e) {
+        logParsingError(element, BindFloat.class, e);
+      }
+      profile.record(BindFloat.class, element, mark);
+    }
+
+    // Process each @BindInt element.
+    for (Element element : elementsToParse(env, BindInt.class)) {
+      if (!SuperficialValidation.validateElement(element)) continue;
+      ProcessingProfile.Mark mark = profile.mark();
+      try {
+        parseResourceInt(element, builderMap, erasedTargetNames);
+      } catch (Exception e) {
+        logParsingError(element, BindInt.class, e);
+      }
+      profile.record(BindInt.class, element, mark);
+    }
+
+    // Process each @BindString element.
+    for (Element element : elementsToParse(env, BindString.class)) {
+      if (!SuperficialValidation.validateElement(element)) continue;
+      ProcessingProfile.Mark mark = profile.mark();
+      try {
+        parseResourceString(element, builderMap, erasedTargetNames);
+      } catch (Exception e) {
+        logParsingError(element, BindString.class, e);
+      }
+      profile.record(BindString.class, element, mark);
     }
 
     // Process each annotation that corresponds to a listener.
-      findAndParseListener(env, OnClick.class, builderMap, erasedTargetNames);
+    for (Class<? extends Annotation> listener : LISTENERS) {
+      findAndParseListener(env, listener, builderMap, erasedTargetNames);
+    }
 
     // Associate superclass binders with their subclass binders. This is a queue-based tree walk
     // which starts at the roots (superclasses) and walks to the leafs (subclasses).
+    phase = profile.mark();
     Deque<Map.Entry<TypeElement, BindingSet.Builder>> entries =
         new ArrayDeque<>(builderMap.entrySet());
     Map<TypeElement, BindingSet> bindingMap = new LinkedHashMap<>();
@@ -209,7 +931,17 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         bindingMap.put(type, builder.build());
       } else {
         BindingSet parentBinding = bindingMap.get(parentType);
+        if (parentBinding == null) {
+          // Generated in an earlier round, before this class was picked up again.
+          parentBinding = generatedBindings.get(parentType.getQualifiedName().toString());
+        }
         if (parentBinding != null) {
+          if (builder.isHolder() && !parentBinding.isHolder()) {
+            // The holder's static bind method has no static bind method on the parent to call.
+            error(type, "@%s class %s extends %s which has bindings but is not a holder.",
+                BindHolder.class.getSimpleName(), type.getQualifiedName(),
+                parentType.getQualifiedName());
+          }
           builder.setParent(parentBinding);
           bindingMap.put(type, builder.build());
         } else {
@@ -218,6 +950,7 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         }
       }
     }
+    profile.record("link superclasses", phase);
 
     return bindingMap;
   }
@@ -305,179 +1038,609 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
       return;
     }
 
-    int layoutId = typeElement.getAnnotation(BindLayout.class).value();
-    if(layoutId == 0){
-      error(element, "@%s for a Activity must specify one layout ID. Found: %s. (%s.%s)",
-              BindLayout.class.getSimpleName(), layoutId, typeElement.getQualifiedName(),
-              element.getSimpleName());
+    int layoutId = typeElement.getAnnotation(BindLayout.class).value();
+    if(layoutId == 0){
+      error(element, "@%s for a Activity must specify one layout ID. Found: %s. (%s.%s)",
+              BindLayout.class.getSimpleName(), layoutId, typeElement.getQualifiedName(),
+              element.getSimpleName());
+      return;
+    }
+    BindingSet.Builder builder = targetClassMap.get(typeElement);
+
+    if (builder == null) {
+        builder = getOrCreateBindingBuilder(targetClassMap, typeElement);
+    }
+
+    builder.setContentLayoutId(layoutId);
+    debug(element, "@%s(%d) sets the content view of %s", BindLayout.class.getSimpleName(),
+        layoutId, typeElement.getQualifiedName());
+  }
+
+  private void parseBindView(Element element, Map<TypeElement, BindingSet.Builder> builderMap,
+      Set<TypeElement> erasedTargetNames) {
+    TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+
+    // Start by verifying common generated code restrictions.
+    boolean hasError = isInaccessibleViaGeneratedCode(BindView.class, "fields", element)
+        || isBindingInWrongPackage(BindView.class, element);
+
+    // Verify that the target type extends from View.
+    TypeMirror elementType = element.asType();
+    if (elementType.getKind() == TypeKind.TYPEVAR) {
+      TypeVariable typeVariable = (TypeVariable) elementType;
+      elementType = typeVariable.getUpperBound();
+    }
+    Name qualifiedName = enclosingElement.getQualifiedName();
+    Name simpleName = element.getSimpleName();
+    if (!isSubtypeOfType(elementType, VIEW_TYPE) && !isInterface(elementType)) {
+      if (elementType.getKind() == TypeKind.ERROR) {
+        note(element, "@%s field with unresolved type (%s) "
+                + "must elsewhere be generated as a View or interface. (%s.%s)",
+            BindView.class.getSimpleName(), elementType, qualifiedName, simpleName);
+      } else {
+        error(element, "@%s fields must extend from View or be an interface. (%s.%s)",
+            BindView.class.getSimpleName(), qualifiedName, simpleName);
+        hasError = true;
+      }
+    }
+
+    if (hasError) {
+      return;
+    }
+
+    // Assemble information on the field.
+    BindView annotation = element.getAnnotation(BindView.class);
+    int id = annotation.value();
+    List<Id> parentPath =
+        getParentPath(BindView.class, element, annotation.parentId(), annotation.parentPath());
+    if (parentPath == null) {
+      return;
+    }
+    int stubId = annotation.stubId();
+
+    BindingSet.Builder builder = builderMap.get(enclosingElement);
+    QualifiedId qualifiedId = elementToQualifiedId(element, id);
+    if (builder != null) {
+//      String existingBindingName = builder.findExistingBindingName(getId(qualifiedId));
+//      if (existingBindingName != null) {
+//        error(element, "Attempt to use @%s for an already bound ID %d on '%s'. (%s.%s)",
+//            BindView.class.getSimpleName(), id, existingBindingName,
+//            enclosingElement.getQualifiedName(), element.getSimpleName());
+//        return;
+//      }
+    } else {
+      builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
+    }
+
+    String name = simpleName.toString();
+    TypeName type = TypeName.get(elementType);
+    boolean required = isFieldRequired(element);
+
+    FieldViewBinding binding = new FieldViewBinding(name, type, required, parentPath);
+    if (stubId != 0) {
+      QualifiedId stubQualifiedId = elementToQualifiedId(element, stubId);
+      builder.getOrCreateStub(getId(stubQualifiedId)).addField(getId(qualifiedId), binding);
+    } else {
+      builder.addField(getId(qualifiedId), binding);
+    }
+
+    // Add the type-erased version to the valid binding targets set.
+    erasedTargetNames.add(enclosingElement);
+  }
+
+  /** Returns the container IDs of a view binding, or null after reporting an invalid path. */
+  private List<Id> getParentPath(Class<? extends Annotation> annotationClass, Element element,
+      int parentId, int[] parentPath) {
+    if (parentId != 0 && parentPath.length != 0) {
+      error(element, "@%s may specify parentId or parentPath but not both. (%s.%s)",
+          annotationClass.getSimpleName(), element.getEnclosingElement(), element.getSimpleName());
+      return null;
+    }
+    if (parentId != 0) {
+      parentPath = new int[] { parentId };
+    }
+    List<Id> path = new ArrayList<>(parentPath.length);
+    for (int id : parentPath) {
+      if (id == 0 || id == NO_ID.value) {
+        error(element, "@%s parentPath contains invalid ID %d. (%s.%s)",
+            annotationClass.getSimpleName(), id, element.getEnclosingElement(),
+            element.getSimpleName());
+        return null;
+      }
+      path.add(getId(elementToQualifiedId(element, id)));
+    }
+    return path;
+  }
+
+  private QualifiedId elementToQualifiedId(Element element, int id) {
+    return new QualifiedId(elementUtils.getPackageOf(element).getQualifiedName().toString(), id);
+  }
+
+  private void parseBindViewStub(Element element, Map<TypeElement, BindingSet.Builder> builderMap,
+      Set<TypeElement> erasedTargetNames) {
+    TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+
+    // Start by verifying common generated code restrictions.
+    boolean hasError = isInaccessibleViaGeneratedCode(BindViewStub.class, "fields", element)
+        || isBindingInWrongPackage(BindViewStub.class, element);
+
+    // Verify that the field is a LazyStub of a View.
+    TypeMirror elementType = element.asType();
+    TypeMirror viewType = null;
+    if (!LAZY_STUB_TYPE.equals(doubleErasure(elementType))) {
+      error(element, "@%s field type must be '%s'. (%s.%s)", BindViewStub.class.getSimpleName(),
+          LAZY_STUB_TYPE, enclosingElement.getQualifiedName(), element.getSimpleName());
+      hasError = true;
+    } else {
+      List<? extends TypeMirror> typeArguments = ((DeclaredType) elementType).getTypeArguments();
+      if (typeArguments.size() == 1) {
+        viewType = typeArguments.get(0);
+        if (viewType.getKind() == TypeKind.TYPEVAR) {
+          viewType = ((TypeVariable) viewType).getUpperBound();
+        } else if (viewType.getKind() == TypeKind.WILDCARD) {
+          viewType = null;
+        }
+      }
+    }
+
+    if (hasError) {
+      return;
+    }
+
+    int id = element.getAnnotation(BindViewStub.class).value();
+    BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
+    StubBinding.Builder stub = builder.getOrCreateStub(getId(elementToQualifiedId(element, id)));
+    if (stub.hasField()) {
+      error(element, "Attempt to use @%s for an already bound stub ID %d. (%s.%s)",
+          BindViewStub.class.getSimpleName(), id, enclosingElement.getQualifiedName(),
+          element.getSimpleName());
+      return;
+    }
+    TypeName type = viewType != null
+        ? TypeName.get(typeUtils.erasure(viewType))
+        : ClassName.get("android.view", "View");
+    stub.setField(element.getSimpleName().toString(), type, isFieldRequired(element));
+
+    erasedTargetNames.add(enclosingElement);
+  }
+
+  private void parseBindViews(Element element, Map<TypeElement, BindingSet.Builder> builderMap,
+      Set<TypeElement> erasedTargetNames) {
+    TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+
+    // Start by verifying common generated code restrictions.
+    boolean hasError = isInaccessibleViaGeneratedCode(BindViews.class, "fields", element)
+        || isBindingInWrongPackage(BindViews.class, element);
+
+    // Verify that the type is a List or an array.
+    TypeMirror elementType = element.asType();
+    String erasedType = doubleErasure(elementType);
+    TypeMirror viewType = null;
+    FieldCollectionViewBinding.Kind kind = null;
+    if (elementType.getKind() == TypeKind.ARRAY) {
+      ArrayType arrayType = (ArrayType) elementType;
+      viewType = arrayType.getComponentType();
+      kind = FieldCollectionViewBinding.Kind.ARRAY;
+    } else if (LIST_TYPE.equals(erasedType)) {
+      DeclaredType declaredType = (DeclaredType) elementType;
+      List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+      if (typeArguments.size() != 1) {
+        error(element, "@%s List must have a generic component. (%s.%s)",
+            BindViews.class.getSimpleName(), enclosingElement.getQualifiedName(),
+            element.getSimpleName());
+        hasError = true;
+      } else {
+        viewType = typeArguments.get(0);
+      }
+      kind = FieldCollectionViewBinding.Kind.LIST;
+    } else {
+      error(element, "@%s must be a List or array. (%s.%s)", BindViews.class.getSimpleName(),
+          enclosingElement.getQualifiedName(), element.getSimpleName());
+      hasError = true;
+    }
+    if (viewType != null && viewType.getKind() == TypeKind.TYPEVAR) {
+      TypeVariable typeVariable = (TypeVariable) viewType;
+      viewType = typeVariable.getUpperBound();
+    }
+
+    // Verify that the target type extends from View.
+    if (viewType != null && !isSubtypeOfType(viewType, VIEW_TYPE) && !isInterface(viewType)) {
+      if (viewType.getKind() == TypeKind.ERROR) {
+        note(element, "@%s List or array with unresolved type (%s) "
+                + "must elsewhere be generated as a View or interface. (%s.%s)",
+            BindViews.class.getSimpleName(), viewType, enclosingElement.getQualifiedName(),
+            element.getSimpleName());
+      } else {
+        error(element, "@%s List or array type must extend from View or be an interface. (%s.%s)",
+            BindViews.class.getSimpleName(), enclosingElement.getQualifiedName(),
+            element.getSimpleName());
+        hasError = true;
+      }
+    }
+
+    // Assemble information on the field.
+    String name = element.getSimpleName().toString();
+    int[] ids = element.getAnnotation(BindViews.class).value();
+    BindViews annotation = element.getAnnotation(BindViews.class);
+    List<Id> parentPath =
+        getParentPath(BindViews.class, element, annotation.parentId(), annotation.parentPath());
+    if (parentPath == null) {
+      hasError = true;
+    }
+    int stubId = annotation.stubId();
+    if (ids.length == 0) {
+      error(element, "@%s must specify at least one ID. (%s.%s)", BindViews.class.getSimpleName(),
+          enclosingElement.getQualifiedName(), element.getSimpleName());
+      hasError = true;
+    }
+
+    Integer duplicateId = findDuplicate(ids);
+    if (duplicateId != null) {
+      error(element, "@%s annotation contains duplicate ID %d. (%s.%s)",
+          BindViews.class.getSimpleName(), duplicateId, enclosingElement.getQualifiedName(),
+          element.getSimpleName());
+      hasError = true;
+    }
+
+    if (hasError) {
+      return;
+    }
+
+    assert viewType != null; // Always false as hasError would have been true.
+    TypeName type = TypeName.get(viewType);
+    boolean required = isFieldRequired(element);
+
+    List<Id> idVars = new ArrayList<>();
+    for (int id : ids) {
+      QualifiedId qualifiedId = elementToQualifiedId(element, id);
+      idVars.add(getId(qualifiedId));
+    }
+
+    BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
+    FieldCollectionViewBinding binding =
+        new FieldCollectionViewBinding(name, type, kind, idVars, required, parentPath);
+    if (stubId != 0) {
+      QualifiedId stubQualifiedId = elementToQualifiedId(element, stubId);
+      builder.getOrCreateStub(getId(stubQualifiedId)).addFieldCollection(binding);
+    } else {
+      builder.addFieldCollection(binding);
+    }
+
+    erasedTargetNames.add(enclosingElement);
+  }
+
+  private void parseResourceBool(Element element, Map<TypeElement, BindingSet.Builder> builderMap,
+      Set<TypeElement> erasedTargetNames) {
+    boolean hasError = false;
+    TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+
+    // Verify that the target type is boolean.
+    if (element.asType().getKind() != TypeKind.BOOLEAN) {
+      error(element, "@%s field type must be 'boolean'. (%s.%s)",
+          BindBool.class.getSimpleName(), enclosingElement.getQualifiedName(),
+          element.getSimpleName());
+      hasError = true;
+    }
+
+    // Verify common generated code restrictions.
+    hasError |= isInaccessibleViaGeneratedCode(BindBool.class, "fields", element);
+    hasError |= isBindingInWrongPackage(BindBool.class, element);
+
+    if (hasError) {
+      return;
+    }
+
+    // Assemble information on the field.
+    String name = element.getSimpleName().toString();
+    int id = element.getAnnotation(BindBool.class).value();
+    QualifiedId qualifiedId = elementToQualifiedId(element, id);
+    BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
+    builder.addResource(
+        new FieldResourceBinding(getId(qualifiedId), name, FieldResourceBinding.Type.BOOL));
+
+    erasedTargetNames.add(enclosingElement);
+  }
+
+  private void parseResourceFloat(Element element, Map<TypeElement, BindingSet.Builder> builderMap,
+      Set<TypeElement> erasedTargetNames) {
+    boolean hasError = false;
+    TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+
+    // Verify that the target type is float.
+    if (element.asType().getKind() != TypeKind.FLOAT) {
+      error(element, "@%s field type must be 'float'. (%s.%s)",
+          BindFloat.class.getSimpleName(), enclosingElement.getQualifiedName(),
+          element.getSimpleName());
+      hasError = true;
+    }
+
+    // Verify common generated code restrictions.
+    hasError |= isInaccessibleViaGeneratedCode(BindFloat.class, "fields", element);
+    hasError |= isBindingInWrongPackage(BindFloat.class, element);
+
+    if (hasError) {
+      return;
+    }
+
+    // Assemble information on the field.
+    String name = element.getSimpleName().toString();
+    int id = element.getAnnotation(BindFloat.class).value();
+    QualifiedId qualifiedId = elementToQualifiedId(element, id);
+    BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
+    builder.addResource(
+        new FieldResourceBinding(getId(qualifiedId), name, FieldResourceBinding.Type.FLOAT));
+
+    erasedTargetNames.add(enclosingElement);
+  }
+
+  private void parseResourceInt(Element element, Map<TypeElement, BindingSet.Builder> builderMap,
+      Set<TypeElement> erasedTargetNames) {
+    boolean hasError = false;
+    TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+
+    // Verify that the target type is int.
+    if (element.asType().getKind() != TypeKind.INT) {
+      error(element, "@%s field type must be 'int'. (%s.%s)",
+          BindInt.class.getSimpleName(), enclosingElement.getQualifiedName(),
+          element.getSimpleName());
+      hasError = true;
+    }
+
+    // Verify common generated code restrictions.
+    hasError |= isInaccessibleViaGeneratedCode(BindInt.class, "fields", element);
+    hasError |= isBindingInWrongPackage(BindInt.class, element);
+
+    if (hasError) {
+      return;
+    }
+
+    // Assemble information on the field.
+    String name = element.getSimpleName().toString();
+    int id = element.getAnnotation(BindInt.class).value();
+    QualifiedId qualifiedId = elementToQualifiedId(element, id);
+    BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
+    builder.addResource(
+        new FieldResourceBinding(getId(qualifiedId), name, FieldResourceBinding.Type.INT));
+
+    erasedTargetNames.add(enclosingElement);
+  }
+
+  private void parseResourceString(Element element, Map<TypeElement, BindingSet.Builder> builderMap,
+      Set<TypeElement> erasedTargetNames) {
+    boolean hasError = false;
+    TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+
+    // Verify that the target type is String.
+    if (!STRING_TYPE.equals(element.asType().toString())) {
+      error(element, "@%s field type must be 'String'. (%s.%s)",
+          BindString.class.getSimpleName(), enclosingElement.getQualifiedName(),
+          element.getSimpleName());
+      hasError = true;
+    }
+
+    // Verify common generated code restrictions.
+    hasError |= isInaccessibleViaGeneratedCode(BindString.class, "fields", element);
+    hasError |= isBindingInWrongPackage(BindString.class, element);
+
+    if (hasError) {
+      return;
+    }
+
+    // Assemble information on the field.
+    String name = element.getSimpleName().toString();
+    int id = element.getAnnotation(BindString.class).value();
+    QualifiedId qualifiedId = elementToQualifiedId(element, id);
+    BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
+    builder.addResource(
+        new FieldResourceBinding(getId(qualifiedId), name, FieldResourceBinding.Type.STRING));
+
+    erasedTargetNames.add(enclosingElement);
+  }
+
+  private void parseResourceBitmap(Element element, Map<TypeElement, BindingSet.Builder> builderMap,
+      Set<TypeElement> erasedTargetNames) {
+    boolean hasError = false;
+    TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+
+    // Verify that the target type is Bitmap.
+    if (!BITMAP_TYPE.equals(element.asType().toString())) {
+      error(element, "@%s field type must be 'Bitmap'. (%s.%s)",
+          BindBitmap.class.getSimpleName(), enclosingElement.getQualifiedName(),
+          element.getSimpleName());
+      hasError = true;
+    }
+
+    // Verify the requested sample size.
+    BindBitmap annotation = element.getAnnotation(BindBitmap.class);
+    int sampleSize = annotation.sampleSize();
+    if (sampleSize < 1) {
+      error(element, "@%s sampleSize must be at least 1. Found: %s. (%s.%s)",
+          BindBitmap.class.getSimpleName(), sampleSize, enclosingElement.getQualifiedName(),
+          element.getSimpleName());
+      hasError = true;
+    }
+
+    // Verify common generated code restrictions.
+    hasError |= isInaccessibleViaGeneratedCode(BindBitmap.class, "fields", element);
+    hasError |= isBindingInWrongPackage(BindBitmap.class, element);
+
+    if (hasError) {
       return;
     }
-    BindingSet.Builder builder = targetClassMap.get(typeElement);
 
-    if (builder == null) {
-        builder = getOrCreateBindingBuilder(targetClassMap, typeElement);
-    }
+    // Assemble information on the field.
+    String name = element.getSimpleName().toString();
+    Id id = getId(elementToQualifiedId(element, annotation.value()));
+    Id widthId = getId(elementToQualifiedId(element, annotation.width()));
+    Id heightId = getId(elementToQualifiedId(element, annotation.height()));
+    BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
+    builder.addResource(new FieldBitmapBinding(id, name, widthId, heightId, sampleSize));
 
-    builder.setContentLayoutId(layoutId);
-    log(element, "element:" + element + "; targetMap:" + targetClassMap + "; erasedNames: " + erasedTargetNames);
+    erasedTargetNames.add(enclosingElement);
   }
 
-  private void parseBindView(Element element, Map<TypeElement, BindingSet.Builder> builderMap,
-      Set<TypeElement> erasedTargetNames) {
+  private void parseResourceColor(Element element,
+      Map<TypeElement, BindingSet.Builder> builderMap, Set<TypeElement> erasedTargetNames) {
+    boolean hasError = false;
     TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
 
-    // Start by verifying common generated code restrictions.
-    boolean hasError = isInaccessibleViaGeneratedCode(BindView.class, "fields", element)
-        || isBindingInWrongPackage(BindView.class, element);
-
-    // Verify that the target type extends from View.
+    // Verify that the target type is int or ColorStateList.
+    boolean isColorStateList = false;
     TypeMirror elementType = element.asType();
-    if (elementType.getKind() == TypeKind.TYPEVAR) {
-      TypeVariable typeVariable = (TypeVariable) elementType;
-      elementType = typeVariable.getUpperBound();
-    }
-    Name qualifiedName = enclosingElement.getQualifiedName();
-    Name simpleName = element.getSimpleName();
-    if (!isSubtypeOfType(elementType, VIEW_TYPE) && !isInterface(elementType)) {
-      if (elementType.getKind() == TypeKind.ERROR) {
-        note(element, "@%s field with unresolved type (%s) "
-                + "must elsewhere be generated as a View or interface. (%s.%s)",
-            BindView.class.getSimpleName(), elementType, qualifiedName, simpleName);
-      } else {
-        error(element, "@%s fields must extend from View or be an interface. (%s.%s)",
-            BindView.class.getSimpleName(), qualifiedName, simpleName);
-        hasError = true;
-      }
+    if (COLOR_STATE_LIST_TYPE.equals(elementType.toString())) {
+      isColorStateList = true;
+    } else if (elementType.getKind() != TypeKind.INT) {
+      error(element, "@%s field type must be 'int' or 'ColorStateList'. (%s.%s)",
+          BindColor.class.getSimpleName(), enclosingElement.getQualifiedName(),
+          element.getSimpleName());
+      hasError = true;
     }
 
+    // Verify common generated code restrictions.
+    hasError |= isInaccessibleViaGeneratedCode(BindColor.class, "fields", element);
+    hasError |= isBindingInWrongPackage(BindColor.class, element);
+
     if (hasError) {
       return;
     }
 
     // Assemble information on the field.
-    int id = element.getAnnotation(BindView.class).value();
-    int parentId = element.getAnnotation(BindView.class).parentId();
-
-    BindingSet.Builder builder = builderMap.get(enclosingElement);
+    String name = element.getSimpleName().toString();
+    int id = element.getAnnotation(BindColor.class).value();
     QualifiedId qualifiedId = elementToQualifiedId(element, id);
-    if (builder != null) {
-//      String existingBindingName = builder.findExistingBindingName(getId(qualifiedId));
-//      if (existingBindingName != null) {
-//        error(element, "Attempt to use @%s for an already bound ID %d on '%s'. (%s.%s)",
-//            BindView.class.getSimpleName(), id, existingBindingName,
-//            enclosingElement.getQualifiedName(), element.getSimpleName());
-//        return;
-//      }
-    } else {
-      builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
-    }
-
-    String name = simpleName.toString();
-    TypeName type = TypeName.get(elementType);
-    boolean required = isFieldRequired(element);
-
-    builder.addField(getId(qualifiedId), new FieldViewBinding(name, type, required,parentId));
+    BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
+    builder.addResource(new FieldResourceBinding(getId(qualifiedId), name,
+        isColorStateList ? FieldResourceBinding.Type.COLOR_STATE_LIST
+            : FieldResourceBinding.Type.COLOR));
 
-    // Add the type-erased version to the valid binding targets set.
     erasedTargetNames.add(enclosingElement);
   }
 
-  private QualifiedId elementToQualifiedId(Element element, int id) {
-    return new QualifiedId(elementUtils.getPackageOf(element).getQualifiedName().toString(), id);
-  }
-
-  private void parseBindViews(Element element, Map<TypeElement, BindingSet.Builder> builderMap,
-      Set<TypeElement> erasedTargetNames) {
+  private void parseResourceDimen(Element element,
+      Map<TypeElement, BindingSet.Builder> builderMap, Set<TypeElement> erasedTargetNames) {
+    boolean hasError = false;
     TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
 
-    // Start by verifying common generated code restrictions.
-    boolean hasError = isInaccessibleViaGeneratedCode(BindViews.class, "fields", element)
-        || isBindingInWrongPackage(BindViews.class, element);
-
-    // Verify that the type is a List or an array.
+    // Verify that the target type is int or float.
+    boolean isInt = false;
     TypeMirror elementType = element.asType();
-    String erasedType = doubleErasure(elementType);
-    TypeMirror viewType = null;
-    FieldCollectionViewBinding.Kind kind = null;
-    if (elementType.getKind() == TypeKind.ARRAY) {
-      ArrayType arrayType = (ArrayType) elementType;
-      viewType = arrayType.getComponentType();
-      kind = FieldCollectionViewBinding.Kind.ARRAY;
-    } else if (LIST_TYPE.equals(erasedType)) {
-      DeclaredType declaredType = (DeclaredType) elementType;
-      List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
-      if (typeArguments.size() != 1) {
-        error(element, "@%s List must have a generic component. (%s.%s)",
-            BindViews.class.getSimpleName(), enclosingElement.getQualifiedName(),
-            element.getSimpleName());
-        hasError = true;
-      } else {
-        viewType = typeArguments.get(0);
-      }
-      kind = FieldCollectionViewBinding.Kind.LIST;
-    } else {
-      error(element, "@%s must be a List or array. (%s.%s)", BindViews.class.getSimpleName(),
-          enclosingElement.getQualifiedName(), element.getSimpleName());
+    if (elementType.getKind() == TypeKind.INT) {
+      isInt = true;
+    } else if (elementType.getKind() != TypeKind.FLOAT) {
+      error(element, "@%s field type must be 'int' or 'float'. (%s.%s)",
+          BindDimen.class.getSimpleName(), enclosingElement.getQualifiedName(),
+          element.getSimpleName());
       hasError = true;
     }
-    if (viewType != null && viewType.getKind() == TypeKind.TYPEVAR) {
-      TypeVariable typeVariable = (TypeVariable) viewType;
-      viewType = typeVariable.getUpperBound();
-    }
 
-    // Verify that the target type extends from View.
-    if (viewType != null && !isSubtypeOfType(viewType, VIEW_TYPE) && !isInterface(viewType)) {
-      if (viewType.getKind() == TypeKind.ERROR) {
-        note(element, "@%s List or array with unresolved type (%s) "
-                + "must elsewhere be generated as a View or interface. (%s.%s)",
-            BindViews.class.getSimpleName(), viewType, enclosingElement.getQualifiedName(),
-            element.getSimpleName());
-      } else {
-        error(element, "@%s List or array type must extend from View or be an interface. (%s.%s)",
-            BindViews.class.getSimpleName(), enclosingElement.getQualifiedName(),
-            element.getSimpleName());
-        hasError = true;
-      }
+    // Verify common generated code restrictions.
+    hasError |= isInaccessibleViaGeneratedCode(BindDimen.class, "fields", element);
+    hasError |= isBindingInWrongPackage(BindDimen.class, element);
+
+    if (hasError) {
+      return;
     }
 
     // Assemble information on the field.
     String name = element.getSimpleName().toString();
-    int[] ids = element.getAnnotation(BindViews.class).value();
-    int parentId = element.getAnnotation(BindViews.class).parentId();
-    if (ids.length == 0) {
-      error(element, "@%s must specify at least one ID. (%s.%s)", BindViews.class.getSimpleName(),
-          enclosingElement.getQualifiedName(), element.getSimpleName());
-      hasError = true;
-    }
+    int id = element.getAnnotation(BindDimen.class).value();
+    QualifiedId qualifiedId = elementToQualifiedId(element, id);
+    BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
+    builder.addResource(new FieldResourceBinding(getId(qualifiedId), name,
+        isInt ? FieldResourceBinding.Type.DIMEN_AS_INT : FieldResourceBinding.Type.DIMEN_AS_FLOAT));
 
-    Integer duplicateId = findDuplicate(ids);
-    if (duplicateId != null) {
-      error(element, "@%s annotation contains duplicate ID %d. (%s.%s)",
-          BindViews.class.getSimpleName(), duplicateId, enclosingElement.getQualifiedName(),
+    erasedTargetNames.add(enclosingElement);
+  }
+
+  private void parseResourceDrawable(Element element,
+      Map<TypeElement, BindingSet.Builder> builderMap, Set<TypeElement> erasedTargetNames) {
+    boolean hasError = false;
+    TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+
+    // Verify that the target type is Drawable.
+    if (!DRAWABLE_TYPE.equals(element.asType().toString())) {
+      error(element, "@%s field type must be 'Drawable'. (%s.%s)",
+          BindDrawable.class.getSimpleName(), enclosingElement.getQualifiedName(),
           element.getSimpleName());
       hasError = true;
     }
 
+    // Verify common generated code restrictions.
+    hasError |= isInaccessibleViaGeneratedCode(BindDrawable.class, "fields", element);
+    hasError |= isBindingInWrongPackage(BindDrawable.class, element);
+
     if (hasError) {
       return;
     }
 
-    assert viewType != null; // Always false as hasError would have been true.
-    TypeName type = TypeName.get(viewType);
-    boolean required = isFieldRequired(element);
+    // Assemble information on the field.
+    String name = element.getSimpleName().toString();
+    int id = element.getAnnotation(BindDrawable.class).value();
+    int tint = element.getAnnotation(BindDrawable.class).tint();
+    Id resourceId = getId(elementToQualifiedId(element, id));
+    Id tintAttributeId = getId(elementToQualifiedId(element, tint));
+    BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
+    builder.addResource(new FieldDrawableBinding(resourceId, name, tintAttributeId));
 
-    List<Id> idVars = new ArrayList<>();
-    for (int id : ids) {
-      QualifiedId qualifiedId = elementToQualifiedId(element, id);
-      idVars.add(getId(qualifiedId));
+    erasedTargetNames.add(enclosingElement);
+  }
+
+  private void parseResourceArray(Element element,
+      Map<TypeElement, BindingSet.Builder> builderMap, Set<TypeElement> erasedTargetNames) {
+    boolean hasError = false;
+    TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+
+    // Verify that the target type is supported.
+    FieldResourceBinding.Type type = getArrayResourceMethodName(element);
+    if (type == null) {
+      error(element,
+          "@%s field type must be one of: String[], int[], CharSequence[], %s. (%s.%s)",
+          BindArray.class.getSimpleName(), TYPED_ARRAY_TYPE, enclosingElement.getQualifiedName(),
+          element.getSimpleName());
+      hasError = true;
     }
 
+    // Verify common generated code restrictions.
+    hasError |= isInaccessibleViaGeneratedCode(BindArray.class, "fields", element);
+    hasError |= isBindingInWrongPackage(BindArray.class, element);
+
+    if (hasError) {
+      return;
+    }
+
+    // Assemble information on the field.
+    String name = element.getSimpleName().toString();
+    int id = element.getAnnotation(BindArray.class).value();
+    QualifiedId qualifiedId = elementToQualifiedId(element, id);
     BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
-    builder.addFieldCollection(new FieldCollectionViewBinding(name, type, kind, idVars, required,parentId));
+    builder.addResource(new FieldResourceBinding(getId(qualifiedId), name, type));
 
     erasedTargetNames.add(enclosingElement);
   }
 
+  /**
+   * Returns a method name from the {@link android.content.res.Resources} class for array resource
+   * binding, null if the element type is not supported.
+   */
+  private static FieldResourceBinding.Type getArrayResourceMethodName(Element element) {
+    TypeMirror typeMirror = element.asType();
+    if (TYPED_ARRAY_TYPE.equals(typeMirror.toString())) {
+      return FieldResourceBinding.Type.TYPED_ARRAY;
+    }
+    if (TypeKind.ARRAY.equals(typeMirror.getKind())) {
+      ArrayType arrayType = (ArrayType) typeMirror;
+      String componentType = arrayType.getComponentType().toString();
+      if (STRING_TYPE.equals(componentType)) {
+        return FieldResourceBinding.Type.STRING_ARRAY;
+      } else if ("int".equals(componentType)) {
+        return FieldResourceBinding.Type.INT_ARRAY;
+      } else if ("java.lang.CharSequence".equals(componentType)) {
+        return FieldResourceBinding.Type.TEXT_ARRAY;
+      }
+    }
+    return null;
+  }
+
   /** Returns the first duplicate element inside an array, null if there are no duplicates. */
   private static Integer findDuplicate(int[] array) {
     Set<Integer> seenElements = new LinkedHashSet<>();
@@ -504,8 +1667,9 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
   private void findAndParseListener(RoundEnvironment env,
       Class<? extends Annotation> annotationClass,
       Map<TypeElement, BindingSet.Builder> builderMap, Set<TypeElement> erasedTargetNames) {
-    for (Element element : env.getElementsAnnotatedWith(annotationClass)) {
+    for (Element element : elementsToParse(env, annotationClass)) {
       if (!SuperficialValidation.validateElement(element)) continue;
+      ProcessingProfile.Mark mark = profile.mark();
       try {
         parseListenerAnnotation(annotationClass, element, builderMap, erasedTargetNames);
       } catch (Exception e) {
@@ -515,6 +1679,7 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         error(element, "Unable to generate view binder for @%s.\n\n%s",
             annotationClass.getSimpleName(), stackTrace.toString());
       }
+      profile.record(annotationClass, element, mark);
     }
   }
 
@@ -604,10 +1769,12 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
     }
 
     // Verify that the method has equal to or less than the number of parameters as the listener.
+    // Holders may take one more for the adapter position.
     List<? extends VariableElement> methodParameters = executableElement.getParameters();
-    if (methodParameters.size() > method.parameters().length) {
+    int maxParameters = method.parameters().length + (hasAdapterPosition(enclosingElement) ? 1 : 0);
+    if (methodParameters.size() > maxParameters) {
       error(element, "@%s methods can have at most %s parameter(s). (%s.%s)",
-          annotationClass.getSimpleName(), method.parameters().length,
+          annotationClass.getSimpleName(), maxParameters,
           enclosingElement.getQualifiedName(), element.getSimpleName());
       hasError = true;
     }
@@ -625,6 +1792,25 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
       hasError = true;
     }
 
+    // A result cannot be returned to the listener from another thread.
+    String dispatch = getDispatch(annotationClass, annotation);
+    if (!Dispatch.MAIN.equals(dispatch) && !"void".equals(method.returnType())) {
+      error(element, "@%s methods returning '%s' cannot be dispatched to '%s'. (%s.%s)",
+          annotationClass.getSimpleName(), method.returnType(), dispatch,
+          enclosingElement.getQualifiedName(), element.getSimpleName());
+      hasError = true;
+    }
+
+    // A coalesced call runs in a later frame so only moves can be answered without calling it.
+    boolean coalesced = getCoalesce(annotationClass, annotation);
+    if (coalesced && !"void".equals(method.returnType())
+        && !Arrays.asList(method.parameters()).contains(MOTION_EVENT_TYPE)) {
+      error(element, "@%s methods returning '%s' cannot be coalesced. (%s.%s)",
+          annotationClass.getSimpleName(), method.returnType(),
+          enclosingElement.getQualifiedName(), element.getSimpleName());
+      hasError = true;
+    }
+
     if (hasError) {
       return;
     }
@@ -655,6 +1841,11 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
             break;
           }
         }
+        if (parameters[i] == null
+            && methodParameterType.getKind() == TypeKind.INT
+            && hasAdapterPosition(enclosingElement)) {
+          parameters[i] = new Parameter(Parameter.ADAPTER_POSITION, TypeName.INT);
+        }
         if (parameters[i] == null) {
           StringBuilder builder = new StringBuilder();
           builder.append("Unable to match @")
@@ -694,11 +1885,20 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
       }
     }
 
-    MethodViewBinding binding = new MethodViewBinding(name, Arrays.asList(parameters), required);
+    MethodViewBinding binding = new MethodViewBinding(name, Arrays.asList(parameters), required,
+        dispatch, getBackpressure(annotationClass, annotation), coalesced);
     BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
+    StubBinding.Builder stub = null;
+    int stubId = getStubId(annotationClass, annotation);
+    if (stubId != 0) {
+      stub = builder.getOrCreateStub(getId(elementToQualifiedId(element, stubId)));
+    }
     for (int id : ids) {
       QualifiedId qualifiedId = elementToQualifiedId(element, id);
-      if (!builder.addMethod(getId(qualifiedId), listener, method, binding)) {
+      boolean added = stub != null
+          ? stub.addMethod(getId(qualifiedId), listener, method, binding)
+          : builder.addMethod(getId(qualifiedId), listener, method, binding);
+      if (!added) {
         error(element, "Multiple listener methods with return value specified for ID %d. (%s.%s)",
             id, enclosingElement.getQualifiedName(), element.getSimpleName());
         return;
@@ -709,6 +1909,90 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
     erasedTargetNames.add(enclosingElement);
   }
 
+  /** True for holders which can supply an adapter position to listener methods. */
+  private boolean hasAdapterPosition(TypeElement enclosingElement) {
+    if (!isHolderType(enclosingElement)) {
+      return false;
+    }
+    for (Element member : elementUtils.getAllMembers(enclosingElement)) {
+      if (member.getKind() == METHOD
+          && member.getSimpleName().contentEquals("getAdapterPosition")
+          && ((ExecutableElement) member).getParameters().isEmpty()
+          && ((ExecutableElement) member).getReturnType().getKind() == TypeKind.INT) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * True for subclasses of {@code RecyclerView.ViewHolder} and for classes which are, or extend a
+   * class, annotated with {@link BindHolder}.
+   */
+  static boolean isHolderType(TypeElement typeElement) {
+    if (isSubtypeOfType(typeElement.asType(), VIEW_HOLDER_TYPE)) {
+      return true;
+    }
+    while (typeElement != null) {
+      if (typeElement.getAnnotation(BindHolder.class) != null) {
+        return true;
+      }
+      TypeMirror superType = typeElement.getSuperclass();
+      if (superType.getKind() != TypeKind.DECLARED) {
+        return false;
+      }
+      typeElement = (TypeElement) ((DeclaredType) superType).asElement();
+    }
+    return false;
+  }
+
+  /** Returns the listener annotation's {@code stubId}, or 0 for listeners which have none. */
+  private static int getStubId(Class<? extends Annotation> annotationClass, Annotation annotation)
+      throws Exception {
+    Method annotationStubId;
+    try {
+      annotationStubId = annotationClass.getDeclaredMethod("stubId");
+    } catch (NoSuchMethodException e) {
+      return 0;
+    }
+    return (int) annotationStubId.invoke(annotation);
+  }
+
+  /** Returns the executor a listener annotation dispatches to, or the main thread for none. */
+  private static String getDispatch(Class<? extends Annotation> annotationClass,
+      Annotation annotation) throws Exception {
+    Method annotationDispatch;
+    try {
+      annotationDispatch = annotationClass.getDeclaredMethod("dispatch");
+    } catch (NoSuchMethodException e) {
+      return Dispatch.MAIN;
+    }
+    return (String) annotationDispatch.invoke(annotation);
+  }
+
+  private static Backpressure getBackpressure(Class<? extends Annotation> annotationClass,
+      Annotation annotation) throws Exception {
+    Method annotationBackpressure;
+    try {
+      annotationBackpressure = annotationClass.getDeclaredMethod("backpressure");
+    } catch (NoSuchMethodException e) {
+      return Backpressure.DROP;
+    }
+    return (Backpressure) annotationBackpressure.invoke(annotation);
+  }
+
+  /** True when a listener annotation asks for its calls to be coalesced to one per frame. */
+  private static boolean getCoalesce(Class<? extends Annotation> annotationClass,
+      Annotation annotation) throws Exception {
+    Method annotationCoalesce;
+    try {
+      annotationCoalesce = annotationClass.getDeclaredMethod("coalesce");
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+    return (boolean) annotationCoalesce.invoke(annotation);
+  }
+
   private boolean isInterface(TypeMirror typeMirror) {
     return typeMirror instanceof DeclaredType
         && ((DeclaredType) typeMirror).asElement().getKind() == INTERFACE;
@@ -777,12 +2061,18 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         return null;
       }
       typeElement = (TypeElement) ((DeclaredType) type).asElement();
-      if (parents.contains(typeElement)) {
+      if (parents.contains(typeElement)
+          || generatedBindings.containsKey(typeElement.getQualifiedName().toString())) {
         return typeElement;
       }
     }
   }
 
+  /** Diagnostics printed in addition to errors, each level including those before it. */
+  private enum LogLevel {
+    ERROR, WARNING, NOTE, DEBUG
+  }
+
   @Override public SourceVersion getSupportedSourceVersion() {
     return SourceVersion.latestSupported();
   }
@@ -792,10 +2082,25 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
   }
 
   private void note(Element element, String message, Object... args) {
-    printMessage(Kind.NOTE, element, message, args);
+    if (logLevel.compareTo(LogLevel.NOTE) >= 0) {
+      printMessage(Kind.NOTE, element, message, args);
+    }
+  }
+
+  /** Traces what the processor does, printed only at the {@code debug} log level. */
+  private void debug(Element element, String message, Object... args) {
+    if (logLevel == LogLevel.DEBUG) {
+      printMessage(Kind.NOTE, element, message, args);
+    }
   }
 
   private void printMessage(Kind kind, Element element, String message, Object[] args) {
+    if (quiet) {
+      return;
+    }
+    if (kind == Kind.WARNING && logLevel.compareTo(LogLevel.WARNING) < 0) {
+      return;
+    }
     if (args.length > 0) {
       message = String.format(message, args);
     }
@@ -838,13 +2143,95 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
     return symbols.get(qualifiedId);
   }
 
+  /**
+   * Returns the elements annotated with {@code annotation} to parse in this round, in source order:
+   * those javac found in this round and those of the classes picked up again, but none of a class
+   * which is set aside or already has its binding.
+   */
+  private List<Element> elementsToParse(RoundEnvironment env,
+      Class<? extends Annotation> annotation) {
+    // Javac only reports the elements of the sources of this round.
+    Set<Element> elements = new LinkedHashSet<>(env.getElementsAnnotatedWith(annotation));
+    for (TypeElement type : resumedTypes) {
+      if (type.getAnnotation(annotation) != null) {
+        elements.add(type);
+      }
+      for (Element member : type.getEnclosedElements()) {
+        if (member.getAnnotation(annotation) != null) {
+          elements.add(member);
+        }
+      }
+    }
+    List<Element> result = new ArrayList<>(elements.size());
+    for (Element element : elements) {
+      String target = targetTypeOf(element).getQualifiedName().toString();
+      if (!deferredTypes.contains(target) && !generatedBindings.containsKey(target)) {
+        result.add(element);
+      }
+    }
+    if (reverseInputs) {
+      Collections.reverse(result);
+    }
+    return inSourceOrder(result);
+  }
+
+  /** The class {@code element} is declared in, or {@code element} itself if it is a class. */
+  private static TypeElement targetTypeOf(Element element) {
+    while (!(element instanceof TypeElement)) {
+      element = element.getEnclosingElement();
+    }
+    return (TypeElement) element;
+  }
+
+  /**
+   * Returns {@code elements} ordered by the qualified name of their class and then by where they
+   * are declared in it, so that neither the order javac was given the sources in nor the order of
+   * its sets changes the generated code.
+   */
+  private static List<Element> inSourceOrder(Collection<? extends Element> elements) {
+    List<Element> sorted = new ArrayList<>(elements);
+    Collections.sort(sorted, SOURCE_ORDER);
+    return sorted;
+  }
+
+  private static final Comparator<Element> SOURCE_ORDER = new Comparator<Element>() {
+    @Override public int compare(Element left, Element right) {
+      Element leftMember = member(left);
+      Element rightMember = member(right);
+      int byType = enclosingTypeName(leftMember).compareTo(enclosingTypeName(rightMember));
+      if (byType != 0) {
+        return byType;
+      }
+      int leftIndex = leftMember.getEnclosingElement().getEnclosedElements().indexOf(leftMember);
+      int rightIndex = rightMember.getEnclosingElement().getEnclosedElements().indexOf(rightMember);
+      return leftIndex < rightIndex ? -1 : leftIndex > rightIndex ? 1 : 0;
+    }
+
+    /** The element itself, or the field or method it is declared on. */
+    private Element member(Element element) {
+      while (element.getEnclosingElement() != null
+          && !(element.getEnclosingElement() instanceof TypeElement)
+          && !(element instanceof TypeElement)) {
+        element = element.getEnclosingElement();
+      }
+      return element;
+    }
+
+    private String enclosingTypeName(Element member) {
+      if (member instanceof TypeElement) {
+        return ((TypeElement) member).getQualifiedName().toString();
+      }
+      return ((TypeElement) member.getEnclosingElement()).getQualifiedName().toString();
+    }
+  };
+
   private void scanForRClasses(RoundEnvironment env) {
     if (trees == null) return;
 
     RClassScanner scanner = new RClassScanner();
 
     for (Class<? extends Annotation> annotation : getSupportedAnnotations()) {
-      for (Element element : env.getElementsAnnotatedWith(annotation)) {
+      for (Element element : elementsToParse(env, annotation)) {
         JCTree tree = (JCTree) trees.getTree(element, getMirror(element, annotation));
         if (tree != null) { // tree can be null if the references are compiled types and not source
           String respectivePackageName =
@@ -855,9 +2242,18 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
       }
     }
 
-    for (Map.Entry<String, Set<String>> packageNameToRClassSet : scanner.getRClasses().entrySet()) {
+    List<Map.Entry<String, Set<String>>> packages =
+        new ArrayList<>(scanner.getRClasses().entrySet());
+    if (reverseInputs) {
+      Collections.reverse(packages);
+    }
+    for (Map.Entry<String, Set<String>> packageNameToRClassSet : packages) {
       String respectivePackageName = packageNameToRClassSet.getKey();
-      for (String rClass : packageNameToRClassSet.getValue()) {
+      List<String> rClasses = new ArrayList<>(packageNameToRClassSet.getValue());
+      if (reverseInputs) {
+        Collections.reverse(rClasses);
+      }
+      for (String rClass : rClasses) {
         parseRClass(respectivePackageName, rClass);
       }
     }
@@ -908,7 +2304,7 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
 
   private static class RClassScanner extends TreeScanner {
     // Maps the currently evaulated rPackageName to R Classes
-    private final Map<String, Set<String>> rClasses = new LinkedHashMap<>();
+    private final Map<String, Set<String>> rClasses = new TreeMap<>();
     private String currentPackageName;
 
     @Override public void visitSelect(JCTree.JCFieldAccess jcFieldAccess) {
@@ -919,7 +2315,7 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
           && symbol.getEnclosingElement().getEnclosingElement().enclClass() != null) {
         Set<String> rClassSet = rClasses.get(currentPackageName);
         if (rClassSet == null) {
-          rClassSet = new HashSet<>();
+          rClassSet = new TreeSet<>();
           rClasses.put(currentPackageName, rClassSet);
         }
         rClassSet.add(symbol.getEnclosingElement().getEnclosingElement().enclClass().className());
@@ -0,0 +1,41 @@
+package butterknife.compiler;
+
+import com.squareup.javapoet.CodeBlock;
+
+import static butterknife.compiler.BindingSet.BITMAP_CACHE;
+
+final class FieldBitmapBinding implements ResourceBinding {
+  private final Id id;
+  private final String name;
+  private final Id widthId;
+  private final Id heightId;
+  private final int sampleSize;
+
+  FieldBitmapBinding(Id id, String name, Id widthId, Id heightId, int sampleSize) {
+    this.id = id;
+    this.name = name;
+    this.widthId = widthId;
+    this.heightId = heightId;
+    this.sampleSize = sampleSize;
+  }
+
+  @Override public Id id() {
+    return id;
+  }
+
+  @Override public boolean requiresResources(int sdk) {
+    return false;
+  }
+
+  @Override public CodeBlock render(int sdk) {
+    if (sampleSize > 1) {
+      return CodeBlock.of("target.$L = $T.getSampledBitmap(context, $L, $L)", name, BITMAP_CACHE,
+          id.code, sampleSize);
+    }
+    if (widthId.value != 0 || heightId.value != 0) {
+      return CodeBlock.of("target.$L = $T.getBitmap(context, $L, $L, $L)", name, BITMAP_CACHE,
+          id.code, widthId.code, heightId.code);
+    }
+    return CodeBlock.of("target.$L = $T.getBitmap(context, $L)", name, BITMAP_CACHE, id.code);
+  }
+}
@@ -9,7 +9,7 @@ import java.util.List;
 import static butterknife.compiler.BindingSet.UTILS;
 import static butterknife.compiler.BindingSet.requiresCast;
 
-final class FieldCollectionViewBinding {
+final class FieldCollectionViewBinding implements MemberViewBinding {
   enum Kind {
     ARRAY("arrayOf"),
     LIST("listOf");
@@ -26,19 +26,44 @@ final class FieldCollectionViewBinding {
   private final Kind kind;
   private final boolean required;
   private final List<Id> ids;
-  private final int parentId;
+  private final List<Id> parentPath;
 
   FieldCollectionViewBinding(String name, TypeName type, Kind kind, List<Id> ids,
-                             boolean required, int parentId) {
+                             boolean required, List<Id> parentPath) {
     this.name = name;
     this.type = type;
     this.kind = kind;
     this.ids = ids;
     this.required = required;
-    this.parentId = parentId;
+    this.parentPath = parentPath;
   }
 
-  CodeBlock render() {
+  boolean isRequired() {
+    return required;
+  }
+
+  List<Id> getIds() {
+    return ids;
+  }
+
+  /** IDs of the containers enclosing the views, outermost first. Empty to search the root. */
+  List<Id> getParentPath() {
+    return parentPath;
+  }
+
+  @Override public String getDescription() {
+    return "field '" + name + "'";
+  }
+
+  /**
+   * @param source the local holding the container the views are found in. Containers other than
+   * the root may be missing when everything inside them is optional.
+   * @param missing the local holding the memo of views missing from the root's layout, or null.
+   */
+  CodeBlock render(String source, String missing) {
+    if (!parentPath.isEmpty() || required) {
+      missing = null;
+    }
     CodeBlock.Builder builder = CodeBlock.builder()
             .add("target.$L = $T.$L(", name, UTILS, kind.factoryName);
     for (int i = 0; i < ids.size(); i++) {
@@ -49,20 +74,22 @@ final class FieldCollectionViewBinding {
 
       boolean requiresCast = requiresCast(type);
       if (!requiresCast && !required) {
-        if(parentId == 0)
-          builder.add("source.findViewById($L)", ids.get(i).code);
-        else
-          builder.add("source.findViewById($L).findViewById($L)",parentId, ids.get(i).code);
+        if (missing != null) {
+          builder.add("$T.findOptionalView($N, $L, $N)", UTILS, source, ids.get(i).code, missing);
+        } else {
+          builder.add("$T.findOptionalView($N, $L)", UTILS, source, ids.get(i).code);
+        }
       } else {
         builder.add("$T.find", UTILS);
         builder.add(required ? "RequiredView" : "OptionalView");
         if (requiresCast) {
           builder.add("AsType");
         }
-        if(parentId == 0)
-          builder.add("(source, $L, \"field '$L'\"", ids.get(i).code, name);
-        else
-          builder.add("(source.findViewById($L), $L, \"field '$L'\"",parentId ,ids.get(i).code, name);
+        builder.add("($N, $L", source, ids.get(i).code);
+        if (missing != null) {
+          builder.add(", $N", missing);
+        }
+        builder.add(", \"field '$L'\"", name);
         if (requiresCast) {
           TypeName rawType = type;
           if (rawType instanceof ParameterizedTypeName) {
@@ -11,20 +11,20 @@ import static java.util.Collections.unmodifiableList;
 
 final class FieldResourceBinding implements ResourceBinding {
   enum Type {
-    BITMAP(new ResourceMethod(BindingSet.BITMAP_FACTORY, "decodeResource", true, 1)),
-    BOOL("getBoolean"),
+    BOOL(ResourceMethod.cached("getBoolean")),
+    // Not cached, as a color may refer to attributes of the theme.
     COLOR(new ResourceMethod(BindingSet.CONTEXT_COMPAT, "getColor", false, 1),
         new ResourceMethod(null, "getColor", false, 23)),
     COLOR_STATE_LIST(new ResourceMethod(BindingSet.CONTEXT_COMPAT, "getColorStateList", false, 1),
         new ResourceMethod(null, "getColorStateList", false, 23)),
-    DIMEN_AS_INT("getDimensionPixelSize"),
-    DIMEN_AS_FLOAT("getDimension"),
-    FLOAT(new ResourceMethod(BindingSet.UTILS, "getFloat", false, 1)),
-    INT("getInteger"),
-    INT_ARRAY("getIntArray"),
-    STRING("getString"),
-    STRING_ARRAY("getStringArray"),
-    TEXT_ARRAY("getTextArray"),
+    DIMEN_AS_INT(ResourceMethod.cached("getDimensionPixelSize")),
+    DIMEN_AS_FLOAT(ResourceMethod.cached("getDimension")),
+    FLOAT(ResourceMethod.cached("getFloat")),
+    INT(ResourceMethod.cached("getInteger")),
+    INT_ARRAY(ResourceMethod.cached("getIntArray")),
+    STRING(ResourceMethod.cached("getString")),
+    STRING_ARRAY(ResourceMethod.cached("getStringArray")),
+    TEXT_ARRAY(ResourceMethod.cached("getTextArray")),
     TYPED_ARRAY("obtainTypedArray");
 
     private final List<ResourceMethod> methods;
@@ -64,6 +64,11 @@ final class FieldResourceBinding implements ResourceBinding {
       this.sdk = sdk;
     }
 
+    /** A lookup which goes through the runtime's configuration-keyed resource value cache. */
+    static ResourceMethod cached(String name) {
+      return new ResourceMethod(BindingSet.RESOURCE_CACHE, name, false, 1);
+    }
+
     @Override public int compareTo(ResourceMethod other) {
       return Integer.compare(sdk, other.sdk);
     }
@@ -3,21 +3,24 @@ package butterknife.compiler;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
+import java.util.List;
 
 final class FieldViewBinding implements MemberViewBinding {
   private final String name;
   private final TypeName type;
   private final boolean required;
-  private final int parentId;
+  private final List<Id> parentPath;
 
-  FieldViewBinding(String name, TypeName type, boolean required, int parentId) {
+  FieldViewBinding(String name, TypeName type, boolean required, List<Id> parentPath) {
     this.name = name;
     this.type = type;
     this.required = required;
-    this.parentId = parentId;
+    this.parentPath = parentPath;
   }
-  public int getParentId() {
-    return parentId;
+
+  /** IDs of the containers enclosing the view, outermost first. Empty to search the root. */
+  public List<Id> getParentPath() {
+    return parentPath;
   }
 
   public String getName() {
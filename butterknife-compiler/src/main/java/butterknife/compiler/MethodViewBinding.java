@@ -1,5 +1,7 @@
 package butterknife.compiler;
 
+import butterknife.Backpressure;
+import butterknife.Dispatch;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -8,11 +10,18 @@ final class MethodViewBinding implements MemberViewBinding {
   private final String name;
   private final List<Parameter> parameters;
   private final boolean required;
+  private final String dispatch;
+  private final Backpressure backpressure;
+  private final boolean coalesced;
 
-  MethodViewBinding(String name, List<Parameter> parameters, boolean required) {
+  MethodViewBinding(String name, List<Parameter> parameters, boolean required, String dispatch,
+      Backpressure backpressure, boolean coalesced) {
     this.name = name;
     this.parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
     this.required = required;
+    this.dispatch = dispatch;
+    this.backpressure = backpressure;
+    this.coalesced = coalesced;
   }
 
   public String getName() {
@@ -30,4 +39,23 @@ final class MethodViewBinding implements MemberViewBinding {
   public boolean isRequired() {
     return required;
   }
+
+  /** Whether the method is called on an executor instead of on the main thread. */
+  public boolean isDispatched() {
+    return !Dispatch.MAIN.equals(dispatch);
+  }
+
+  /** Name of the executor the method is called on. */
+  public String getDispatch() {
+    return dispatch;
+  }
+
+  public Backpressure getBackpressure() {
+    return backpressure;
+  }
+
+  /** Whether the calls of each frame are merged into one call with the last event's arguments. */
+  public boolean isCoalesced() {
+    return coalesced;
+  }
 }
@@ -5,6 +5,8 @@ import com.squareup.javapoet.TypeName;
 /** Represents a parameter type and its position in the listener method. */
 final class Parameter {
   static final Parameter[] NONE = new Parameter[0];
+  /** Listener position of an {@code int} parameter which receives a holder's adapter position. */
+  static final int ADAPTER_POSITION = -1;
 
   private final int listenerPosition;
   private final TypeName type;
@@ -0,0 +1,212 @@
+package butterknife.compiler;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Wall time and allocation of each phase of the processor and of each target class. Collected
+ * across rounds when the {@code butterknife.profile} option is set and written out as JSON once
+ * processing is over. Every method does nothing when profiling is disabled.
+ */
+final class ProcessingProfile {
+  private final boolean enabled;
+  private final Map<String, Stats> phases = new LinkedHashMap<>();
+  private final Map<String, ClassStats> classes = new LinkedHashMap<>();
+  private int rounds;
+
+  ProcessingProfile(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Returns the point from which the next {@code record} measures, or null when disabled. */
+  Mark mark() {
+    return enabled ? new Mark(System.nanoTime(), allocatedBytes()) : null;
+  }
+
+  void recordRound(Mark mark) {
+    if (mark != null) {
+      rounds++;
+      record("round", mark);
+    }
+  }
+
+  /** Adds the time and allocation since {@code mark} to {@code phase}. */
+  void record(String phase, Mark mark) {
+    if (mark != null) {
+      stats(phases, phase).add(mark);
+    }
+  }
+
+  /** Adds the parsing of one element annotated with {@code annotation} to its target class. */
+  void record(Class<? extends Annotation> annotation, Element element, Mark mark) {
+    if (mark != null) {
+      Element type = element;
+      while (type != null && !(type instanceof TypeElement)) {
+        type = type.getEnclosingElement();
+      }
+      String className = type != null
+          ? ((TypeElement) type).getQualifiedName().toString()
+          : element.toString();
+      record("parse @" + annotation.getSimpleName(), className, mark);
+    }
+  }
+
+  /** Adds the time and allocation since {@code mark} to {@code phase} and to {@code className}. */
+  void record(String phase, String className, Mark mark) {
+    if (mark != null) {
+      long wallNanos = System.nanoTime() - mark.nanos;
+      long bytes = mark.bytes == -1 ? -1 : allocatedBytes() - mark.bytes;
+      stats(phases, phase).add(wallNanos, bytes);
+      ClassStats classStats = classes.get(className);
+      if (classStats == null) {
+        classStats = new ClassStats(className);
+        classes.put(className, classStats);
+      }
+      classStats.add(wallNanos, bytes);
+      stats(classStats.phases, phase).add(wallNanos, bytes);
+    }
+  }
+
+  private static Stats stats(Map<String, Stats> map, String name) {
+    Stats stats = map.get(name);
+    if (stats == null) {
+      stats = new Stats();
+      map.put(name, stats);
+    }
+    return stats;
+  }
+
+  /** Total wall time of every round so far, in milliseconds. */
+  double getTotalMillis() {
+    Stats round = phases.get("round");
+    return round != null ? round.wallNanos / 1e6 : 0;
+  }
+
+  /** Writes the report with the slowest target classes first. */
+  void writeJson(Writer writer) throws IOException {
+    List<ClassStats> sorted = new ArrayList<>(classes.values());
+    Collections.sort(sorted, new Comparator<ClassStats>() {
+      @Override public int compare(ClassStats left, ClassStats right) {
+        return left.wallNanos < right.wallNanos ? 1 : left.wallNanos > right.wallNanos ? -1 : 0;
+      }
+    });
+
+    writer.write("{\n");
+    writer.write("  \"rounds\": " + rounds + ",\n");
+    writer.write("  \"totalMillis\": " + millis(getTotalMillis()) + ",\n");
+    writer.write("  \"phases\": ");
+    writePhases(writer, phases, "  ");
+    writer.write(",\n  \"classes\": [");
+    for (int i = 0; i < sorted.size(); i++) {
+      ClassStats classStats = sorted.get(i);
+      writer.write(i == 0 ? "\n" : ",\n");
+      writer.write("    {\n");
+      writer.write("      \"name\": " + quote(classStats.name) + ",\n");
+      writer.write("      \"wallMillis\": " + millis(classStats.wallNanos / 1e6) + ",\n");
+      writer.write("      \"allocatedBytes\": " + classStats.bytes + ",\n");
+      writer.write("      \"phases\": ");
+      writePhases(writer, classStats.phases, "      ");
+      writer.write("\n    }");
+    }
+    writer.write(sorted.isEmpty() ? "]\n" : "\n  ]\n");
+    writer.write("}\n");
+  }
+
+  private static void writePhases(Writer writer, Map<String, Stats> phases, String indent)
+      throws IOException {
+    writer.write("{");
+    boolean first = true;
+    for (Map.Entry<String, Stats> entry : phases.entrySet()) {
+      Stats stats = entry.getValue();
+      writer.write(first ? "\n" : ",\n");
+      first = false;
+      writer.write(indent + "  " + quote(entry.getKey()) + ": {\"count\": " + stats.count
+          + ", \"wallMillis\": " + millis(stats.wallNanos / 1e6)
+          + ", \"allocatedBytes\": " + stats.bytes + "}");
+    }
+    writer.write(first ? "}" : "\n" + indent + "}");
+  }
+
+  private static String millis(double millis) {
+    return String.format(Locale.US, "%.3f", millis);
+  }
+
+  private static String quote(String value) {
+    StringBuilder builder = new StringBuilder("\"");
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        builder.append('\\').append(c);
+      } else if (c < 0x20) {
+        builder.append(String.format(Locale.US, "\\u%04x", (int) c));
+      } else {
+        builder.append(c);
+      }
+    }
+    return builder.append('"').toString();
+  }
+
+  /** Bytes allocated by this thread so far, or -1 where the JVM does not count them. */
+  private static long allocatedBytes() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+      if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+        return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    return -1;
+  }
+
+  static final class Mark {
+    final long nanos;
+    final long bytes;
+
+    Mark(long nanos, long bytes) {
+      this.nanos = nanos;
+      this.bytes = bytes;
+    }
+  }
+
+  private static class Stats {
+    int count;
+    long wallNanos;
+    long bytes;
+
+    void add(Mark mark) {
+      add(System.nanoTime() - mark.nanos, mark.bytes == -1 ? -1 : allocatedBytes() - mark.bytes);
+    }
+
+    void add(long wallNanos, long bytes) {
+      count++;
+      this.wallNanos += wallNanos;
+      // Once allocation could not be measured the total is unknown.
+      this.bytes = bytes == -1 || this.bytes == -1 ? -1 : this.bytes + bytes;
+    }
+  }
+
+  private static final class ClassStats extends Stats {
+    final String name;
+    final Map<String, Stats> phases = new LinkedHashMap<>();
+
+    ClassStats(String name) {
+      this.name = name;
+    }
+  }
+}
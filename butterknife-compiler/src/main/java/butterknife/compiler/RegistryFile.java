@@ -0,0 +1,290 @@
+package butterknife.compiler;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * The {@code butterknife.BindingRegistry} of a module, generated when the
+ * {@code butterknife.registry} option names it. It creates each binding with a plain constructor
+ * call rather than looking the binding up reflectively.
+ */
+final class RegistryFile {
+  private static final ClassName BINDING_REGISTRY =
+      ClassName.get("butterknife", "BindingRegistry");
+  private static final ClassName UNBINDER = ClassName.get("butterknife", "Unbinder");
+  private static final ClassName VIEW = ClassName.get("android.view", "View");
+  private static final ClassName LAYOUT_INFLATER = ClassName.get("android.view", "LayoutInflater");
+  private static final ClassName VIEW_GROUP = ClassName.get("android.view", "ViewGroup");
+  private static final ClassName CONTEXT = ClassName.get("android.content", "Context");
+  private static final ClassName AGGREGATE_REGISTRY =
+      ClassName.get("butterknife.internal", "AggregateRegistry");
+  private static final ClassName INDEX_FRAGMENT =
+      ClassName.get("butterknife.internal", "IndexFragment");
+  static final String INDEX_PACKAGE = "butterknife.index";
+  private static final TypeName CLASS_OF_ANY = ParameterizedTypeName.get(
+      ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class));
+  private static final TypeName INDEX_MAP = ParameterizedTypeName.get(
+      ClassName.get(Map.class), CLASS_OF_ANY, ClassName.get(Integer.class));
+
+  private final ClassName className;
+  private final List<Entry> entries = new ArrayList<>();
+
+  RegistryFile(ClassName className) {
+    this.className = className;
+  }
+
+  ClassName getClassName() {
+    return className;
+  }
+
+  /**
+   * Whether the registry can name {@code target}: it is in the registry's package or it and the
+   * classes enclosing it are all public.
+   */
+  boolean canReach(TypeElement target) {
+    Element element = target;
+    while (element.getKind() != ElementKind.PACKAGE) {
+      if (!element.getModifiers().contains(PUBLIC)) {
+        String packageName = ((PackageElement) packageOf(element)).getQualifiedName().toString();
+        return packageName.equals(className.packageName());
+      }
+      element = element.getEnclosingElement();
+    }
+    return true;
+  }
+
+  private static Element packageOf(Element element) {
+    while (element.getKind() != ElementKind.PACKAGE) {
+      element = element.getEnclosingElement();
+    }
+    return element;
+  }
+
+  void add(TypeElement target, BindingSet binding) {
+    entries.add(new Entry(ClassName.get(target), binding.getBindingClassName(),
+        binding.isActivity(), binding.hasResourceBindings()));
+  }
+
+  JavaFile brewJava() {
+    // Sorted so the registry only changes when its bindings do, whatever order rounds found them.
+    Collections.sort(entries, new Comparator<Entry>() {
+      @Override public int compare(Entry left, Entry right) {
+        return left.target.toString().compareTo(right.target.toString());
+      }
+    });
+
+    TypeSpec registry = TypeSpec.classBuilder(className.simpleName())
+        .addModifiers(PUBLIC, FINAL)
+        .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+            .addMember("value", "$S", "unchecked")
+            .build())
+        .addSuperinterface(BINDING_REGISTRY)
+        .addField(FieldSpec.builder(INDEX_MAP, "INDEX", PRIVATE, STATIC, FINAL)
+            .initializer("new $T<>()", HashMap.class)
+            .build())
+        .addStaticBlock(createIndex())
+        .addMethod(createIndexOfMethod())
+        .addMethod(createGetTargetClassesMethod())
+        .addMethod(createBindMethod())
+        .addMethod(createInflateMethod())
+        .addMethod(createBindResourcesMethod())
+        .build();
+    return JavaFile.builder(className.packageName(), registry)
+        .addFileComment("Generated code from Butter Knife. Do not modify!")
+        .build();
+  }
+
+  /**
+   * Each target is found with one lookup of its class, which gives the case of the target in the
+   * switch of every method.
+   */
+  private CodeBlock createIndex() {
+    CodeBlock.Builder index = CodeBlock.builder();
+    for (int i = 0; i < entries.size(); i++) {
+      index.addStatement("INDEX.put($T.class, $L)", entries.get(i).target, i);
+    }
+    return index.build();
+  }
+
+  private static MethodSpec createIndexOfMethod() {
+    return MethodSpec.methodBuilder("indexOf")
+        .addModifiers(PRIVATE, STATIC)
+        .returns(int.class)
+        .addParameter(CLASS_OF_ANY, "targetClass")
+        .addStatement("$T index = INDEX.get(targetClass)", Integer.class)
+        .addStatement("return index != null ? index : -1")
+        .build();
+  }
+
+  private MethodSpec createGetTargetClassesMethod() {
+    CodeBlock.Builder classes = CodeBlock.builder();
+    for (int i = 0; i < entries.size(); i++) {
+      classes.add(i == 0 ? "\n$T.class" : ",\n$T.class", entries.get(i).target);
+    }
+    return MethodSpec.methodBuilder("getTargetClasses")
+        .addAnnotation(Override.class)
+        .addModifiers(PUBLIC)
+        .returns(ArrayTypeName.of(CLASS_OF_ANY))
+        .addStatement("return new $T[] {$L}", CLASS_OF_ANY, classes.build())
+        .build();
+  }
+
+  /**
+   * The class the processor of an app module finds on its classpath to merge this registry into
+   * the app's index. Named after the registry so the fragments of two modules cannot clash.
+   */
+  JavaFile brewIndexFragment() {
+    TypeSpec fragment = TypeSpec.classBuilder(className.toString().replace('.', '_'))
+        .addModifiers(PUBLIC, FINAL)
+        .addAnnotation(AnnotationSpec.builder(INDEX_FRAGMENT)
+            .addMember("value", "$S", className.toString())
+            .build())
+        .build();
+    return JavaFile.builder(INDEX_PACKAGE, fragment)
+        .addFileComment("Generated code from Butter Knife. Do not modify!")
+        .build();
+  }
+
+  /**
+   * The index of an app module, which merges the registries of the modules it depends on with its
+   * own into one table.
+   *
+   * @param registries qualified names of the registries, in the order they are asked.
+   */
+  static JavaFile brewIndex(ClassName index, Collection<String> registries) {
+    CodeBlock.Builder arguments = CodeBlock.builder();
+    boolean first = true;
+    for (String registry : registries) {
+      arguments.add(first ? "\nnew $T()" : ",\nnew $T()", ClassName.bestGuess(registry));
+      first = false;
+    }
+    TypeSpec type = TypeSpec.classBuilder(index.simpleName())
+        .addModifiers(PUBLIC, FINAL)
+        .superclass(AGGREGATE_REGISTRY)
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(PUBLIC)
+            .addStatement("super($L)", arguments.build())
+            .build())
+        .build();
+    return JavaFile.builder(index.packageName(), type)
+        .addFileComment("Generated code from Butter Knife. Do not modify!")
+        .build();
+  }
+
+  private MethodSpec createBindMethod() {
+    MethodSpec.Builder result = MethodSpec.methodBuilder("bind")
+        .addAnnotation(Override.class)
+        .addModifiers(PUBLIC)
+        .returns(UNBINDER)
+        .addParameter(CLASS_OF_ANY, "targetClass")
+        .addParameter(Object.class, "target")
+        .addParameter(VIEW, "source");
+    result.beginControlFlow("switch (indexOf(targetClass))");
+    for (int i = 0; i < entries.size(); i++) {
+      Entry entry = entries.get(i);
+      result.addCode("case $L:\n$>", i);
+      if (entry.activity) {
+        result.addStatement("return new $T(($T) target, source, 0)", entry.binding, entry.target);
+      } else {
+        result.addStatement("return new $T(($T) target, source)", entry.binding, entry.target);
+      }
+      result.addCode("$<");
+    }
+    result.addCode("default:\n$>")
+        .addStatement("return null")
+        .addCode("$<");
+    return result.endControlFlow().build();
+  }
+
+  private MethodSpec createInflateMethod() {
+    MethodSpec.Builder result = MethodSpec.methodBuilder("inflate")
+        .addAnnotation(Override.class)
+        .addModifiers(PUBLIC)
+        .returns(UNBINDER)
+        .addParameter(CLASS_OF_ANY, "targetClass")
+        .addParameter(Object.class, "target")
+        .addParameter(LAYOUT_INFLATER, "inflater")
+        .addParameter(VIEW_GROUP, "container");
+    result.beginControlFlow("switch (indexOf(targetClass))");
+    for (int i = 0; i < entries.size(); i++) {
+      Entry entry = entries.get(i);
+      // Activities set their content view rather than inflating a layout of their own.
+      if (!entry.activity) {
+        result.addCode("case $L:\n$>", i);
+        result.addStatement("return new $T(($T) target, inflater, container, 0)", entry.binding,
+            entry.target);
+        result.addCode("$<");
+      }
+    }
+    result.addCode("default:\n$>")
+        .addStatement("return null")
+        .addCode("$<");
+    return result.endControlFlow().build();
+  }
+
+  private MethodSpec createBindResourcesMethod() {
+    MethodSpec.Builder result = MethodSpec.methodBuilder("bindResources")
+        .addAnnotation(Override.class)
+        .addModifiers(PUBLIC)
+        .addParameter(CLASS_OF_ANY, "targetClass")
+        .addParameter(Object.class, "target")
+        .addParameter(CONTEXT, "context");
+    CodeBlock.Builder cases = CodeBlock.builder();
+    boolean any = false;
+    for (int i = 0; i < entries.size(); i++) {
+      Entry entry = entries.get(i);
+      if (entry.resources) {
+        any = true;
+        cases.add("case $L:\n$>", i)
+            .addStatement("$T.bindResources(($T) target, context)", entry.binding, entry.target)
+            .addStatement("break")
+            .add("$<");
+      }
+    }
+    if (any) {
+      result.beginControlFlow("switch (indexOf(targetClass))")
+          .addCode(cases.build())
+          .endControlFlow();
+    }
+    return result.build();
+  }
+
+  private static final class Entry {
+    final ClassName target;
+    final ClassName binding;
+    final boolean activity;
+    final boolean resources;
+
+    Entry(ClassName target, ClassName binding, boolean activity, boolean resources) {
+      this.target = target;
+      this.binding = binding;
+      this.activity = activity;
+      this.resources = resources;
+    }
+  }
+}
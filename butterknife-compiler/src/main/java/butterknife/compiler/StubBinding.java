@@ -0,0 +1,167 @@
+package butterknife.compiler;
+
+import butterknife.internal.ListenerClass;
+import butterknife.internal.ListenerMethod;
+import com.google.common.collect.ImmutableList;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/** The bindings of views inside a {@code ViewStub}'s layout, bound when the stub inflates. */
+final class StubBinding {
+  static final ClassName LAZY_STUB = ClassName.get("butterknife", "LazyStub");
+  static final ClassName VIEW_STUB = ClassName.get("android.view", "ViewStub");
+
+  private final Id id;
+  private final String fieldName;
+  private final TypeName viewType;
+  private final boolean fieldRequired;
+  private final ImmutableList<ViewBinding> viewBindings;
+  private final ImmutableList<FieldCollectionViewBinding> collectionBindings;
+
+  private StubBinding(Id id, String fieldName, TypeName viewType, boolean fieldRequired,
+      ImmutableList<ViewBinding> viewBindings,
+      ImmutableList<FieldCollectionViewBinding> collectionBindings) {
+    this.id = id;
+    this.fieldName = fieldName;
+    this.viewType = viewType;
+    this.fieldRequired = fieldRequired;
+    this.viewBindings = viewBindings;
+    this.collectionBindings = collectionBindings;
+  }
+
+  Id getId() {
+    return id;
+  }
+
+  /** The {@code LazyStub} field on the target, or null when only views inside it are bound. */
+  String getFieldName() {
+    return fieldName;
+  }
+
+  /** The raw type of the stub's layout root. */
+  ClassName getViewType() {
+    if (viewType instanceof ParameterizedTypeName) {
+      return ((ParameterizedTypeName) viewType).rawType;
+    }
+    return (ClassName) viewType;
+  }
+
+  TypeName getLazyStubType() {
+    return ParameterizedTypeName.get(LAZY_STUB, viewType);
+  }
+
+  ImmutableList<ViewBinding> getViewBindings() {
+    return viewBindings;
+  }
+
+  ImmutableList<FieldCollectionViewBinding> getCollectionBindings() {
+    return collectionBindings;
+  }
+
+  /** Whether a missing stub is an error, which it is unless every binding using it is optional. */
+  boolean isRequired() {
+    if (fieldName != null) {
+      return fieldRequired;
+    }
+    for (ViewBinding binding : viewBindings) {
+      if (!binding.getRequiredBindings().isEmpty()) {
+        return true;
+      }
+    }
+    for (FieldCollectionViewBinding binding : collectionBindings) {
+      if (binding.isRequired()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  String getDescription() {
+    if (fieldName != null) {
+      return "field '" + fieldName + "'";
+    }
+    Set<MemberViewBinding> members = new LinkedHashSet<>();
+    for (ViewBinding binding : viewBindings) {
+      if (binding.getFieldBinding() != null) {
+        members.add(binding.getFieldBinding());
+      }
+      members.addAll(binding.getRequiredBindings());
+    }
+    if (members.isEmpty()) {
+      return "field '" + collectionBindings.get(0).name + "'";
+    }
+    return "stub for " + BindingSet.asHumanDescription(members);
+  }
+
+  static final class Builder {
+    private final Id id;
+    private String fieldName;
+    private TypeName viewType = ClassName.get("android.view", "View");
+    private boolean fieldRequired;
+    private final List<ViewBinding.Builder> viewBindings = new ArrayList<>();
+    private final ImmutableList.Builder<FieldCollectionViewBinding> collectionBindings =
+        ImmutableList.builder();
+
+    Builder(Id id) {
+      this.id = id;
+    }
+
+    boolean hasField() {
+      return fieldName != null;
+    }
+
+    void setField(String fieldName, TypeName viewType, boolean required) {
+      this.fieldName = fieldName;
+      this.viewType = viewType;
+      this.fieldRequired = required;
+    }
+
+    void addField(Id id, FieldViewBinding binding) {
+      createViewBindings(id).setFieldBinding(binding);
+    }
+
+    void addFieldCollection(FieldCollectionViewBinding binding) {
+      collectionBindings.add(binding);
+    }
+
+    boolean addMethod(Id id, ListenerClass listener, ListenerMethod method,
+        MethodViewBinding binding) {
+      ViewBinding.Builder viewBinding = getOrCreateMethodViewBindings(id);
+      if (viewBinding.hasMethodBinding(listener, method) && !"void".equals(method.returnType())) {
+        return false;
+      }
+      viewBinding.addMethodBinding(listener, method, binding);
+      return true;
+    }
+
+    /** Every listener of a view shares one binding so the view is looked up and kept once. */
+    private ViewBinding.Builder getOrCreateMethodViewBindings(Id id) {
+      for (ViewBinding.Builder viewBinding : viewBindings) {
+        if (viewBinding.isRootLookupOf(id)) {
+          return viewBinding;
+        }
+      }
+      return createViewBindings(id);
+    }
+
+    private ViewBinding.Builder createViewBindings(Id id) {
+      ViewBinding.Builder viewBinding = new ViewBinding.Builder(id);
+      viewBindings.add(viewBinding);
+      return viewBinding;
+    }
+
+    StubBinding build() {
+      ImmutableList.Builder<ViewBinding> viewBindings = ImmutableList.builder();
+      for (ViewBinding.Builder builder : this.viewBindings) {
+        viewBindings.add(builder.build());
+      }
+      return new StubBinding(id, fieldName, viewType, fieldRequired, viewBindings.build(),
+          collectionBindings.build());
+    }
+  }
+}
@@ -79,6 +79,12 @@ final class ViewBinding {
       this.id = id;
     }
 
+    /** True when this binding looks {@code id} up from the root so its listeners can share it. */
+    public boolean isRootLookupOf(Id id) {
+      return this.id.equals(id)
+          && (fieldBinding == null || fieldBinding.getParentPath().isEmpty());
+    }
+
     public boolean hasMethodBinding(ListenerClass listener, ListenerMethod method) {
       Map<ListenerMethod, Set<MethodViewBinding>> methods = methodBindings.get(listener);
       return methods != null && methods.containsKey(method);
@@ -0,0 +1,55 @@
+package butterknife;
+
+import android.content.Context;
+import android.support.annotation.AnyThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Creates the bindings of one module without reflection. Generated by the processor when the
+ * {@code butterknife.registry} option names the class to generate, and registered at startup:
+ * <pre><code>
+ * ButterKnife.addRegistry(new AppBindings());
+ * </code></pre>
+ * Bindings created through a registry are not looked up reflectively. Targets which are not
+ * public are left out of a registry in another package and are still found reflectively.
+ * <p>
+ * Each method only answers for {@code targetClass} itself. {@link ButterKnife} walks up the
+ * superclasses of a target to the nearest one with a binding of its own, whether a registry knows
+ * it or its binding class is found reflectively. An app with several modules can
+ * merge the registries of all of them into one index with the {@code butterknife.index} option.
+ */
+public interface BindingRegistry {
+    /**
+     * The classes this registry has bindings for. Read once when the registry is added, to build
+     * the table {@link ButterKnife} resolves targets with.
+     */
+    @NonNull
+    Class<?>[] getTargetClasses();
+
+    /**
+     * Binds {@code target} to the views under {@code source}, or returns null if this registry
+     * does not have the binding of {@code targetClass}.
+     */
+    @Nullable
+    @UiThread
+    Unbinder bind(@NonNull Class<?> targetClass, @NonNull Object target, @NonNull View source);
+
+    /**
+     * Binds {@code target} to a layout inflated by the binding, or returns null if this registry
+     * does not have such a binding of {@code targetClass}.
+     */
+    @Nullable
+    @UiThread
+    Unbinder inflate(@NonNull Class<?> targetClass, @NonNull Object target,
+                     @NonNull LayoutInflater inflater, @Nullable ViewGroup container);
+
+    /** Binds the resource fields {@code targetClass} declares, if it has any. */
+    @AnyThread
+    void bindResources(@NonNull Class<?> targetClass, @NonNull Object target,
+                       @NonNull Context context);
+}
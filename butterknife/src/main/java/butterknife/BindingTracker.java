@@ -0,0 +1,314 @@
+package butterknife;
+
+import android.annotation.TargetApi;
+import android.app.Activity;
+import android.os.Build;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+import android.support.v4.app.Fragment;
+import android.view.View;
+import android.view.ViewGroup;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opt-in accounting of the bindings created by {@link ButterKnife}, to find bindings which are
+ * never unbound.
+ * <p>
+ * Every binding is recorded through weak references so tracking never keeps a binding, its target
+ * or its views alive. Records of bindings which have been garbage collected are dropped by a
+ * background thread. A binding is reported as leaked when it is still bound although its target is
+ * an activity which has been destroyed or a fragment whose view has been destroyed.
+ * <pre><code>
+ * BindingTracker.setEnabled(BuildConfig.DEBUG);
+ * // Later, for example from a debug menu:
+ * Log.d("Bindings", BindingTracker.snapshot().toString());
+ * </code></pre>
+ */
+public final class BindingTracker {
+    private static final ReferenceQueue<Unbinder> QUEUE = new ReferenceQueue<>();
+    /** Records of bindings which have not been collected yet. Guarded by itself. */
+    private static final List<Record> RECORDS = new ArrayList<>();
+
+    private static volatile boolean enabled;
+    private static Thread reaper;
+
+    /**
+     * Control whether bindings created from now on are tracked. Bindings already tracked stay in
+     * the snapshot until they are collected.
+     */
+    public static synchronized void setEnabled(boolean enabled) {
+        BindingTracker.enabled = enabled;
+        if (enabled && reaper == null) {
+            reaper = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    reap();
+                }
+            }, "ButterKnife-BindingTracker");
+            reaper.setDaemon(true);
+            reaper.start();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Record a binding just created for {@code target} with the views under {@code source}. Returns
+     * the unbinder to hand to the caller, which records when the binding is unbound.
+     */
+    @UiThread
+    static Unbinder track(Object target, @Nullable View source, Unbinder unbinder) {
+        if (!enabled || unbinder == Unbinder.EMPTY) {
+            return unbinder;
+        }
+        final Record record = new Record(unbinder, target, source);
+        synchronized (RECORDS) {
+            RECORDS.add(record);
+        }
+        return new TrackingUnbinder(unbinder, record);
+    }
+
+    /**
+     * Returns counts of the tracked bindings which have not been collected yet, per target class.
+     * Walks the hierarchies of bindings which are still bound to estimate what they retain, so this
+     * has to be called on the main thread.
+     */
+    @NonNull
+    @UiThread
+    public static Snapshot snapshot() {
+        List<Record> records;
+        synchronized (RECORDS) {
+            records = new ArrayList<>(RECORDS);
+        }
+        Map<Class<?>, ClassStats> stats = new LinkedHashMap<>();
+        long now = SystemClock.uptimeMillis();
+        for (Record record : records) {
+            if (record.get() == null) {
+                // Collected but not yet reaped.
+                continue;
+            }
+            ClassStats classStats = stats.get(record.targetClass);
+            if (classStats == null) {
+                classStats = new ClassStats(record.targetClass);
+                stats.put(record.targetClass, classStats);
+            }
+            classStats.liveCount++;
+            classStats.oldestAgeMillis =
+                    Math.max(classStats.oldestAgeMillis, now - record.createdUptimeMillis);
+            if (record.unbound) {
+                continue;
+            }
+            classStats.boundCount++;
+            View source = record.source.get();
+            if (source != null) {
+                classStats.retainedViewCount += countViews(source);
+            }
+            if (record.isLeaked()) {
+                classStats.leakedCount++;
+            }
+        }
+        return new Snapshot(new ArrayList<>(stats.values()));
+    }
+
+    private static int countViews(View view) {
+        int count = 1;
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0, size = group.getChildCount(); i < size; i++) {
+                count += countViews(group.getChildAt(i));
+            }
+        }
+        return count;
+    }
+
+    private static void reap() {
+        while (true) {
+            Reference<? extends Unbinder> reference;
+            try {
+                reference = QUEUE.remove();
+            } catch (InterruptedException e) {
+                return;
+            }
+            synchronized (RECORDS) {
+                RECORDS.remove(reference);
+            }
+        }
+    }
+
+    /** Tracked bindings of one target class. */
+    public static final class ClassStats {
+        private final Class<?> targetClass;
+        int liveCount;
+        int boundCount;
+        int leakedCount;
+        int retainedViewCount;
+        long oldestAgeMillis;
+
+        ClassStats(Class<?> targetClass) {
+            this.targetClass = targetClass;
+        }
+
+        @NonNull
+        public Class<?> getTargetClass() {
+            return targetClass;
+        }
+
+        /** Bindings which have not been garbage collected, whether or not they were unbound. */
+        public int getLiveCount() {
+            return liveCount;
+        }
+
+        /** Live bindings which have not been unbound. */
+        public int getBoundCount() {
+            return boundCount;
+        }
+
+        /** Bound bindings whose target's activity or fragment view has been destroyed. */
+        public int getLeakedCount() {
+            return leakedCount;
+        }
+
+        /** Number of views in the hierarchies of the bound bindings. */
+        public int getRetainedViewCount() {
+            return retainedViewCount;
+        }
+
+        /** Milliseconds since the oldest live binding was created. */
+        public long getOldestAgeMillis() {
+            return oldestAgeMillis;
+        }
+
+        @Override
+        public String toString() {
+            return targetClass.getName()
+                    + ": live=" + liveCount
+                    + ", bound=" + boundCount
+                    + ", leaked=" + leakedCount
+                    + ", retainedViews=" + retainedViewCount
+                    + ", oldestAgeMs=" + oldestAgeMillis;
+        }
+    }
+
+    /** Counts of tracked bindings at the time {@link #snapshot()} was called. */
+    public static final class Snapshot {
+        private final List<ClassStats> classes;
+
+        Snapshot(List<ClassStats> classes) {
+            this.classes = Collections.unmodifiableList(classes);
+        }
+
+        /** Per target class, in the order the classes were first bound. */
+        @NonNull
+        public List<ClassStats> getClasses() {
+            return classes;
+        }
+
+        public int getLiveCount() {
+            int count = 0;
+            for (ClassStats stats : classes) {
+                count += stats.liveCount;
+            }
+            return count;
+        }
+
+        public int getLeakedCount() {
+            int count = 0;
+            for (ClassStats stats : classes) {
+                count += stats.leakedCount;
+            }
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder("Bindings: live=")
+                    .append(getLiveCount())
+                    .append(", leaked=")
+                    .append(getLeakedCount());
+            for (ClassStats stats : classes) {
+                builder.append("\n  ").append(stats);
+            }
+            return builder.toString();
+        }
+    }
+
+    private static final class Record extends WeakReference<Unbinder> {
+        final Class<?> targetClass;
+        final WeakReference<Object> target;
+        final WeakReference<View> source;
+        final long createdUptimeMillis = SystemClock.uptimeMillis();
+        volatile boolean unbound;
+
+        Record(Unbinder unbinder, Object target, View source) {
+            super(unbinder, QUEUE);
+            this.targetClass = target.getClass();
+            this.target = new WeakReference<>(target);
+            this.source = new WeakReference<>(source);
+        }
+
+        @UiThread
+        boolean isLeaked() {
+            Object target = this.target.get();
+            if (target instanceof Activity) {
+                return isDestroyed((Activity) target);
+            }
+            if (target instanceof Fragment) {
+                // The fragment has moved on to a new view or has none while on the back stack.
+                View source = this.source.get();
+                return source != null
+                        && ((Fragment) target).getView() != source
+                        && source.getWindowToken() == null;
+            }
+            return false;
+        }
+
+        private static boolean isDestroyed(Activity activity) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+                return isDestroyedApi17(activity);
+            }
+            // The closest approximation available before API 17.
+            return activity.isFinishing();
+        }
+
+        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+        private static boolean isDestroyedApi17(Activity activity) {
+            return activity.isDestroyed();
+        }
+    }
+
+    private static final class TrackingUnbinder implements Unbinder {
+        private final Unbinder unbinder;
+        private final Record record;
+
+        TrackingUnbinder(Unbinder unbinder, Record record) {
+            this.unbinder = unbinder;
+            this.record = record;
+        }
+
+        @Override
+        public void unbind() {
+            unbinder.unbind();
+            record.unbound = true;
+        }
+
+        @Override
+        public Object getLayout() {
+            return unbinder.getLayout();
+        }
+    }
+
+    private BindingTracker() {
+        throw new AssertionError("No instances.");
+    }
+}
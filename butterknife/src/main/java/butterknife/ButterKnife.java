@@ -1,24 +1,41 @@
 package butterknife;
 
+import android.annotation.TargetApi;
 import android.app.Activity;
 import android.app.Dialog;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.CheckResult;
 import android.support.annotation.IdRes;
+import android.support.annotation.LayoutRes;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.UiThread;
 import android.support.annotation.VisibleForTesting;
 import android.support.v4.app.Fragment;
 import android.util.Log;
+import android.util.Property;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
+import butterknife.internal.AggregateRegistry;
+import butterknife.internal.DispatchChannel;
+import butterknife.internal.MissingViewCache;
+import butterknife.internal.Tracing;
+import butterknife.internal.Utils;
+
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Field and method binding for Android views. Use this class to simplify finding views and
@@ -74,11 +91,92 @@ public final class ButterKnife {
         throw new AssertionError("No instances.");
     }
 
+    /**
+     * An action that can be applied to a list of views.
+     */
+    public interface Action<T extends View> {
+        /**
+         * Apply the action on the {@code view} which is at {@code index} in the list.
+         */
+        @UiThread
+        void apply(@NonNull T view, int index);
+    }
+
+    /**
+     * A setter that can apply a value to a list of views.
+     */
+    public interface Setter<T extends View, V> {
+        /**
+         * Set the {@code value} on the {@code view} which is at {@code index} in the list.
+         */
+        @UiThread
+        void set(@NonNull T view, V value, int index);
+    }
+
+    /**
+     * A {@link Setter} which can read the value back, so that applying a value across views skips
+     * the views which already have it.
+     */
+    public interface ReadableSetter<T extends View, V> extends Setter<T, V> {
+        /**
+         * Returns the value of the {@code view}.
+         */
+        @UiThread
+        V get(@NonNull T view);
+    }
+
+    /**
+     * Enables or disables a view. Views which already have the requested state are left alone.
+     */
+    public static final Setter<View, Boolean> ENABLED = new ReadableSetter<View, Boolean>() {
+        @Override
+        public Boolean get(@NonNull View view) {
+            return view.isEnabled();
+        }
+
+        @Override
+        public void set(@NonNull View view, Boolean value, int index) {
+            if (view.isEnabled() != value) {
+                view.setEnabled(value);
+            }
+        }
+    };
+
+    /**
+     * Changes the visibility of a view. Views which already have the requested visibility are left
+     * alone so that they do not request a new layout.
+     */
+    public static final Setter<View, Integer> VISIBILITY = new ReadableSetter<View, Integer>() {
+        @Override
+        public Integer get(@NonNull View view) {
+            return view.getVisibility();
+        }
+
+        @Override
+        public void set(@NonNull View view, Integer value, int index) {
+            if (view.getVisibility() != value) {
+                view.setVisibility(value);
+            }
+        }
+    };
+
     private static final String TAG = "ButterKnife";
     private static boolean debug = false;
+    private static boolean viewIndexEnabled = false;
 
     @VisibleForTesting
     static final Map<Class<?>, Constructor<? extends Unbinder>> BINDINGS = new LinkedHashMap<>();
+    /** Whether each class has a generated binding class, once a registry made it worth asking. */
+    @VisibleForTesting
+    static final Map<Class<?>, Boolean> BINDING_CLASSES = new LinkedHashMap<>();
+    @VisibleForTesting
+    static final Map<Class<?>, Method[]> RESOURCE_BINDERS = new LinkedHashMap<>();
+    private static final Handler MAIN_THREAD = new Handler(Looper.getMainLooper());
+    /**
+     * The registry of each target class registries know. Replaced rather than changed when a
+     * registry is added, since split binds read it on their executor.
+     */
+    private static volatile Map<Class<?>, BindingRegistry> registries = Collections.emptyMap();
 
     /**
      * Control whether debug logging is enabled.
@@ -87,6 +185,91 @@ public final class ButterKnife {
         ButterKnife.debug = debug;
     }
 
+    /**
+     * Control whether finding the binding class of a target shows up as a systrace section. The
+     * phases of the bindings themselves are traced when they are generated with the
+     * {@code butterknife.trace} processor option, which release builds should leave off.
+     */
+    public static void setTracingEnabled(boolean enabled) {
+        Tracing.setEnabled(enabled);
+    }
+
+    /**
+     * Control whether bindings which inflate their own layout remember which optional views the
+     * layout lacks, so later binds of the same layout in the same configuration skip looking for
+     * them. Enabled by default.
+     */
+    public static void setMissingViewMemoEnabled(boolean enabled) {
+        MissingViewCache.setEnabled(enabled);
+    }
+
+    /**
+     * Forget which optional views were missing from {@code layoutId}. Call this when the views the
+     * layout produces change without its configuration changing, such as when a custom view inside
+     * it only adds some children in certain states.
+     */
+    public static void forgetMissingViews(@LayoutRes int layoutId) {
+        MissingViewCache.invalidate(layoutId);
+    }
+
+    /**
+     * Register the executor that listener methods dispatched to {@code name} are called on, such
+     * as {@code @OnClick(value = R.id.save, dispatch = "io")}. Registering
+     * {@link Dispatch#BACKGROUND} replaces the default pool of background threads. Passing null
+     * removes the executor.
+     */
+    public static void setExecutor(@NonNull String name, @Nullable Executor executor) {
+        DispatchChannel.setExecutor(name, executor);
+    }
+
+    /**
+     * Create the bindings of the targets {@code registry} knows through it rather than finding
+     * their binding classes reflectively. A target known to several registries is bound by the one
+     * added first. The registries merged into an index generated with the
+     * {@code butterknife.index} option are added one by one, so any target of the app is resolved
+     * with a single lookup.
+     */
+    public static synchronized void addRegistry(@NonNull BindingRegistry registry) {
+        Map<Class<?>, BindingRegistry> updated = new HashMap<>(registries);
+        addTargets(updated, registry);
+        registries = updated;
+    }
+
+    private static void addTargets(Map<Class<?>, BindingRegistry> table,
+                                   BindingRegistry registry) {
+        if (registry instanceof AggregateRegistry) {
+            for (BindingRegistry merged : ((AggregateRegistry) registry).getRegistries()) {
+                addTargets(table, merged);
+            }
+            return;
+        }
+        for (Class<?> targetClass : registry.getTargetClasses()) {
+            if (!table.containsKey(targetClass)) {
+                table.put(targetClass, registry);
+            }
+        }
+    }
+
+    /**
+     * Control whether binds against a view share a {@link ViewIndex} of the hierarchy the view is
+     * in. Worth enabling when one window is bound by several targets, such as an activity and the
+     * presenters of its sections.
+     */
+    @UiThread
+    public static void setViewIndexEnabled(boolean enabled) {
+        viewIndexEnabled = enabled;
+    }
+
+    /**
+     * Returns the index shared by binds inside the hierarchy of {@code view} to inspect its
+     * counters, or null if nothing has been bound there with the index enabled.
+     */
+    @Nullable
+    @UiThread
+    public static ViewIndex getViewIndex(@NonNull View view) {
+        return ViewIndex.peek(view);
+    }
+
     /**
      * BindView annotated fields and methods in the specified {@link Activity}. The current content
      * view is used as the view root.
@@ -119,8 +302,69 @@ public final class ButterKnife {
     public static View bind(@NonNull Fragment target, @NonNull LayoutInflater inflater, @NonNull ViewGroup container) {
         return (View) createFragmentBinding(target, inflater, container).getLayout();
     }
+    /**
+     * Like {@link #bind(Activity)} but unbinds automatically once {@code target} is destroyed. The
+     * returned unbinder may still be used to unbind earlier. Before API 14 the binding is not
+     * unbound automatically.
+     */
+    @NonNull
+    @UiThread
+    public static Unbinder bindUntilDestroyed(@NonNull Activity target) {
+        Unbinder unbinder = bind(target);
+        if (unbinder == Unbinder.EMPTY) {
+            return unbinder;
+        }
+        return LifecycleUnbinder.untilDestroyed(target, unbinder);
+    }
+
+    /**
+     * Like {@link #bind(Object, View)} for a fragment and the view it created, but unbinds
+     * automatically once the fragment's view is destroyed so that the binding no longer holds the
+     * old hierarchy while the fragment sits on the back stack. Call from
+     * {@code onViewCreated}.
+     */
+    @NonNull
+    @UiThread
+    public static Unbinder bindUntilViewDestroyed(@NonNull Fragment target, @NonNull View source) {
+        Unbinder unbinder = bind(target, source);
+        if (unbinder == Unbinder.EMPTY) {
+            return unbinder;
+        }
+        return LifecycleUnbinder.untilViewDestroyed(target, unbinder);
+    }
+
+    /**
+     * Like {@link #bind(Fragment, LayoutInflater, ViewGroup)} but unbinds automatically once the
+     * fragment's view is destroyed. Call from {@code onCreateView} and return the view.
+     */
+    @NonNull
+    @UiThread
+    public static View bindUntilViewDestroyed(@NonNull Fragment target,
+                                              @NonNull LayoutInflater inflater,
+                                              @NonNull ViewGroup container) {
+        Unbinder unbinder = createFragmentBinding(target, inflater, container);
+        View view = (View) unbinder.getLayout();
+        if (unbinder != Unbinder.EMPTY) {
+            LifecycleUnbinder.untilViewDestroyed(target, unbinder);
+        }
+        return view;
+    }
+
     private static Unbinder createFragmentBinding(@NonNull Object target, LayoutInflater inflater, ViewGroup container) {
-        Constructor<? extends Unbinder> constructor = findBindingConstructorForClass(target,false);
+        Class<?> boundClass = findBoundClass(target.getClass());
+        if (boundClass == null) {
+            return Unbinder.EMPTY;
+        }
+        BindingRegistry registry = registries.get(boundClass);
+        if (registry != null) {
+            Unbinder registered = registry.inflate(boundClass, target, inflater, container);
+            if (registered == null) {
+                return Unbinder.EMPTY;
+            }
+            return BindingTracker.track(target, (View) registered.getLayout(), registered);
+        }
+        Constructor<? extends Unbinder> constructor =
+                findBindingConstructorForClass(boundClass, target, false);
 
         if (constructor == null) {
             return Unbinder.EMPTY;
@@ -128,7 +372,8 @@ public final class ButterKnife {
 
         //noinspection TryWithIdenticalCatches Resolves to API 19+ only type.
         try {
-            return constructor.newInstance(target, inflater,container,0);
+            Unbinder unbinder = constructor.newInstance(target, inflater,container,0);
+            return BindingTracker.track(target, (View) unbinder.getLayout(), unbinder);
         } catch (IllegalAccessException e) {
             throw new RuntimeException("Unable to invoke " + constructor, e);
         } catch (InstantiationException e) {
@@ -145,18 +390,34 @@ public final class ButterKnife {
         }
     }
     private static Unbinder createBinding(@NonNull Object target, @NonNull View source) {
-        Constructor<? extends Unbinder> constructor = findBindingConstructorForClass(target,true);
-
-        if (constructor == null) {
+        Class<?> boundClass = findBoundClass(target.getClass());
+        if (boundClass == null) {
             return Unbinder.EMPTY;
         }
+        BindingRegistry registry = registries.get(boundClass);
+        Constructor<? extends Unbinder> constructor = null;
+        if (registry == null) {
+            constructor = findBindingConstructorForClass(boundClass, target, true);
+            if (constructor == null) {
+                return Unbinder.EMPTY;
+            }
+        }
 
+        // Lookups made by the binding constructors are answered from the root's shared index.
+        ViewIndex previous = ViewIndex.enter(viewIndexEnabled ? ViewIndex.of(source) : null);
         //noinspection TryWithIdenticalCatches Resolves to API 19+ only type.
         try {
+            if (registry != null) {
+                Unbinder unbinder = registry.bind(boundClass, target, source);
+                return BindingTracker.track(target, source,
+                        unbinder != null ? unbinder : Unbinder.EMPTY);
+            }
             if(target instanceof Activity)
-                return constructor.newInstance(target, source,0);
+                return BindingTracker.track(target, source,
+                        constructor.newInstance(target, source,0));
             else
-                return constructor.newInstance(target, source);//oldFragment
+                return BindingTracker.track(target, source,
+                        constructor.newInstance(target, source));//oldFragment
         } catch (IllegalAccessException e) {
             throw new RuntimeException("Unable to invoke " + constructor, e);
         } catch (InstantiationException e) {
@@ -170,13 +431,56 @@ public final class ButterKnife {
                 throw (Error) cause;
             }
             throw new RuntimeException("Unable to create binding instance.", cause);
+        } finally {
+            ViewIndex.enter(previous);
         }
     }
+    /**
+     * Returns the nearest class from {@code cls} up which has a binding of its own, in a registry
+     * or as a generated binding class, or null if none has. A subclass a registry left out is still
+     * bound by its own binding class rather than by the binding of a registered superclass.
+     * Without registries the reflective lookup walks the superclasses itself.
+     */
+    @Nullable
+    @UiThread
+    private static Class<?> findBoundClass(Class<?> cls) {
+        Map<Class<?>, BindingRegistry> registries = ButterKnife.registries;
+        if (registries.isEmpty()) {
+            return cls;
+        }
+        for (Class<?> c = cls; c != null && !isFrameworkClass(c); c = c.getSuperclass()) {
+            if (registries.containsKey(c) || hasBindingClass(c)) {
+                return c;
+            }
+        }
+        return null;
+    }
+
+    @UiThread
+    private static boolean hasBindingClass(Class<?> cls) {
+        Boolean found = BINDING_CLASSES.get(cls);
+        if (found == null) {
+            try {
+                cls.getClassLoader().loadClass(cls.getName() + "_ViewBinding");
+                found = true;
+            } catch (ClassNotFoundException e) {
+                found = false;
+            }
+            BINDING_CLASSES.put(cls, found);
+        }
+        return found;
+    }
+
+    private static boolean isFrameworkClass(Class<?> cls) {
+        String clsName = cls.getName();
+        return clsName.startsWith("android.") || clsName.startsWith("java.");
+    }
+
     @Nullable
     @CheckResult
     @UiThread
-    private static Constructor<? extends Unbinder> findBindingConstructorForClass(Object target,boolean oldFragment) {
-        Class<?> cls = target.getClass();
+    private static Constructor<? extends Unbinder> findBindingConstructorForClass(Class<?> cls,
+            Object target, boolean oldFragment) {
         Constructor<? extends Unbinder> bindingCtor = BINDINGS.get(cls);
         if (bindingCtor != null) {
             if (debug) Log.d(TAG, "HIT: Cached in binding map.");
@@ -187,6 +491,10 @@ public final class ButterKnife {
             if (debug) Log.d(TAG, "MISS: Reached framework class. Abandoning search.");
             return null;
         }
+        boolean tracing = Tracing.isEnabled();
+        if (tracing) {
+            Tracing.beginSection("ButterKnife:find binding " + cls.getSimpleName());
+        }
         try {
             Class<?> bindingClass = cls.getClassLoader().loadClass(clsName + "_ViewBinding");
             if(target instanceof Activity)
@@ -205,13 +513,360 @@ public final class ButterKnife {
             if (debug) Log.d(TAG, "HIT: Loaded binding class and constructor.");
         } catch (ClassNotFoundException e) {
             if (debug) Log.d(TAG, "Not found. Trying superclass " + cls.getSuperclass().getName());
-            bindingCtor = findBindingConstructorForClass(target,oldFragment);
+            bindingCtor = findBindingConstructorForClass(cls.getSuperclass(), target, oldFragment);
         } catch (NoSuchMethodException e) {
             throw new RuntimeException("Unable to find binding constructor for " + clsName , e);
+        } finally {
+            if (tracing) {
+                Tracing.endSection();
+            }
         }
         BINDINGS.put(cls, bindingCtor);
         return bindingCtor;
     }
+
+    /**
+     * Like {@link #bind(Activity)} except that resource fields are resolved on {@code executor}
+     * instead of the main thread. Views and listeners are bound before this method returns but
+     * resource fields must not be read until {@code callback} has run on the main thread.
+     *
+     * @param target Target activity for view binding.
+     * @param executor Executor on which resource fields are resolved.
+     * @param callback Optional callback posted to the main thread once resources are bound.
+     */
+    @NonNull
+    @UiThread
+    public static Unbinder bindSplit(@NonNull Activity target, @NonNull Executor executor,
+                                     @Nullable Runnable callback) {
+        Unbinder unbinder;
+        Utils.setResourceBindingDeferred(true);
+        try {
+            unbinder = bind(target);
+        } finally {
+            Utils.setResourceBindingDeferred(false);
+        }
+        bindResourcesOn(executor, target, target, callback);
+        return unbinder;
+    }
+
+    /**
+     * Like {@link #bind(Object, View)} except that resource fields are resolved on
+     * {@code executor} instead of the main thread. Views and listeners are bound before this method
+     * returns but resource fields must not be read until {@code callback} has run on the main
+     * thread.
+     *
+     * @param target Target class for view binding.
+     * @param source View root on which IDs will be looked up.
+     * @param executor Executor on which resource fields are resolved.
+     * @param callback Optional callback posted to the main thread once resources are bound.
+     */
+    @NonNull
+    @UiThread
+    public static Unbinder bindSplit(@NonNull Object target, @NonNull View source,
+                                     @NonNull Executor executor, @Nullable Runnable callback) {
+        Unbinder unbinder;
+        Utils.setResourceBindingDeferred(true);
+        try {
+            unbinder = bind(target, source);
+        } finally {
+            Utils.setResourceBindingDeferred(false);
+        }
+        bindResourcesOn(executor, target, source.getContext(), callback);
+        return unbinder;
+    }
+
+    /**
+     * Like {@link #bind(Fragment, LayoutInflater, ViewGroup)} except that resource fields are
+     * resolved on {@code executor} instead of the main thread. Views and listeners are bound before
+     * this method returns but resource fields must not be read until {@code callback} has run on
+     * the main thread.
+     */
+    @NonNull
+    @UiThread
+    public static View bindSplit(@NonNull Fragment target, @NonNull LayoutInflater inflater,
+                                 @NonNull ViewGroup container, @NonNull Executor executor,
+                                 @Nullable Runnable callback) {
+        View view;
+        Utils.setResourceBindingDeferred(true);
+        try {
+            view = bind(target, inflater, container);
+        } finally {
+            Utils.setResourceBindingDeferred(false);
+        }
+        bindResourcesOn(executor, target, inflater.getContext(), callback);
+        return view;
+    }
+
+    private static void bindResourcesOn(Executor executor, final Object target,
+                                        final Context context, final Runnable callback) {
+        if (!registries.isEmpty()) {
+            bindResourcesFromRegistriesOn(executor, target, context, callback);
+            return;
+        }
+        final Method[] binders = findResourceBindersForClass(target.getClass());
+        if (binders.length == 0) {
+            if (callback != null) MAIN_THREAD.post(callback);
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    for (Method binder : binders) {
+                        binder.invoke(null, target, context);
+                    }
+                } catch (IllegalAccessException e) {
+                    rethrowOnMainThread(
+                            new RuntimeException("Unable to invoke resource binding.", e));
+                    return;
+                } catch (InvocationTargetException e) {
+                    Throwable cause = e.getCause();
+                    rethrowOnMainThread(cause instanceof RuntimeException || cause instanceof Error
+                            ? cause
+                            : new RuntimeException("Unable to bind resources.", cause));
+                    return;
+                }
+                if (callback != null) MAIN_THREAD.post(callback);
+            }
+        });
+    }
+
+    private static void bindResourcesFromRegistriesOn(Executor executor, final Object target,
+                                                      final Context context,
+                                                      final Runnable callback) {
+        // Superclasses first, like the binding constructors. A class no registry knows binds its
+        // resources through its own binding class.
+        final Map<Class<?>, BindingRegistry> registries = ButterKnife.registries;
+        final List<Class<?>> classes = new ArrayList<>();
+        final List<Method> binders = new ArrayList<>();
+        for (Class<?> c = target.getClass(); c != null && !isFrameworkClass(c);
+                c = c.getSuperclass()) {
+            Method binder = null;
+            if (!registries.containsKey(c)) {
+                binder = hasBindingClass(c) ? findResourceBinder(c) : null;
+                if (binder == null) {
+                    continue;
+                }
+            }
+            classes.add(0, c);
+            binders.add(0, binder);
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    for (int i = 0; i < classes.size(); i++) {
+                        Class<?> c = classes.get(i);
+                        Method binder = binders.get(i);
+                        if (binder != null) {
+                            binder.invoke(null, target, context);
+                        } else {
+                            registries.get(c).bindResources(c, target, context);
+                        }
+                    }
+                } catch (IllegalAccessException e) {
+                    rethrowOnMainThread(
+                            new RuntimeException("Unable to invoke resource binding.", e));
+                    return;
+                } catch (InvocationTargetException e) {
+                    Throwable cause = e.getCause();
+                    rethrowOnMainThread(cause instanceof RuntimeException || cause instanceof Error
+                            ? cause
+                            : new RuntimeException("Unable to bind resources.", cause));
+                    return;
+                } catch (RuntimeException | Error e) {
+                    rethrowOnMainThread(e);
+                    return;
+                }
+                if (callback != null) MAIN_THREAD.post(callback);
+            }
+        });
+    }
+
+    /** A failed binding should crash like it does when binding on the main thread. */
+    private static void rethrowOnMainThread(final Throwable t) {
+        MAIN_THREAD.post(new Runnable() {
+            @Override
+            public void run() {
+                if (t instanceof Error) {
+                    throw (Error) t;
+                }
+                throw (RuntimeException) t;
+            }
+        });
+    }
+
+    /**
+     * Returns the generated {@code bindResources} methods for {@code cls} and its superclasses,
+     * ordered from the topmost superclass down like the binding constructors run them.
+     */
+    @CheckResult
+    @UiThread
+    private static Method[] findResourceBindersForClass(Class<?> cls) {
+        Method[] binders = RESOURCE_BINDERS.get(cls);
+        if (binders != null) {
+            if (debug) Log.d(TAG, "HIT: Cached in resource binder map.");
+            return binders;
+        }
+        List<Method> found = new ArrayList<>();
+        for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
+            String clsName = c.getName();
+            if (clsName.startsWith("android.") || clsName.startsWith("java.")) {
+                break;
+            }
+            Method binder = findResourceBinder(c);
+            if (binder != null) {
+                found.add(0, binder);
+            }
+        }
+        binders = found.toArray(new Method[found.size()]);
+        RESOURCE_BINDERS.put(cls, binders);
+        return binders;
+    }
+
+    /** Returns the {@code bindResources} method of the binding class of {@code cls}, if any. */
+    @Nullable
+    private static Method findResourceBinder(Class<?> cls) {
+        String clsName = cls.getName();
+        try {
+            Class<?> bindingClass = cls.getClassLoader().loadClass(clsName + "_ViewBinding");
+            return bindingClass.getMethod("bindResources", cls, Context.class);
+        } catch (ClassNotFoundException e) {
+            if (debug) Log.d(TAG, "No binding for " + clsName);
+        } catch (NoSuchMethodException e) {
+            if (debug) Log.d(TAG, "No resource bindings for " + clsName);
+        }
+        return null;
+    }
+
+    /**
+     * Apply the specified {@code actions} across the {@code list} of views. Every view receives
+     * all of the actions before the next view is visited. An action carries no value to compare,
+     * so every view is visited; use a {@link ReadableSetter} or a {@link Property} to skip views
+     * which already have a value.
+     */
+    @UiThread
+    @SafeVarargs
+    public static <T extends View> void apply(@NonNull List<T> list,
+                                              @NonNull Action<? super T>... actions) {
+        for (int i = 0, count = list.size(); i < count; i++) {
+            T view = list.get(i);
+            for (Action<? super T> action : actions) {
+                action.apply(view, i);
+            }
+        }
+    }
+
+    /**
+     * Apply the specified {@code actions} across the {@code array} of views.
+     */
+    @UiThread
+    @SafeVarargs
+    public static <T extends View> void apply(@NonNull T[] array,
+                                              @NonNull Action<? super T>... actions) {
+        for (int i = 0, count = array.length; i < count; i++) {
+            T view = array[i];
+            for (Action<? super T> action : actions) {
+                action.apply(view, i);
+            }
+        }
+    }
+
+    /**
+     * Apply the specified {@code value} across the {@code list} of views using the {@code setter}.
+     * If the setter is a {@link ReadableSetter}, views which already have {@code value} are skipped
+     * so they neither invalidate nor request a layout.
+     */
+    @UiThread
+    public static <T extends View, V> void apply(@NonNull List<T> list,
+                                                 @NonNull Setter<? super T, V> setter, V value) {
+        for (int i = 0, count = list.size(); i < count; i++) {
+            setIfChanged(list.get(i), setter, value, i);
+        }
+    }
+
+    /**
+     * Apply the specified {@code value} across the {@code array} of views using the {@code setter}.
+     * If the setter is a {@link ReadableSetter}, views which already have {@code value} are
+     * skipped.
+     */
+    @UiThread
+    public static <T extends View, V> void apply(@NonNull T[] array,
+                                                 @NonNull Setter<? super T, V> setter, V value) {
+        for (int i = 0, count = array.length; i < count; i++) {
+            setIfChanged(array[i], setter, value, i);
+        }
+    }
+
+    /**
+     * Apply the specified {@code value} across the {@code list} of views using the
+     * {@code property}. Views whose current value already equals {@code value} are skipped so they
+     * neither invalidate nor request a layout.
+     */
+    @UiThread
+    @TargetApi(14)
+    public static <T extends View, V> void apply(@NonNull List<T> list,
+                                                 @NonNull Property<? super T, V> property,
+                                                 V value) {
+        for (int i = 0, count = list.size(); i < count; i++) {
+            setIfChanged(list.get(i), property, value);
+        }
+    }
+
+    /**
+     * Apply the specified {@code value} across the {@code array} of views using the
+     * {@code property}. Views whose current value already equals {@code value} are skipped.
+     */
+    @UiThread
+    @TargetApi(14)
+    public static <T extends View, V> void apply(@NonNull T[] array,
+                                                 @NonNull Property<? super T, V> property,
+                                                 V value) {
+        for (T view : array) {
+            setIfChanged(view, property, value);
+        }
+    }
+
+    /**
+     * Apply {@code action} to a single {@code view}.
+     */
+    @UiThread
+    public static <T extends View> void apply(@NonNull T view, @NonNull Action<? super T> action) {
+        action.apply(view, 0);
+    }
+
+    /**
+     * Set {@code value} on a single {@code view} using {@code setter}.
+     */
+    @UiThread
+    public static <T extends View, V> void apply(@NonNull T view,
+                                                 @NonNull Setter<? super T, V> setter, V value) {
+        setIfChanged(view, setter, value, 0);
+    }
+
+    @SuppressWarnings("unchecked") // A readable setter reads the type it sets.
+    private static <T extends View, V> void setIfChanged(T view, Setter<? super T, V> setter,
+                                                         V value, int index) {
+        if (setter instanceof ReadableSetter
+                && equal(((ReadableSetter<? super T, V>) setter).get(view), value)) {
+            return;
+        }
+        setter.set(view, value, index);
+    }
+
+    @TargetApi(14)
+    private static <T extends View, V> void setIfChanged(T view, Property<? super T, V> property,
+                                                         V value) {
+        if (equal(property.get(view), value)) {
+            return;
+        }
+        property.set(view, value);
+    }
+
+    private static boolean equal(Object current, Object value) {
+        return current == value || current != null && current.equals(value);
+    }
+
     /**
      * Simpler version of {@link View#findViewById(int)} which infers the target type.
      */
@@ -0,0 +1,203 @@
+package butterknife;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Opt-in recording of how long the handlers bound with {@link OnClick} take, from the click being
+ * dispatched to the handler returning.
+ * <p>
+ * The last {@value #CAPACITY} clicks are kept in a ring buffer which is allocated once, when
+ * recording is first enabled, so recording a click allocates nothing and takes no lock. While
+ * recording is disabled a click costs a single read of a volatile flag. Handlers which take longer
+ * than the frame budget are also reported to the {@link SlowClickListener}, if one is set.
+ * <pre><code>
+ * ClickLatency.setSlowClickListener(new ClickLatency.SlowClickListener() {
+ *   &#64;Override public void onSlowClick(String handler, long durationNanos) {
+ *     Log.w("Clicks", handler + " took " + durationNanos / 1000000 + "ms");
+ *   }
+ * });
+ * ClickLatency.setEnabled(BuildConfig.DEBUG);
+ * </code></pre>
+ */
+public final class ClickLatency {
+    /** Number of clicks kept. A power of two so a sequence number maps to a slot with a mask. */
+    public static final int CAPACITY = 256;
+
+    private static volatile boolean enabled;
+    /** Whether the buffer has been allocated. Touching {@link Ring} before would allocate it. */
+    private static volatile boolean allocated;
+    private static volatile long frameBudgetNanos = TimeUnit.MILLISECONDS.toNanos(16);
+    private static volatile SlowClickListener slowClickListener;
+
+    /** Told about each handler which took longer than the frame budget. */
+    public interface SlowClickListener {
+        /**
+         * Called on the main thread right after the handler returned.
+         *
+         * @param handler the target class and method of the handler, such as
+         * {@code "MainActivity.save"}.
+         */
+        @UiThread
+        void onSlowClick(@NonNull String handler, long durationNanos);
+    }
+
+    /** Control whether clicks are recorded from now on. */
+    public static void setEnabled(boolean enabled) {
+        if (enabled && !allocated) {
+            // Allocate the buffer here rather than on the first click.
+            Ring.init();
+            allocated = true;
+        }
+        ClickLatency.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Handlers taking longer than {@code millis} are slow. 16ms, one frame at 60Hz, by default. */
+    public static void setFrameBudget(long millis) {
+        frameBudgetNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    public static void setSlowClickListener(@Nullable SlowClickListener listener) {
+        slowClickListener = listener;
+    }
+
+    /**
+     * Record one click. Called by the click listeners of generated bindings, and only while
+     * recording is enabled.
+     *
+     * @param handler the target class and method, or null if the listener does not know them.
+     * @param dispatchNanos {@link System#nanoTime()} when the click was dispatched.
+     * @param completionNanos {@link System#nanoTime()} when the handler returned.
+     */
+    public static void record(@Nullable String handler, long dispatchNanos, long completionNanos) {
+        Ring.write(handler, dispatchNanos, completionNanos);
+
+        long durationNanos = completionNanos - dispatchNanos;
+        SlowClickListener listener = slowClickListener;
+        if (listener != null && durationNanos > frameBudgetNanos) {
+            listener.onSlowClick(handler != null ? handler : "unknown", durationNanos);
+        }
+    }
+
+    /** Returns the recorded clicks, oldest first. */
+    @NonNull
+    public static List<Sample> snapshot() {
+        return allocated ? Ring.read() : new ArrayList<Sample>();
+    }
+
+    /** Forget the recorded clicks. */
+    public static void clear() {
+        if (allocated) {
+            Ring.clear();
+        }
+    }
+
+    /** One recorded click. */
+    public static final class Sample {
+        private final String handler;
+        private final long dispatchNanos;
+        private final long completionNanos;
+
+        Sample(String handler, long dispatchNanos, long completionNanos) {
+            this.handler = handler;
+            this.dispatchNanos = dispatchNanos;
+            this.completionNanos = completionNanos;
+        }
+
+        /** The target class and method of the handler, or null if unknown. */
+        @Nullable
+        public String getHandler() {
+            return handler;
+        }
+
+        /** {@link System#nanoTime()} when the click was dispatched. */
+        public long getDispatchNanos() {
+            return dispatchNanos;
+        }
+
+        /** {@link System#nanoTime()} when the handler returned. */
+        public long getCompletionNanos() {
+            return completionNanos;
+        }
+
+        public long getDurationNanos() {
+            return completionNanos - dispatchNanos;
+        }
+
+        @Override
+        public String toString() {
+            return handler + ": " + TimeUnit.NANOSECONDS.toMicros(getDurationNanos()) + "us";
+        }
+    }
+
+    /**
+     * The buffer, in a holder class of its own so it is only allocated once recording is enabled.
+     * <p>
+     * A writer claims the next sequence number, clears the sequence of its slot, fills the slot and
+     * then publishes the sequence again. A reader only keeps a slot whose published sequence is the
+     * same before and after reading it, so a slot being overwritten is skipped rather than mixed.
+     */
+    private static final class Ring {
+        private static final int MASK = CAPACITY - 1;
+        private static final AtomicLong NEXT = new AtomicLong();
+        /** One more than the sequence number of the click in each slot, 0 while it is written. */
+        private static final AtomicLongArray SEQUENCES = new AtomicLongArray(CAPACITY);
+        private static final String[] HANDLERS = new String[CAPACITY];
+        private static final long[] DISPATCHED = new long[CAPACITY];
+        private static final long[] COMPLETED = new long[CAPACITY];
+
+        static void init() {
+            // Loading the class allocates the buffer.
+        }
+
+        static void write(String handler, long dispatchNanos, long completionNanos) {
+            long sequence = NEXT.getAndIncrement();
+            int slot = (int) (sequence & MASK);
+            SEQUENCES.set(slot, 0);
+            HANDLERS[slot] = handler;
+            DISPATCHED[slot] = dispatchNanos;
+            COMPLETED[slot] = completionNanos;
+            SEQUENCES.set(slot, sequence + 1);
+        }
+
+        static List<Sample> read() {
+            long next = NEXT.get();
+            long first = Math.max(0, next - CAPACITY);
+            List<Sample> samples = new ArrayList<>((int) (next - first));
+            for (long sequence = first; sequence < next; sequence++) {
+                int slot = (int) (sequence & MASK);
+                if (SEQUENCES.get(slot) != sequence + 1) {
+                    continue;
+                }
+                String handler = HANDLERS[slot];
+                long dispatched = DISPATCHED[slot];
+                long completed = COMPLETED[slot];
+                if (SEQUENCES.get(slot) == sequence + 1) {
+                    samples.add(new Sample(handler, dispatched, completed));
+                }
+            }
+            return samples;
+        }
+
+        static void clear() {
+            for (int slot = 0; slot < CAPACITY; slot++) {
+                SEQUENCES.set(slot, 0);
+                HANDLERS[slot] = null;
+            }
+        }
+    }
+
+    private ClickLatency() {
+        throw new AssertionError("No instances.");
+    }
+}
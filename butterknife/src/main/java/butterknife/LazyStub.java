@@ -0,0 +1,103 @@
+package butterknife;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+import android.view.View;
+import android.view.ViewStub;
+
+/**
+ * A {@link ViewStub} whose layout is inflated the first time the view is requested. Fields and
+ * methods bound to views inside the stub's layout are bound when the stub inflates, whether that
+ * is through {@link #get()} or through the stub itself.
+ * <pre><code>
+ * {@literal @}BindViewStub(R.id.details_stub) LazyStub&lt;LinearLayout&gt; details;
+ * {@literal @}BindView(value = R.id.details_title, stubId = R.id.details_stub) TextView title;
+ * </code></pre>
+ *
+ * @param <T> Type of the root view of the stub's layout.
+ */
+public final class LazyStub<T extends View> implements ViewStub.OnInflateListener {
+    /** Binds the views inside a stub's layout once it inflates. Used by generated code. */
+    public interface Binder {
+        @UiThread
+        void bind(View source);
+    }
+
+    private final Class<T> type;
+    private ViewStub stub;
+    private Binder binder;
+    private T view;
+
+    private LazyStub(ViewStub stub, Class<T> type, Binder binder) {
+        this.stub = stub;
+        this.type = type;
+        this.binder = binder;
+        stub.setOnInflateListener(this);
+    }
+
+    /** Returns a lazy stub for {@code stub}, or null when the stub was not found. */
+    @Nullable
+    @UiThread
+    public static <T extends View> LazyStub<T> of(@Nullable ViewStub stub, @NonNull Class<T> type,
+                                                  @Nullable Binder binder) {
+        return stub != null ? new LazyStub<>(stub, type, binder) : null;
+    }
+
+    /** Returns the stub's layout root, inflating it and binding its views if necessary. */
+    @NonNull
+    @UiThread
+    public T get() {
+        if (view == null) {
+            if (stub == null) {
+                throw new IllegalStateException("Stub already unbound.");
+            }
+            stub.inflate();
+        }
+        return view;
+    }
+
+    /** Returns the stub's layout root if it has been inflated, or null without inflating it. */
+    @Nullable
+    @UiThread
+    public T getIfInflated() {
+        return view;
+    }
+
+    @UiThread
+    public boolean isInflated() {
+        return view != null;
+    }
+
+    /** Stop binding views when the stub inflates. Called when the enclosing binding is unbound. */
+    @UiThread
+    public void unbind() {
+        if (stub != null) {
+            stub.setOnInflateListener(null);
+            stub = null;
+        }
+        binder = null;
+        view = null;
+    }
+
+    @Override
+    public void onInflate(ViewStub stub, View inflated) {
+        this.stub = null;
+        try {
+            view = type.cast(inflated);
+        } catch (ClassCastException e) {
+            throw new IllegalStateException("View stub with ID "
+                    + stub.getId()
+                    + " inflated a "
+                    + inflated.getClass().getName()
+                    + " instead of a "
+                    + type.getName()
+                    + ".", e);
+        }
+        Binder binder = this.binder;
+        this.binder = null;
+        if (binder != null) {
+            binder.bind(inflated);
+        }
+    }
+}
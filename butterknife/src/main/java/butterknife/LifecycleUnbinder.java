@@ -0,0 +1,137 @@
+package butterknife;
+
+import android.annotation.TargetApi;
+import android.app.Activity;
+import android.app.Application;
+import android.os.Build;
+import android.os.Bundle;
+import android.support.annotation.UiThread;
+import android.support.v4.app.Fragment;
+import android.support.v4.app.FragmentManager;
+
+/**
+ * Unbinds a binding when its host's view hierarchy goes away so that the binding does not keep a
+ * dead hierarchy reachable. Unbinding it by hand first is also fine; it only unbinds once.
+ */
+final class LifecycleUnbinder implements Unbinder {
+    private Unbinder unbinder;
+    private Runnable unregister;
+
+    private LifecycleUnbinder(Unbinder unbinder) {
+        this.unbinder = unbinder;
+    }
+
+    /** Unbind {@code unbinder} once {@code fragment}'s view has been destroyed. */
+    @UiThread
+    static LifecycleUnbinder untilViewDestroyed(final Fragment fragment, Unbinder unbinder) {
+        final LifecycleUnbinder result = new LifecycleUnbinder(unbinder);
+        final FragmentManager fragmentManager = fragment.getFragmentManager();
+        if (fragmentManager == null) {
+            throw new IllegalStateException("Fragment " + fragment + " is not attached.");
+        }
+        final FragmentManager.FragmentLifecycleCallbacks callbacks =
+                new FragmentManager.FragmentLifecycleCallbacks() {
+                    @Override
+                    public void onFragmentViewDestroyed(FragmentManager fm, Fragment f) {
+                        if (f == fragment) {
+                            result.unbind();
+                        }
+                    }
+
+                    @Override
+                    public void onFragmentDestroyed(FragmentManager fm, Fragment f) {
+                        // Fragments without a view never report it destroyed.
+                        if (f == fragment) {
+                            result.unbind();
+                        }
+                    }
+                };
+        fragmentManager.registerFragmentLifecycleCallbacks(callbacks, false);
+        result.unregister = new Runnable() {
+            @Override
+            public void run() {
+                fragmentManager.unregisterFragmentLifecycleCallbacks(callbacks);
+            }
+        };
+        return result;
+    }
+
+    /**
+     * Unbind {@code unbinder} once {@code activity} has been destroyed. Activity lifecycle
+     * callbacks only exist from API 14 so on older platforms the binding has to be unbound by hand.
+     */
+    @UiThread
+    static LifecycleUnbinder untilDestroyed(Activity activity, Unbinder unbinder) {
+        LifecycleUnbinder result = new LifecycleUnbinder(unbinder);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+            registerActivityCallbacks(activity, result);
+        }
+        return result;
+    }
+
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    private static void registerActivityCallbacks(final Activity activity,
+                                                  final LifecycleUnbinder result) {
+        final Application application = activity.getApplication();
+        final Application.ActivityLifecycleCallbacks callbacks =
+                new Application.ActivityLifecycleCallbacks() {
+                    @Override
+                    public void onActivityDestroyed(Activity a) {
+                        if (a == activity) {
+                            result.unbind();
+                        }
+                    }
+
+                    @Override
+                    public void onActivityCreated(Activity a, Bundle savedInstanceState) {
+                    }
+
+                    @Override
+                    public void onActivityStarted(Activity a) {
+                    }
+
+                    @Override
+                    public void onActivityResumed(Activity a) {
+                    }
+
+                    @Override
+                    public void onActivityPaused(Activity a) {
+                    }
+
+                    @Override
+                    public void onActivityStopped(Activity a) {
+                    }
+
+                    @Override
+                    public void onActivitySaveInstanceState(Activity a, Bundle outState) {
+                    }
+                };
+        application.registerActivityLifecycleCallbacks(callbacks);
+        result.unregister = new Runnable() {
+            @Override
+            public void run() {
+                application.unregisterActivityLifecycleCallbacks(callbacks);
+            }
+        };
+    }
+
+    @Override
+    public void unbind() {
+        Unbinder unbinder = this.unbinder;
+        if (unbinder == null) {
+            return;
+        }
+        this.unbinder = null;
+        if (unregister != null) {
+            unregister.run();
+            unregister = null;
+        }
+        unbinder.unbind();
+    }
+
+    @Override
+    public Object getLayout() {
+        Unbinder unbinder = this.unbinder;
+        return unbinder != null ? unbinder.getLayout() : null;
+    }
+}
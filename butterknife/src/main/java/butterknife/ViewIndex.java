@@ -0,0 +1,241 @@
+package butterknife;
+
+import android.support.annotation.IdRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.ViewTreeObserver;
+import java.util.Arrays;
+
+/**
+ * An index from view ID to view over a whole hierarchy, built in a single traversal and shared by
+ * every {@link ButterKnife#bind(Object, View) bind} call whose source is inside the same root.
+ * Binding an activity and then several other targets against views of its window walks the
+ * hierarchy once instead of once per lookup.
+ * <p>
+ * Like {@link View#findViewById(int)} the first view in a depth-first traversal wins when IDs
+ * repeat. The index is rebuilt after every layout pass, which follows views being added or
+ * removed, and a view it returns is always checked to still have the ID and to still be inside
+ * the source. An ID it does not know is looked up in the hierarchy so views added since the last
+ * build are still found.
+ *
+ * @see ButterKnife#setViewIndexEnabled(boolean)
+ */
+public final class ViewIndex implements ViewTreeObserver.OnGlobalLayoutListener {
+    private static final int EMPTY = View.NO_ID;
+    private static final int MIN_CAPACITY = 32;
+
+    /** The index the bindings being created on the main thread look views up in, or null. */
+    private static ViewIndex current;
+
+    private final View root;
+    private int[] keys = new int[0];
+    private View[] values = new View[0];
+    private int size;
+    private boolean built;
+    private boolean listening;
+
+    private int hitCount;
+    private int missCount;
+    private int buildCount;
+
+    private ViewIndex(View root) {
+        this.root = root;
+    }
+
+    /** Returns the index shared by every view under the root of {@code view}, creating it. */
+    @NonNull
+    @UiThread
+    static ViewIndex of(@NonNull View view) {
+        View root = view.getRootView();
+        ViewIndex index = (ViewIndex) root.getTag(R.id.butterknife_view_index);
+        if (index == null) {
+            index = new ViewIndex(root);
+            root.setTag(R.id.butterknife_view_index, index);
+        }
+        return index;
+    }
+
+    /** Returns the index of the root of {@code view} if one has been created. */
+    @Nullable
+    @UiThread
+    static ViewIndex peek(@NonNull View view) {
+        return (ViewIndex) view.getRootView().getTag(R.id.butterknife_view_index);
+    }
+
+    /** Make {@code index} the one lookups use until the returned previous index is restored. */
+    @UiThread
+    static ViewIndex enter(@Nullable ViewIndex index) {
+        ViewIndex previous = current;
+        current = index;
+        return previous;
+    }
+
+    /**
+     * Like {@code source.findViewById(id)} but answered from the index of the binding being
+     * created, if any. Used by generated code.
+     */
+    @Nullable
+    @UiThread
+    public static View findViewById(@NonNull View source, @IdRes int id) {
+        ViewIndex index = current;
+        return index != null ? index.find(source, id) : source.findViewById(id);
+    }
+
+    /** Number of lookups answered by the index alone. */
+    @UiThread
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    /** Number of lookups which had to search the hierarchy. */
+    @UiThread
+    public int getMissCount() {
+        return missCount;
+    }
+
+    /** Number of traversals made to build the index. */
+    @UiThread
+    public int getBuildCount() {
+        return buildCount;
+    }
+
+    /** Drop the index so the next lookup rebuilds it from the current hierarchy. */
+    @UiThread
+    public void invalidate() {
+        if (built) {
+            built = false;
+            Arrays.fill(keys, EMPTY);
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
+    @Override
+    public void onGlobalLayout() {
+        invalidate();
+    }
+
+    @UiThread
+    View find(View source, @IdRes int id) {
+        if (id == View.NO_ID) {
+            return source.findViewById(id);
+        }
+        if (!built) {
+            build();
+        }
+        View view = get(id);
+        if (view != null && view.getId() == id) {
+            if (isInside(view, source)) {
+                hitCount++;
+                return view;
+            }
+            if (isInside(view, root)) {
+                // The first match in the root lies outside the source, which may have another.
+                missCount++;
+                return source.findViewById(id);
+            }
+        }
+        missCount++;
+        View found = source.findViewById(id);
+        if (found != null || view != null) {
+            // Views were added, removed or renumbered since the last build.
+            invalidate();
+        }
+        return found;
+    }
+
+    private static boolean isInside(View view, View ancestor) {
+        if (view == ancestor) {
+            return true;
+        }
+        ViewParent parent = view.getParent();
+        while (parent instanceof View) {
+            if (parent == ancestor) {
+                return true;
+            }
+            parent = parent.getParent();
+        }
+        return false;
+    }
+
+    private void build() {
+        buildCount++;
+        if (keys.length == 0) {
+            resize(MIN_CAPACITY);
+        }
+        add(root);
+        built = true;
+        if (!listening) {
+            root.getViewTreeObserver().addOnGlobalLayoutListener(this);
+            listening = true;
+        }
+    }
+
+    /** Adds {@code view} and its descendants in the order {@link View#findViewById} visits them. */
+    private void add(View view) {
+        put(view.getId(), view);
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0, count = group.getChildCount(); i < count; i++) {
+                add(group.getChildAt(i));
+            }
+        }
+    }
+
+    private View get(int id) {
+        int mask = keys.length - 1;
+        for (int i = hash(id) & mask; ; i = (i + 1) & mask) {
+            int key = keys[i];
+            if (key == id) {
+                return values[i];
+            }
+            if (key == EMPTY) {
+                return null;
+            }
+        }
+    }
+
+    private void put(int id, View view) {
+        if (id == EMPTY) {
+            return;
+        }
+        int mask = keys.length - 1;
+        int i = hash(id) & mask;
+        for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == id) {
+                // The first view with an ID shadows the rest, as in findViewById.
+                return;
+            }
+        }
+        keys[i] = id;
+        values[i] = view;
+        // Keep the table at most half full so probe sequences stay short.
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        View[] oldValues = values;
+        keys = new int[capacity];
+        values = new View[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int hash(int id) {
+        // Resource IDs share their high bits so spread the low ones.
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,61 @@
+package butterknife.internal;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import butterknife.BindingRegistry;
+import butterknife.Unbinder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The registries of every module of an app, merged into one table from target class to registry.
+ * The index generated by the {@code butterknife.index} option extends this with the registries it
+ * found at build time. {@code ButterKnife.addRegistry} adds the merged registries themselves so a
+ * target is resolved with a single lookup.
+ */
+@SuppressWarnings("WeakerAccess") // Used by generated code.
+public abstract class AggregateRegistry implements BindingRegistry {
+  private final BindingRegistry[] registries;
+  private final Map<Class<?>, BindingRegistry> table = new HashMap<>();
+
+  protected AggregateRegistry(BindingRegistry... registries) {
+    this.registries = registries;
+    for (BindingRegistry registry : registries) {
+      for (Class<?> targetClass : registry.getTargetClasses()) {
+        table.put(targetClass, registry);
+      }
+    }
+  }
+
+  public final BindingRegistry[] getRegistries() {
+    return registries.clone();
+  }
+
+  @Override public final Class<?>[] getTargetClasses() {
+    List<Class<?>> targetClasses = new ArrayList<>(table.keySet());
+    return targetClasses.toArray(new Class<?>[targetClasses.size()]);
+  }
+
+  @Override public final Unbinder bind(Class<?> targetClass, Object target, View source) {
+    BindingRegistry registry = table.get(targetClass);
+    return registry != null ? registry.bind(targetClass, target, source) : null;
+  }
+
+  @Override public final Unbinder inflate(Class<?> targetClass, Object target,
+      LayoutInflater inflater, ViewGroup container) {
+    BindingRegistry registry = table.get(targetClass);
+    return registry != null ? registry.inflate(targetClass, target, inflater, container) : null;
+  }
+
+  @Override public final void bindResources(Class<?> targetClass, Object target,
+      Context context) {
+    BindingRegistry registry = table.get(targetClass);
+    if (registry != null) {
+      registry.bindResources(targetClass, target, context);
+    }
+  }
+}
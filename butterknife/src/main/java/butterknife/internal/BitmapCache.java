@@ -0,0 +1,165 @@
+package butterknife.internal;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.support.annotation.DimenRes;
+import android.support.annotation.DrawableRes;
+import android.support.v4.util.LruCache;
+
+/**
+ * Shared, byte-bounded cache of bitmaps decoded for generated bitmap bindings.
+ * <p>
+ * Entries are keyed by drawable ID, the effective sample size and the display density the bitmap
+ * was decoded for. Bitmaps decoded from resources are immutable so the same instance is handed to
+ * every binding that asks for it.
+ */
+@SuppressWarnings("WeakerAccess") // Used by generated code.
+public final class BitmapCache {
+  private static final int DEFAULT_MAX_BYTES =
+      (int) Math.min(Runtime.getRuntime().maxMemory() / 16, Integer.MAX_VALUE);
+
+  /** Number of target sizes whose sample size is remembered. */
+  private static final int MAX_SAMPLE_SIZES = 256;
+
+  private static LruCache<Key, Bitmap> cache = newCache(DEFAULT_MAX_BYTES);
+  /**
+   * The sample size each target size resolved to. Bitmaps are only cached under their sample
+   * size, so a bitmap is charged to the budget once and evicted with its only entry.
+   */
+  private static final LruCache<Key, Integer> SAMPLE_SIZES = new LruCache<>(MAX_SAMPLE_SIZES);
+
+  public static Bitmap getBitmap(Context context, @DrawableRes int id) {
+    return get(context, id, 1);
+  }
+
+  /**
+   * Returns the bitmap for {@code id} downsampled by the largest power of two which keeps it at
+   * least as large as the dimensions {@code widthId} and {@code heightId} resolve to. Either
+   * dimension may be 0 to leave it unconstrained.
+   */
+  public static Bitmap getBitmap(Context context, @DrawableRes int id, @DimenRes int widthId,
+      @DimenRes int heightId) {
+    int width = widthId != 0 ? ResourceCache.getDimensionPixelSize(context, widthId) : 0;
+    int height = heightId != 0 ? ResourceCache.getDimensionPixelSize(context, heightId) : 0;
+    Resources res = context.getResources();
+    int density = res.getDisplayMetrics().densityDpi;
+    // The sample size is only known after reading the bounds, so remember which sample size this
+    // target size resolved to the first time around.
+    Key sizeKey = new Key(id, 0, width, height, density);
+    Integer sampleSize = SAMPLE_SIZES.get(sizeKey);
+    if (sampleSize == null) {
+      BitmapFactory.Options options = new BitmapFactory.Options();
+      options.inJustDecodeBounds = true;
+      BitmapFactory.decodeResource(res, id, options);
+      sampleSize = calculateSampleSize(options.outWidth, options.outHeight, width, height);
+      SAMPLE_SIZES.put(sizeKey, sampleSize);
+    }
+    return get(context, id, sampleSize);
+  }
+
+  public static Bitmap getSampledBitmap(Context context, @DrawableRes int id, int sampleSize) {
+    return get(context, id, sampleSize);
+  }
+
+  /**
+   * Change the maximum number of bytes the cache may hold. The default is a sixteenth of the
+   * maximum heap size. Cached bitmaps are dropped.
+   */
+  public static synchronized void setMaxBytes(int maxBytes) {
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("maxBytes <= 0");
+    }
+    cache.evictAll();
+    cache = newCache(maxBytes);
+  }
+
+  public static void clear() {
+    cache().evictAll();
+    SAMPLE_SIZES.evictAll();
+  }
+
+  private static Bitmap get(Context context, int id, int sampleSize) {
+    Resources res = context.getResources();
+    Key key = new Key(id, sampleSize, 0, 0, res.getDisplayMetrics().densityDpi);
+    LruCache<Key, Bitmap> cache = cache();
+    Bitmap bitmap = cache.get(key);
+    if (bitmap == null) {
+      BitmapFactory.Options options = new BitmapFactory.Options();
+      options.inSampleSize = sampleSize;
+      bitmap = BitmapFactory.decodeResource(res, id, options);
+      // Non-bitmap drawables such as vectors decode to null and are not cached.
+      if (bitmap != null) {
+        cache.put(key, bitmap);
+        ResourceCache.registerInvalidator(context);
+      }
+    }
+    return bitmap;
+  }
+
+  static int calculateSampleSize(int sourceWidth, int sourceHeight, int width, int height) {
+    int sampleSize = 1;
+    if (sourceWidth <= 0 || sourceHeight <= 0 || width <= 0 && height <= 0) {
+      return sampleSize;
+    }
+    while ((width <= 0 || sourceWidth / (sampleSize * 2) >= width)
+        && (height <= 0 || sourceHeight / (sampleSize * 2) >= height)) {
+      sampleSize *= 2;
+    }
+    return sampleSize;
+  }
+
+  private static synchronized LruCache<Key, Bitmap> cache() {
+    return cache;
+  }
+
+  private static LruCache<Key, Bitmap> newCache(int maxBytes) {
+    return new LruCache<Key, Bitmap>(maxBytes) {
+      @Override protected int sizeOf(Key key, Bitmap value) {
+        return value.getRowBytes() * value.getHeight();
+      }
+    };
+  }
+
+  private static final class Key {
+    final int id;
+    /** Zero when this is the key of a target size in {@link #SAMPLE_SIZES}. */
+    final int sampleSize;
+    final int width;
+    final int height;
+    final int density;
+
+    Key(int id, int sampleSize, int width, int height, int density) {
+      this.id = id;
+      this.sampleSize = sampleSize;
+      this.width = width;
+      this.height = height;
+      this.density = density;
+    }
+
+    @Override public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      Key other = (Key) o;
+      return id == other.id
+          && sampleSize == other.sampleSize
+          && width == other.width
+          && height == other.height
+          && density == other.density;
+    }
+
+    @Override public int hashCode() {
+      int result = id;
+      result = 31 * result + sampleSize;
+      result = 31 * result + width;
+      result = 31 * result + height;
+      result = 31 * result + density;
+      return result;
+    }
+  }
+
+  private BitmapCache() {
+    throw new AssertionError("No instances.");
+  }
+}
@@ -1,10 +1,14 @@
 package butterknife.internal;
 
 import android.view.View;
+import butterknife.ClickLatency;
 
 /**
  * A {@linkplain View.OnClickListener click listener} that debounces multiple clicks posted in the
  * same frame. A click on one button disables all buttons for that frame.
+ * <p>
+ * While {@link ClickLatency} is enabled each click is also recorded with the time its handler
+ * took.
  */
 public abstract class DebouncingOnClickListener implements View.OnClickListener {
   static boolean enabled = true;
@@ -15,11 +19,28 @@ public abstract class DebouncingOnClickListener implements View.OnClickListener
     }
   };
 
+  private final String handler;
+
+  public DebouncingOnClickListener() {
+    this(null);
+  }
+
+  /** @param handler the target class and method clicks are recorded against. */
+  public DebouncingOnClickListener(String handler) {
+    this.handler = handler;
+  }
+
   @Override public final void onClick(View v) {
     if (enabled) {
       enabled = false;
       v.post(ENABLE_AGAIN);
+      if (!ClickLatency.isEnabled()) {
+        doClick(v);
+        return;
+      }
+      long dispatchNanos = System.nanoTime();
       doClick(v);
+      ClickLatency.record(handler, dispatchNanos, System.nanoTime());
     }
   }
 
@@ -0,0 +1,148 @@
+package butterknife.internal;
+
+import android.support.annotation.NonNull;
+import butterknife.Backpressure;
+import butterknife.Dispatch;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the calls of one listener method for one target on an executor, one at a time, applying
+ * the method's {@link Backpressure} to events which arrive while a call is running. At most one
+ * task per channel is ever submitted to the executor so rapid events cannot flood it. Generated
+ * code closes the channel when unbinding.
+ */
+@SuppressWarnings("WeakerAccess") // Used by generated code.
+public final class DispatchChannel {
+  private static final Map<String, Executor> EXECUTORS = new LinkedHashMap<>();
+  private static ExecutorService background;
+
+  private final String executorName;
+  private final Backpressure backpressure;
+  private final ArrayDeque<Runnable> pending = new ArrayDeque<>();
+  private boolean running;
+  private boolean closed;
+
+  public DispatchChannel(String executorName, Backpressure backpressure) {
+    this.executorName = executorName;
+    this.backpressure = backpressure;
+  }
+
+  /** Use {@code executor} for methods dispatched to {@code name}, or the default if null. */
+  public static void setExecutor(@NonNull String name, Executor executor) {
+    if (Dispatch.MAIN.equals(name)) {
+      throw new IllegalArgumentException("The main thread's executor cannot be replaced.");
+    }
+    synchronized (EXECUTORS) {
+      if (executor != null) {
+        EXECUTORS.put(name, executor);
+      } else {
+        EXECUTORS.remove(name);
+      }
+    }
+  }
+
+  private static Executor getExecutor(String name) {
+    synchronized (EXECUTORS) {
+      Executor executor = EXECUTORS.get(name);
+      if (executor != null) {
+        return executor;
+      }
+      if (Dispatch.BACKGROUND.equals(name)) {
+        if (background == null) {
+          int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+          background = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override public Thread newThread(@NonNull Runnable runnable) {
+              Thread thread = new Thread(runnable, "ButterKnife-background-"
+                  + count.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            }
+          });
+        }
+        return background;
+      }
+    }
+    throw new IllegalStateException("No executor named '"
+        + name
+        + "' was registered. Register one with ButterKnife.setExecutor.");
+  }
+
+  /** Run {@code task} on the channel's executor unless the backpressure policy drops it. */
+  public void dispatch(Runnable task) {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      if (running) {
+        switch (backpressure) {
+          case DROP:
+            return;
+          case LATEST:
+            pending.clear();
+            pending.add(task);
+            return;
+          case QUEUE:
+            pending.add(task);
+            return;
+          default:
+            throw new AssertionError(backpressure);
+        }
+      }
+      running = true;
+    }
+    execute(task);
+  }
+
+  /**
+   * Drop the events still waiting and ignore later ones so that nothing reaches the target once it
+   * has been unbound. A call which is already running finishes.
+   */
+  public void close() {
+    synchronized (this) {
+      closed = true;
+      pending.clear();
+    }
+  }
+
+  private void execute(final Runnable task) {
+    try {
+      getExecutor(executorName).execute(new Runnable() {
+        @Override public void run() {
+          try {
+            task.run();
+          } finally {
+            next();
+          }
+        }
+      });
+    } catch (RuntimeException e) {
+      // Includes RejectedExecutionException. Let later events try again.
+      synchronized (this) {
+        pending.clear();
+        running = false;
+      }
+      throw e;
+    }
+  }
+
+  private void next() {
+    Runnable task;
+    synchronized (this) {
+      task = pending.poll();
+      if (task == null) {
+        running = false;
+        return;
+      }
+    }
+    execute(task);
+  }
+}
@@ -0,0 +1,99 @@
+package butterknife.internal;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+/**
+ * Runs the last task posted to it at most once per frame, on the main thread. A task posted while
+ * another is pending replaces it. Generated code keeps one for each coalesced listener method of
+ * each view, and cancels it when unbinding.
+ * <p>
+ * From API 16 the pending task runs in the animation phase of the frame, after that frame's input
+ * events and before layout. Older platforms approximate a frame with a 16ms delay.
+ */
+@SuppressWarnings("WeakerAccess") // Used by generated code.
+public final class FrameCoalescer implements Runnable {
+  private static final long FRAME_DELAY_MS = 16;
+  private static final Handler MAIN = new Handler(Looper.getMainLooper());
+
+  /** A task holding something it has to release if a later task replaces it before it runs. */
+  public interface DiscardableTask extends Runnable {
+    /** Called instead of {@link #run()} when a later task replaces this one. */
+    void discard();
+  }
+
+  private Runnable pending;
+  private boolean scheduled;
+  private Object frameCallback;
+
+  /** Run {@code task} in the next frame in place of any task still pending. */
+  public void post(Runnable task) {
+    Runnable replaced = pending;
+    pending = task;
+    if (replaced instanceof DiscardableTask) {
+      ((DiscardableTask) replaced).discard();
+    }
+    if (!scheduled) {
+      scheduled = true;
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+        postFrameCallback();
+      } else {
+        MAIN.postDelayed(this, FRAME_DELAY_MS);
+      }
+    }
+  }
+
+  /** Run the pending task now so that it is not delivered after an event which is not coalesced. */
+  public void flush() {
+    Runnable task = pending;
+    if (task != null) {
+      pending = null;
+      task.run();
+    }
+  }
+
+  /**
+   * Drop the pending task without running it so that nothing reaches the target once it has been
+   * unbound. The frame callback no longer holds the task, and with it the target.
+   */
+  public void cancel() {
+    if (scheduled) {
+      scheduled = false;
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+        removeFrameCallback();
+      } else {
+        MAIN.removeCallbacks(this);
+      }
+    }
+    Runnable task = pending;
+    pending = null;
+    if (task instanceof DiscardableTask) {
+      ((DiscardableTask) task).discard();
+    }
+  }
+
+  @Override public void run() {
+    scheduled = false;
+    flush();
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private void postFrameCallback() {
+    if (frameCallback == null) {
+      frameCallback = new Choreographer.FrameCallback() {
+        @Override public void doFrame(long frameTimeNanos) {
+          run();
+        }
+      };
+    }
+    Choreographer.getInstance().postFrameCallback((Choreographer.FrameCallback) frameCallback);
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private void removeFrameCallback() {
+    Choreographer.getInstance().removeFrameCallback((Choreographer.FrameCallback) frameCallback);
+  }
+}
@@ -0,0 +1,111 @@
+package butterknife.internal;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.support.annotation.IdRes;
+import android.support.annotation.LayoutRes;
+import android.support.annotation.UiThread;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers which optional views were absent from a layout so later binds of the same layout skip
+ * the full hierarchy walk that a failed {@code findViewById} costs.
+ * <p>
+ * Only bindings which inflate their layout themselves use this, so the hierarchy being searched is
+ * exactly what the layout resource produced for the current {@link Configuration}. Entries are
+ * keyed by layout ID and configuration and are dropped along with the resource caches when the
+ * configuration changes or memory runs low.
+ */
+@SuppressWarnings("WeakerAccess") // Used by generated code.
+public final class MissingViewCache {
+  private static final int MAX_CONFIGURATIONS = 4;
+
+  private static final Map<Configuration, SparseArray<Layout>> LAYOUTS =
+      new LinkedHashMap<Configuration, SparseArray<Layout>>(MAX_CONFIGURATIONS, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(
+            Map.Entry<Configuration, SparseArray<Layout>> eldest) {
+          return size() > MAX_CONFIGURATIONS;
+        }
+      };
+
+  private static volatile boolean enabled = true;
+
+  /** The IDs known to be absent from one layout inflated under one configuration. */
+  public static final class Layout {
+    private final SparseBooleanArray missing = new SparseBooleanArray();
+
+    Layout() {
+    }
+
+    @UiThread
+    boolean isMissing(@IdRes int id) {
+      return missing.get(id);
+    }
+
+    @UiThread
+    void setMissing(@IdRes int id) {
+      missing.put(id, true);
+    }
+  }
+
+  /**
+   * Returns the memo for {@code layoutId} under the context's current configuration, or null when
+   * there is no layout or the memo is disabled.
+   */
+  @UiThread
+  public static Layout forLayout(Context context, @LayoutRes int layoutId) {
+    if (layoutId == 0 || !enabled) {
+      return null;
+    }
+    Configuration config = context.getResources().getConfiguration();
+    synchronized (LAYOUTS) {
+      SparseArray<Layout> layouts = LAYOUTS.get(config);
+      if (layouts == null) {
+        layouts = new SparseArray<>();
+        // The live configuration is mutable so the key has to be a snapshot of it.
+        LAYOUTS.put(new Configuration(config), layouts);
+        ResourceCache.registerInvalidator(context);
+      }
+      Layout layout = layouts.get(layoutId);
+      if (layout == null) {
+        layout = new Layout();
+        layouts.put(layoutId, layout);
+      }
+      return layout;
+    }
+  }
+
+  /** Control whether missing views are remembered. Disabling also forgets everything remembered. */
+  public static void setEnabled(boolean enabled) {
+    MissingViewCache.enabled = enabled;
+    if (!enabled) {
+      clear();
+    }
+  }
+
+  /**
+   * Forget the views remembered as missing from {@code layoutId} in every configuration. Call this
+   * when views with IDs that optional bindings look for are added to the layout in code.
+   */
+  public static void invalidate(@LayoutRes int layoutId) {
+    synchronized (LAYOUTS) {
+      for (SparseArray<Layout> layouts : LAYOUTS.values()) {
+        layouts.remove(layoutId);
+      }
+    }
+  }
+
+  /** Forget every remembered view. Binds in progress keep the memo they already hold. */
+  public static void clear() {
+    synchronized (LAYOUTS) {
+      LAYOUTS.clear();
+    }
+  }
+
+  private MissingViewCache() {
+    throw new AssertionError("No instances.");
+  }
+}
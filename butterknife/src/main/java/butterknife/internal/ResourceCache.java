@@ -0,0 +1,220 @@
+package butterknife.internal;
+
+import android.annotation.TargetApi;
+import android.content.ComponentCallbacks;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.os.Build;
+import android.support.annotation.ArrayRes;
+import android.support.annotation.BoolRes;
+import android.support.annotation.ColorRes;
+import android.support.annotation.DimenRes;
+import android.support.annotation.IntegerRes;
+import android.support.annotation.StringRes;
+import android.support.v4.content.ContextCompat;
+import android.util.SparseArray;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of resolved resource values used by generated resource bindings.
+ * <p>
+ * Values are keyed by the getter, resource ID and the {@link Configuration} they were resolved
+ * against, so binding the same screen again only pays for a map lookup. Only values which the theme cannot
+ * change are cached. Tables for configurations that are no
+ * longer current are evicted after a handful of configurations and all tables are dropped when the
+ * application reports a configuration change or low memory.
+ */
+@SuppressWarnings("WeakerAccess") // Used by generated code.
+public final class ResourceCache {
+  private static final int MAX_CONFIGURATIONS = 4;
+
+  // One table per getter since getters of different types may share an ID, as getDimension and
+  // getDimensionPixelSize do.
+  private static final int BOOLEAN = 0;
+  private static final int DIMENSION_PIXEL_SIZE = 1;
+  private static final int DIMENSION = 2;
+  private static final int FLOAT = 3;
+  private static final int INTEGER = 4;
+  private static final int STRING = 5;
+  private static final int INT_ARRAY = 6;
+  private static final int STRING_ARRAY = 7;
+  private static final int TEXT_ARRAY = 8;
+  private static final int GETTERS = 9;
+
+  private static final Map<Configuration, SparseArray<Object>[]> VALUES =
+      new LinkedHashMap<Configuration, SparseArray<Object>[]>(MAX_CONFIGURATIONS, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(
+            Map.Entry<Configuration, SparseArray<Object>[]> eldest) {
+          return size() > MAX_CONFIGURATIONS;
+        }
+      };
+
+  private static final ComponentCallbacks INVALIDATOR = new ComponentCallbacks() {
+    @Override public void onConfigurationChanged(Configuration newConfig) {
+      clear();
+    }
+
+    @Override public void onLowMemory() {
+      clear();
+    }
+  };
+
+  private static boolean registered;
+
+  public static boolean getBoolean(Context context, @BoolRes int id) {
+    Resources res = context.getResources();
+    Object value = get(res, BOOLEAN, id);
+    if (value == null) {
+      value = put(context, res, BOOLEAN, id, res.getBoolean(id));
+    }
+    return (Boolean) value;
+  }
+
+  /**
+   * Not cached: on API 23 and up a color may refer to theme attributes, and themes which differ
+   * share the same configuration.
+   */
+  public static int getColor(Context context, @ColorRes int id) {
+    return ContextCompat.getColor(context, id);
+  }
+
+  public static int getDimensionPixelSize(Context context, @DimenRes int id) {
+    Resources res = context.getResources();
+    Object value = get(res, DIMENSION_PIXEL_SIZE, id);
+    if (value == null) {
+      value = put(context, res, DIMENSION_PIXEL_SIZE, id, res.getDimensionPixelSize(id));
+    }
+    return (Integer) value;
+  }
+
+  public static float getDimension(Context context, @DimenRes int id) {
+    Resources res = context.getResources();
+    Object value = get(res, DIMENSION, id);
+    if (value == null) {
+      value = put(context, res, DIMENSION, id, res.getDimension(id));
+    }
+    return (Float) value;
+  }
+
+  public static float getFloat(Context context, @DimenRes int id) {
+    Resources res = context.getResources();
+    Object value = get(res, FLOAT, id);
+    if (value == null) {
+      value = put(context, res, FLOAT, id, Utils.getFloat(context, id));
+    }
+    return (Float) value;
+  }
+
+  public static int getInteger(Context context, @IntegerRes int id) {
+    Resources res = context.getResources();
+    Object value = get(res, INTEGER, id);
+    if (value == null) {
+      value = put(context, res, INTEGER, id, res.getInteger(id));
+    }
+    return (Integer) value;
+  }
+
+  public static String getString(Context context, @StringRes int id) {
+    Resources res = context.getResources();
+    Object value = get(res, STRING, id);
+    if (value == null) {
+      value = put(context, res, STRING, id, res.getString(id));
+    }
+    return (String) value;
+  }
+
+  /** Returns a copy of the cached array since callers are free to modify it. */
+  public static int[] getIntArray(Context context, @ArrayRes int id) {
+    Resources res = context.getResources();
+    Object value = get(res, INT_ARRAY, id);
+    if (value == null) {
+      value = put(context, res, INT_ARRAY, id, res.getIntArray(id));
+    }
+    return ((int[]) value).clone();
+  }
+
+  /** Returns a copy of the cached array since callers are free to modify it. */
+  public static String[] getStringArray(Context context, @ArrayRes int id) {
+    Resources res = context.getResources();
+    Object value = get(res, STRING_ARRAY, id);
+    if (value == null) {
+      value = put(context, res, STRING_ARRAY, id, res.getStringArray(id));
+    }
+    return ((String[]) value).clone();
+  }
+
+  /** Returns a copy of the cached array since callers are free to modify it. */
+  public static CharSequence[] getTextArray(Context context, @ArrayRes int id) {
+    Resources res = context.getResources();
+    Object value = get(res, TEXT_ARRAY, id);
+    if (value == null) {
+      value = put(context, res, TEXT_ARRAY, id, res.getTextArray(id));
+    }
+    return ((CharSequence[]) value).clone();
+  }
+
+  /** Drop every cached value. The next lookup of each resource will resolve it again. */
+  public static void clear() {
+    synchronized (VALUES) {
+      VALUES.clear();
+    }
+    TintedDrawableCache.clear();
+    BitmapCache.clear();
+    MissingViewCache.clear();
+  }
+
+  private static Object get(Resources res, int getter, int id) {
+    Configuration config = res.getConfiguration();
+    synchronized (VALUES) {
+      SparseArray<Object>[] tables = VALUES.get(config);
+      SparseArray<Object> values = tables != null ? tables[getter] : null;
+      return values != null ? values.get(id) : null;
+    }
+  }
+
+  @SuppressWarnings("unchecked") // Arrays of a generic type can only be created raw.
+  private static Object put(Context context, Resources res, int getter, int id, Object value) {
+    Configuration config = res.getConfiguration();
+    synchronized (VALUES) {
+      SparseArray<Object>[] tables = VALUES.get(config);
+      if (tables == null) {
+        tables = new SparseArray[GETTERS];
+        // The live configuration is mutable so the key has to be a snapshot of it.
+        VALUES.put(new Configuration(config), tables);
+        registerInvalidator(context);
+      }
+      SparseArray<Object> values = tables[getter];
+      if (values == null) {
+        values = new SparseArray<>();
+        tables[getter] = values;
+      }
+      values.put(id, value);
+    }
+    return value;
+  }
+
+  /**
+   * Clear this and the other resource caches in this package when the application's configuration
+   * changes or memory runs low.
+   */
+  @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+  static void registerInvalidator(Context context) {
+    synchronized (INVALIDATOR) {
+      if (registered || Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+        // Older platforms still get correct values since each configuration has its own table.
+        return;
+      }
+      Context application = context.getApplicationContext();
+      if (application != null) {
+        application.registerComponentCallbacks(INVALIDATOR);
+        registered = true;
+      }
+    }
+  }
+
+  private ResourceCache() {
+    throw new AssertionError("No instances.");
+  }
+}
@@ -0,0 +1,96 @@
+package butterknife.internal;
+
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of tinted drawable {@linkplain Drawable.ConstantState constant states} keyed by
+ * drawable ID, tint attribute ID and theme identity. Themes are only weakly referenced so a cached
+ * entry never keeps a theme, and with it a screen's resources, alive.
+ */
+final class TintedDrawableCache {
+  private static final int MAX_SIZE = 64;
+
+  private static final Map<Key, Drawable.ConstantState> STATES =
+      new LinkedHashMap<Key, Drawable.ConstantState>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(
+            Map.Entry<Key, Drawable.ConstantState> eldest) {
+          return size() > MAX_SIZE || eldest.getKey().theme() == null;
+        }
+      };
+
+  /** Reused for lookups so that a cache hit does not allocate a key. Guarded by STATES. */
+  private static final Key LOOKUP = new Key();
+
+  static Drawable.ConstantState get(Resources.Theme theme, int id, int tintAttrId) {
+    synchronized (STATES) {
+      LOOKUP.set(id, tintAttrId, theme);
+      Drawable.ConstantState state = STATES.get(LOOKUP);
+      LOOKUP.set(0, 0, null);
+      return state;
+    }
+  }
+
+  static void put(Resources.Theme theme, int id, int tintAttrId, Drawable.ConstantState state) {
+    Key key = new Key();
+    key.set(id, tintAttrId, theme);
+    key.retainWeakly();
+    synchronized (STATES) {
+      STATES.put(key, state);
+    }
+  }
+
+  static void clear() {
+    synchronized (STATES) {
+      STATES.clear();
+    }
+  }
+
+  private static final class Key {
+    int id;
+    int tintAttrId;
+    int themeHash;
+    private Resources.Theme theme;
+    private WeakReference<Resources.Theme> themeReference;
+
+    void set(int id, int tintAttrId, Resources.Theme theme) {
+      this.id = id;
+      this.tintAttrId = tintAttrId;
+      this.theme = theme;
+      this.themeHash = System.identityHashCode(theme);
+    }
+
+    void retainWeakly() {
+      themeReference = new WeakReference<>(theme);
+      theme = null;
+    }
+
+    Resources.Theme theme() {
+      return themeReference != null ? themeReference.get() : theme;
+    }
+
+    @Override public boolean equals(Object o) {
+      if (!(o instanceof Key)) return false;
+      Key other = (Key) o;
+      Resources.Theme theme = theme();
+      return id == other.id
+          && tintAttrId == other.tintAttrId
+          && theme != null
+          && theme == other.theme();
+    }
+
+    @Override public int hashCode() {
+      int result = id;
+      result = 31 * result + tintAttrId;
+      result = 31 * result + themeHash;
+      return result;
+    }
+  }
+
+  private TintedDrawableCache() {
+    throw new AssertionError("No instances.");
+  }
+}
@@ -0,0 +1,56 @@
+package butterknife.internal;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * Systrace sections around binding work. Generated bindings only call this when built with the
+ * {@code butterknife.trace} processor option. {@code android.os.Trace} exists from API 18 so
+ * older platforms record nothing.
+ */
+@SuppressWarnings("WeakerAccess") // Used by generated code.
+public final class Tracing {
+  /** Longer section names are rejected by the platform. */
+  private static final int MAX_SECTION_NAME_LENGTH = 127;
+
+  private static volatile boolean enabled;
+
+  /** Control whether {@code ButterKnife} marks its own work, such as finding bindings. */
+  public static void setEnabled(boolean enabled) {
+    Tracing.enabled = enabled;
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void beginSection(String name) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+      beginSectionApi18(name);
+    }
+  }
+
+  public static void endSection() {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+      endSectionApi18();
+    }
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+  private static void beginSectionApi18(String name) {
+    if (name.length() > MAX_SECTION_NAME_LENGTH) {
+      name = name.substring(0, MAX_SECTION_NAME_LENGTH);
+    }
+    Trace.beginSection(name);
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+  private static void endSectionApi18() {
+    Trace.endSection();
+  }
+
+  private Tracing() {
+    throw new AssertionError("No instances.");
+  }
+}
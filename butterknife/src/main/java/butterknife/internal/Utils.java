@@ -3,6 +3,7 @@ package butterknife.internal;
 import android.content.Context;
 import android.content.res.Resources;
 import android.graphics.drawable.Drawable;
+import android.support.annotation.AnyThread;
 import android.support.annotation.AttrRes;
 import android.support.annotation.DimenRes;
 import android.support.annotation.DrawableRes;
@@ -12,17 +13,58 @@ import android.support.v4.content.ContextCompat;
 import android.support.v4.graphics.drawable.DrawableCompat;
 import android.util.TypedValue;
 import android.view.View;
+import butterknife.R;
+import butterknife.ViewIndex;
 import java.lang.reflect.Array;
 import java.util.List;
 
 @SuppressWarnings("WeakerAccess") // Used by generated code.
 public final class Utils {
-  private static final TypedValue VALUE = new TypedValue();
+  /** Scratch value for attribute and resource lookups. One per thread so lookups never contend. */
+  private static final ThreadLocal<TypedValue> VALUE = new ThreadLocal<TypedValue>() {
+    @Override protected TypedValue initialValue() {
+      return new TypedValue();
+    }
+  };
+
+  /** Whether binding constructors leave resource fields to the caller. Main thread only. */
+  private static boolean resourceBindingDeferred;
+
+  /**
+   * Returns true while {@link #setResourceBindingDeferred(boolean)} has told binding constructors
+   * not to bind resource fields because the caller resolves them elsewhere.
+   */
+  @UiThread
+  public static boolean isResourceBindingDeferred() {
+    return resourceBindingDeferred;
+  }
+
+  /**
+   * Control whether binding constructors created on the main thread bind resource fields. When
+   * deferred, the caller is responsible for invoking each generated {@code bindResources} method.
+   */
+  @UiThread
+  public static void setResourceBindingDeferred(boolean deferred) {
+    resourceBindingDeferred = deferred;
+  }
 
-  @UiThread // Implicit synchronization for use of shared resource VALUE.
+  /**
+   * Returns a drawable for {@code id} tinted with the color that {@code tintAttrId} resolves to in
+   * the context's theme. The tinted state is cached per theme so later calls only create a new
+   * drawable from it instead of resolving, loading and tinting again. Each drawable returned is
+   * mutated, so changing one never changes the others or the cached state.
+   */
+  @AnyThread
   public static Drawable getTintedDrawable(Context context,
       @DrawableRes int id, @AttrRes int tintAttrId) {
-    boolean attributeFound = context.getTheme().resolveAttribute(tintAttrId, VALUE, true);
+    Resources.Theme theme = context.getTheme();
+    Drawable.ConstantState state = TintedDrawableCache.get(theme, id, tintAttrId);
+    if (state != null) {
+      return state.newDrawable(context.getResources()).mutate();
+    }
+
+    TypedValue value = VALUE.get();
+    boolean attributeFound = theme.resolveAttribute(tintAttrId, value, true);
     if (!attributeFound) {
       throw new Resources.NotFoundException("Required tint color attribute with name "
           + context.getResources().getResourceEntryName(tintAttrId)
@@ -33,14 +75,22 @@ public final class Utils {
 
     Drawable drawable = ContextCompat.getDrawable(context, id);
     drawable = DrawableCompat.wrap(drawable.mutate());
-    int color = ContextCompat.getColor(context, VALUE.resourceId);
+    int color = ContextCompat.getColor(context, value.resourceId);
     DrawableCompat.setTint(drawable, color);
+
+    state = drawable.getConstantState();
+    if (state != null) {
+      TintedDrawableCache.put(theme, id, tintAttrId, state);
+      ResourceCache.registerInvalidator(context);
+      // The drawable tinted here shares the state now cached.
+      return state.newDrawable(context.getResources()).mutate();
+    }
     return drawable;
   }
 
-  @UiThread // Implicit synchronization for use of shared resource VALUE.
+  @AnyThread
   public static float getFloat(Context context, @DimenRes int id) {
-    TypedValue value = VALUE;
+    TypedValue value = VALUE.get();
     context.getResources().getValue(id, value, true);
     if (value.type == TypedValue.TYPE_FLOAT) {
       return value.getFloat();
@@ -49,6 +99,19 @@ public final class Utils {
         + " type #0x" + Integer.toHexString(value.type) + " is not valid");
   }
 
+  /** Associate {@code view} with the holder its shared listeners dispatch to. */
+  @UiThread
+  public static void setHolder(View view, Object holder) {
+    view.setTag(R.id.butterknife_holder, holder);
+  }
+
+  /** Returns the holder a shared listener should dispatch an event from {@code view} to. */
+  @SuppressWarnings("unchecked") // Only set by generated code for the matching holder type.
+  @UiThread
+  public static <T> T getHolder(View view) {
+    return (T) view.getTag(R.id.butterknife_holder);
+  }
+
   @SafeVarargs
   public static <T> T[] arrayOf(T... views) {
     return filterNull(views);
@@ -77,14 +140,46 @@ public final class Utils {
     return newViews;
   }
 
+  /** Like {@link View#findViewById(int)} but returns null when {@code source} is missing too. */
+  public static View findOptionalView(View source, @IdRes int id) {
+    return source != null ? ViewIndex.findViewById(source, id) : null;
+  }
+
   public static <T> T findOptionalViewAsType(View source, @IdRes int id, String who,
       Class<T> cls) {
-    View view = source.findViewById(id);
+    View view = findOptionalView(source, id);
+    return castView(view, id, who, cls);
+  }
+
+  /**
+   * Like {@link #findOptionalView(View, int)} but skips the search when {@code missing} remembers
+   * that the layout has no view with {@code id}, and remembers it when the search fails.
+   */
+  @UiThread
+  public static View findOptionalView(View source, @IdRes int id,
+      MissingViewCache.Layout missing) {
+    if (missing == null) {
+      return findOptionalView(source, id);
+    }
+    if (missing.isMissing(id)) {
+      return null;
+    }
+    View view = findOptionalView(source, id);
+    if (view == null) {
+      missing.setMissing(id);
+    }
+    return view;
+  }
+
+  @UiThread
+  public static <T> T findOptionalViewAsType(View source, @IdRes int id,
+      MissingViewCache.Layout missing, String who, Class<T> cls) {
+    View view = findOptionalView(source, id, missing);
     return castView(view, id, who, cls);
   }
 
   public static View findRequiredView(View source, @IdRes int id, String who) {
-    View view = source.findViewById(id);
+    View view = ViewIndex.findViewById(source, id);
     if (view != null) {
       return view;
     }
@@ -0,0 +1,219 @@
+package butterknife;
+
+import butterknife.compiler.ButterKnifeProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class BindHolderTest {
+  @Test public void bindHolderGeneratesStaticBind() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindHolder;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.OnClick;\n"
+        + "@BindHolder\n"
+        + "public class Test {\n"
+        + "  @BindView(1) View thing;\n"
+        + "  @OnClick(1) void doStuff() {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.LayoutInflater;\n"
+        + "import android.view.View;\n"
+        + "import android.view.ViewGroup;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Object;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private static final DebouncingOnClickListener LISTENER_0 = new"
+        + " DebouncingOnClickListener(\"Test.doStuff\") {\n"
+        + "    @Override\n"
+        + "    public void doClick(View p0) {\n"
+        + "      final Test target = Utils.getHolder(p0);\n"
+        + "      target.doStuff();\n"
+        + "    }\n"
+        + "  };\n"
+        + "  private Test target;\n"
+        + "  private View source;\n"
+        + "  private View view1;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source) {\n"
+        + "    this.target = target;\n"
+        + "    this.source = source;\n"
+        + "    View view;\n"
+        + "    view = Utils.findRequiredView(source, 1, \"field 'thing' and method 'doStuff'\");\n"
+        + "    target.thing = view;\n"
+        + "    view1 = view;\n"
+        + "    view.setOnClickListener(new DebouncingOnClickListener(\"Test.doStuff\") {\n"
+        + "      @Override\n"
+        + "      public void doClick(View p0) {\n"
+        + "        target.doStuff();\n"
+        + "      }\n"
+        + "    });\n"
+        + "  }\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, LayoutInflater inflater, ViewGroup"
+        + " container,\n"
+        + "      int layoutId) {\n"
+        + "    this.target = target;\n"
+        + "    if(layoutId != 0)\n"
+        + "        source = inflater.inflate(layoutId, container, false);\n"
+        + "    View view;\n"
+        + "    view = Utils.findRequiredView(source, 1, \"field 'thing' and method 'doStuff'\");\n"
+        + "    target.thing = view;\n"
+        + "    view1 = view;\n"
+        + "    view.setOnClickListener(new DebouncingOnClickListener(\"Test.doStuff\") {\n"
+        + "      @Override\n"
+        + "      public void doClick(View p0) {\n"
+        + "        target.doStuff();\n"
+        + "      }\n"
+        + "    });\n"
+        + "  }\n"
+        + "  @UiThread\n"
+        + "  public static void bind(final Test target, View source) {\n"
+        + "    View view;\n"
+        + "    view = Utils.findRequiredView(source, 1, \"field 'thing' and method 'doStuff'\");\n"
+        + "    target.thing = view;\n"
+        + "    Utils.setHolder(view, target);\n"
+        + "    view.setOnClickListener(LISTENER_0);\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    Test target = this.target;\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already"
+        + " cleared.\");\n"
+        + "    this.target = null;\n"
+        + "    target.thing = null;\n"
+        + "    view1.setOnClickListener(null);\n"
+        + "    view1 = null;\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Object getLayout() {\n"
+        + "    return source;\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
+  @Test public void holderListenerReceivesAdapterPosition() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindHolder;\n"
+        + "import butterknife.OnClick;\n"
+        + "@BindHolder\n"
+        + "public class Test {\n"
+        + "  int getAdapterPosition() {\n"
+        + "    return 0;\n"
+        + "  }\n"
+        + "  @OnClick(1) void doStuff(View view, int position) {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.LayoutInflater;\n"
+        + "import android.view.View;\n"
+        + "import android.view.ViewGroup;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Object;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private static final DebouncingOnClickListener LISTENER_0 = new"
+        + " DebouncingOnClickListener(\"Test.doStuff\") {\n"
+        + "    @Override\n"
+        + "    public void doClick(View p0) {\n"
+        + "      final Test target = Utils.getHolder(p0);\n"
+        + "      target.doStuff(p0, target.getAdapterPosition());\n"
+        + "    }\n"
+        + "  };\n"
+        + "  private Test target;\n"
+        + "  private View source;\n"
+        + "  private View view1;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source) {\n"
+        + "    this.target = target;\n"
+        + "    this.source = source;\n"
+        + "    View view;\n"
+        + "    view = Utils.findRequiredView(source, 1, \"method 'doStuff'\");\n"
+        + "    view1 = view;\n"
+        + "    view.setOnClickListener(new DebouncingOnClickListener(\"Test.doStuff\") {\n"
+        + "      @Override\n"
+        + "      public void doClick(View p0) {\n"
+        + "        target.doStuff(p0, target.getAdapterPosition());\n"
+        + "      }\n"
+        + "    });\n"
+        + "  }\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, LayoutInflater inflater, ViewGroup"
+        + " container,\n"
+        + "      int layoutId) {\n"
+        + "    this.target = target;\n"
+        + "    if(layoutId != 0)\n"
+        + "        source = inflater.inflate(layoutId, container, false);\n"
+        + "    View view;\n"
+        + "    view = Utils.findRequiredView(source, 1, \"method 'doStuff'\");\n"
+        + "    view1 = view;\n"
+        + "    view.setOnClickListener(new DebouncingOnClickListener(\"Test.doStuff\") {\n"
+        + "      @Override\n"
+        + "      public void doClick(View p0) {\n"
+        + "        target.doStuff(p0, target.getAdapterPosition());\n"
+        + "      }\n"
+        + "    });\n"
+        + "  }\n"
+        + "  @UiThread\n"
+        + "  public static void bind(final Test target, View source) {\n"
+        + "    View view;\n"
+        + "    view = Utils.findRequiredView(source, 1, \"method 'doStuff'\");\n"
+        + "    Utils.setHolder(view, target);\n"
+        + "    view.setOnClickListener(LISTENER_0);\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already"
+        + " cleared.\");\n"
+        + "    target = null;\n"
+        + "    view1.setOnClickListener(null);\n"
+        + "    view1 = null;\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Object getLayout() {\n"
+        + "    return source;\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+}
@@ -0,0 +1,141 @@
+package butterknife;
+
+import butterknife.compiler.ButterKnifeProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class BindViewStubTest {
+  @Test public void bindingViewStub() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.BindViewStub;\n"
+        + "import butterknife.LazyStub;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Test extends Activity {\n"
+        + "  @BindViewStub(1) LazyStub<View> details;\n"
+        + "  @BindView(value = 2, stubId = 1) TextView title;\n"
+        + "  @OnClick(value = 2, stubId = 1) void doStuff() {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import android.view.ViewStub;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.LazyStub;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Object;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  private LazyStub<View> stub1;\n"
+        + "  private View view2;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source, int layoutId) {\n"
+        + "    this.target = target;\n"
+        + "    if(layoutId != 0)\n"
+        + "        target.setContentView(layoutId);\n"
+        + "    stub1 = LazyStub.of(Utils.findRequiredViewAsType(source, 1, \"field 'details'\","
+        + " ViewStub.class), View.class, new LazyStub.Binder() {\n"
+        + "      @Override\n"
+        + "      public void bind(View source) {\n"
+        + "        View view;\n"
+        + "        view = Utils.findRequiredView(source, 2, \"field 'title' and method"
+        + " 'doStuff'\");\n"
+        + "        target.title = Utils.castView(view, 2, \"field 'title'\", TextView.class);\n"
+        + "        view2 = view;\n"
+        + "        view.setOnClickListener(new DebouncingOnClickListener(\"Test.doStuff\") {\n"
+        + "          @Override\n"
+        + "          public void doClick(View p0) {\n"
+        + "            target.doStuff();\n"
+        + "          }\n"
+        + "        });\n"
+        + "      }\n"
+        + "    });\n"
+        + "    target.details = stub1;\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    Test target = this.target;\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already"
+        + " cleared.\");\n"
+        + "    this.target = null;\n"
+        + "    target.details = null;\n"
+        + "    target.title = null;\n"
+        + "    if (view2 != null) {\n"
+        + "      view2.setOnClickListener(null);\n"
+        + "      view2 = null;\n"
+        + "    }\n"
+        + "    stub1.unbind();\n"
+        + "    stub1 = null;\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Object getLayout() {\n"
+        + "    throw new IllegalStateException(\"sorry,you can't call this way\");\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
+  @Test public void failsIfStubFieldIsNotLazyStub() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.ViewStub;\n"
+        + "import butterknife.BindViewStub;\n"
+        + "public class Test extends Activity {\n"
+        + "  @BindViewStub(1) ViewStub details;\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .processedWith(new ButterKnifeProcessor())
+        .failsToCompile()
+        .withErrorContaining(
+            "@BindViewStub field type must be 'butterknife.LazyStub'. (test.Test.details)")
+        .in(source).onLine(6);
+  }
+
+  @Test public void failsIfStubIsBoundTwice() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindViewStub;\n"
+        + "import butterknife.LazyStub;\n"
+        + "public class Test extends Activity {\n"
+        + "  @BindViewStub(1) LazyStub<View> details;\n"
+        + "  @BindViewStub(1) LazyStub<View> more;\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .processedWith(new ButterKnifeProcessor())
+        .failsToCompile()
+        .withErrorContaining(
+            "Attempt to use @BindViewStub for an already bound stub ID 1. (test.Test.more)")
+        .in(source).onLine(8);
+  }
+}
@@ -0,0 +1,284 @@
+package butterknife;
+
+import butterknife.compiler.ButterKnifeProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+import static java.util.Arrays.asList;
+import static javax.tools.StandardLocation.CLASS_OUTPUT;
+
+public class BindingRegistryTest {
+  @Test public void registryBindsWithoutReflection() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test extends Activity {\n"
+        + "  @BindView(1) View thing;\n"
+        + "}"
+    );
+
+    JavaFileObject registrySource = JavaFileObjects.forSourceString("test/TestBindings", ""
+        + "package test;\n"
+        + "import android.content.Context;\n"
+        + "import android.view.LayoutInflater;\n"
+        + "import android.view.View;\n"
+        + "import android.view.ViewGroup;\n"
+        + "import butterknife.BindingRegistry;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import java.lang.Class;\n"
+        + "import java.lang.Integer;\n"
+        + "import java.lang.Object;\n"
+        + "import java.lang.Override;\n"
+        + "import java.lang.SuppressWarnings;\n"
+        + "import java.util.HashMap;\n"
+        + "import java.util.Map;\n"
+        + "@SuppressWarnings(\"unchecked\")\n"
+        + "public final class TestBindings implements BindingRegistry {\n"
+        + "  private static final Map<Class<?>, Integer> INDEX = new HashMap<>();\n"
+        + "  static {\n"
+        + "    INDEX.put(Test.class, 0);\n"
+        + "  }\n"
+        + "  private static int indexOf(Class<?> targetClass) {\n"
+        + "    Integer index = INDEX.get(targetClass);\n"
+        + "    return index != null ? index : -1;\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Class<?>[] getTargetClasses() {\n"
+        + "    return new Class<?>[] {\n"
+        + "        Test.class};\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Unbinder bind(Class<?> targetClass, Object target, View source) {\n"
+        + "    switch (indexOf(targetClass)) {\n"
+        + "      case 0:\n"
+        + "        return new Test_ViewBinding((Test) target, source, 0);\n"
+        + "      default:\n"
+        + "        return null;\n"
+        + "    }\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Unbinder inflate(Class<?> targetClass, Object target, LayoutInflater"
+        + " inflater,\n"
+        + "      ViewGroup container) {\n"
+        + "    switch (indexOf(targetClass)) {\n"
+        + "      default:\n"
+        + "        return null;\n"
+        + "    }\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public void bindResources(Class<?> targetClass, Object target, Context context) {\n"
+        + "  }\n"
+        + "}"
+    );
+
+    JavaFileObject fragmentSource = JavaFileObjects.forSourceString(
+        "butterknife/index/test_TestBindings", ""
+        + "package butterknife.index;\n"
+        + "import butterknife.internal.IndexFragment;\n"
+        + "@IndexFragment(\"test.TestBindings\")\n"
+        + "public final class test_TestBindings {\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.registry=test.TestBindings")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(registrySource, fragmentSource);
+  }
+
+  @Test public void reflectiveBindingGetsKeepRules() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindString;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test {\n"
+        + "  @BindView(1) View thing;\n"
+        + "  @BindString(2) String text;\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesFileNamed(CLASS_OUTPUT, "",
+            "META-INF/proguard/butterknife-test.Test_ViewBinding.pro")
+        .withStringContents(UTF_8, ""
+            + "# Generated code from Butter Knife. Do not modify!\n"
+            + "-keepnames class test.Test\n"
+            + "-if class test.Test\n"
+            + "-keep class test.Test_ViewBinding {\n"
+            + "    public <init>(test.Test, android.view.View);\n"
+            + "    public <init>(test.Test, android.view.LayoutInflater, android.view.ViewGroup,"
+            + " int);\n"
+            + "    public static void bindResources(test.Test, android.content.Context);\n"
+            + "}\n");
+  }
+
+  @Test public void registrySwitchesOnTheIndexOfTheTarget() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test extends Activity {\n"
+        + "  @BindView(1) View thing;\n"
+        + "}"
+    );
+
+    JavaFileObject otherSource = JavaFileObjects.forSourceString("test.Other", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Other {\n"
+        + "  @BindView(2) View thing;\n"
+        + "}"
+    );
+
+    JavaFileObject registrySource = JavaFileObjects.forSourceString("test/TestBindings", ""
+        + "package test;\n"
+        + "import android.content.Context;\n"
+        + "import android.view.LayoutInflater;\n"
+        + "import android.view.View;\n"
+        + "import android.view.ViewGroup;\n"
+        + "import butterknife.BindingRegistry;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import java.lang.Class;\n"
+        + "import java.lang.Integer;\n"
+        + "import java.lang.Object;\n"
+        + "import java.lang.Override;\n"
+        + "import java.lang.SuppressWarnings;\n"
+        + "import java.util.HashMap;\n"
+        + "import java.util.Map;\n"
+        + "@SuppressWarnings(\"unchecked\")\n"
+        + "public final class TestBindings implements BindingRegistry {\n"
+        + "  private static final Map<Class<?>, Integer> INDEX = new HashMap<>();\n"
+        + "  static {\n"
+        + "    INDEX.put(Other.class, 0);\n"
+        + "    INDEX.put(Test.class, 1);\n"
+        + "  }\n"
+        + "  private static int indexOf(Class<?> targetClass) {\n"
+        + "    Integer index = INDEX.get(targetClass);\n"
+        + "    return index != null ? index : -1;\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Class<?>[] getTargetClasses() {\n"
+        + "    return new Class<?>[] {\n"
+        + "        Other.class,\n"
+        + "        Test.class};\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Unbinder bind(Class<?> targetClass, Object target, View source) {\n"
+        + "    switch (indexOf(targetClass)) {\n"
+        + "      case 0:\n"
+        + "        return new Other_ViewBinding((Other) target, source);\n"
+        + "      case 1:\n"
+        + "        return new Test_ViewBinding((Test) target, source, 0);\n"
+        + "      default:\n"
+        + "        return null;\n"
+        + "    }\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Unbinder inflate(Class<?> targetClass, Object target, LayoutInflater"
+        + " inflater,\n"
+        + "      ViewGroup container) {\n"
+        + "    switch (indexOf(targetClass)) {\n"
+        + "      case 0:\n"
+        + "        return new Other_ViewBinding((Other) target, inflater, container, 0);\n"
+        + "      default:\n"
+        + "        return null;\n"
+        + "    }\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public void bindResources(Class<?> targetClass, Object target, Context context) {\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSources()).that(asList(source, otherSource))
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.registry=test.TestBindings")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(registrySource);
+  }
+
+  @Test public void indexMergesTheRegistriesOfEveryModule() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test extends Activity {\n"
+        + "  @BindView(1) View thing;\n"
+        + "}"
+    );
+
+    // What another module's registry and its index fragment contribute to the classpath.
+    JavaFileObject libRegistrySource = JavaFileObjects.forSourceString("lib.LibBindings", ""
+        + "package lib;\n"
+        + "import android.content.Context;\n"
+        + "import android.view.LayoutInflater;\n"
+        + "import android.view.View;\n"
+        + "import android.view.ViewGroup;\n"
+        + "import butterknife.BindingRegistry;\n"
+        + "import butterknife.Unbinder;\n"
+        + "public final class LibBindings implements BindingRegistry {\n"
+        + "  @Override public Class<?>[] getTargetClasses() {\n"
+        + "    return new Class<?>[0];\n"
+        + "  }\n"
+        + "  @Override public Unbinder bind(Class<?> targetClass, Object target, View source) {\n"
+        + "    return null;\n"
+        + "  }\n"
+        + "  @Override public Unbinder inflate(Class<?> targetClass, Object target, LayoutInflater"
+        + " inflater,\n"
+        + "      ViewGroup container) {\n"
+        + "    return null;\n"
+        + "  }\n"
+        + "  @Override public void bindResources(Class<?> targetClass, Object target, Context"
+        + " context) {\n"
+        + "  }\n"
+        + "}"
+    );
+    JavaFileObject libFragmentSource = JavaFileObjects.forSourceString(
+        "butterknife.index.lib_LibBindings", ""
+        + "package butterknife.index;\n"
+        + "import butterknife.internal.IndexFragment;\n"
+        + "@IndexFragment(\"lib.LibBindings\")\n"
+        + "public final class lib_LibBindings {\n"
+        + "}"
+    );
+
+    JavaFileObject indexSource = JavaFileObjects.forSourceString("test/AppIndex", ""
+        + "package test;\n"
+        + "import butterknife.internal.AggregateRegistry;\n"
+        + "import lib.LibBindings;\n"
+        + "public final class AppIndex extends AggregateRegistry {\n"
+        + "  public AppIndex() {\n"
+        + "    super(\n"
+        + "        new LibBindings(),\n"
+        + "        new TestBindings());\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSources()).that(asList(source, libRegistrySource, libFragmentSource))
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.registry=test.TestBindings",
+            "-Abutterknife.index=test.AppIndex")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(indexSource);
+  }
+}
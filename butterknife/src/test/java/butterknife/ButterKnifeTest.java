@@ -0,0 +1,101 @@
+package butterknife;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.annotation.Config.NONE;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = NONE)
+public final class ButterKnifeTest {
+  /** Shared since registries stay registered. Adding the same one again changes nothing. */
+  private static final RecordingRegistry REGISTRY = new RecordingRegistry();
+
+  private final View source = new View(RuntimeEnvironment.application);
+
+  @Before public void setUp() {
+    ButterKnife.addRegistry(REGISTRY);
+    REGISTRY.bound.clear();
+  }
+
+  @Test public void registeredTargetIsBoundByItsRegistry() {
+    ButterKnife.bind(new Registered(), source);
+
+    assertThat(REGISTRY.bound).containsExactly(Registered.class);
+  }
+
+  @Test public void subclassWithoutBindingIsBoundAsItsRegisteredSuperclass() {
+    ButterKnife.bind(new Unbound(), source);
+
+    assertThat(REGISTRY.bound).containsExactly(Registered.class);
+  }
+
+  @Test public void subclassWithOwnBindingIsNotBoundByTheRegistry() {
+    Unregistered target = new Unregistered();
+    ButterKnife.bind(target, source);
+
+    assertThat(REGISTRY.bound).isEmpty();
+    assertThat(target.boundReflectively).isTrue();
+  }
+
+  @Test public void targetWithoutAnyBindingIsNotBound() {
+    assertThat(ButterKnife.bind(new Object(), source)).isSameAs(Unbinder.EMPTY);
+    assertThat(REGISTRY.bound).isEmpty();
+  }
+
+  public static class Registered {
+  }
+
+  public static class Unbound extends Registered {
+  }
+
+  public static class Unregistered extends Registered {
+    boolean boundReflectively;
+  }
+
+  /** Found reflectively, as a binding generated for {@link Unregistered} would be. */
+  public static final class Unregistered_ViewBinding implements Unbinder {
+    public Unregistered_ViewBinding(Unregistered target, View source) {
+      target.boundReflectively = true;
+    }
+
+    @Override public void unbind() {
+    }
+
+    @Override public Object getLayout() {
+      return null;
+    }
+  }
+
+  static final class RecordingRegistry implements BindingRegistry {
+    final List<Class<?>> bound = new ArrayList<>();
+
+    @Override public Class<?>[] getTargetClasses() {
+      return new Class<?>[] { Registered.class };
+    }
+
+    @Override public Unbinder bind(Class<?> targetClass, Object target, View source) {
+      bound.add(targetClass);
+      return Unbinder.EMPTY;
+    }
+
+    @Override public Unbinder inflate(Class<?> targetClass, Object target,
+        LayoutInflater inflater, ViewGroup container) {
+      return null;
+    }
+
+    @Override public void bindResources(Class<?> targetClass, Object target, Context context) {
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package butterknife;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class ClickLatencyTest {
+  private final List<String> slowClicks = new ArrayList<>();
+
+  @Before public void setUp() {
+    ClickLatency.setEnabled(true);
+    ClickLatency.clear();
+  }
+
+  @After public void tearDown() {
+    ClickLatency.setEnabled(false);
+    ClickLatency.clear();
+    ClickLatency.setSlowClickListener(null);
+    ClickLatency.setFrameBudget(16);
+  }
+
+  @Test public void clicksAreKeptOldestFirst() {
+    ClickLatency.record("Test.first", 100, 150);
+    ClickLatency.record("Test.second", 200, 210);
+
+    List<ClickLatency.Sample> samples = ClickLatency.snapshot();
+    assertThat(samples).hasSize(2);
+    assertThat(samples.get(0).getHandler()).isEqualTo("Test.first");
+    assertThat(samples.get(0).getDurationNanos()).isEqualTo(50);
+    assertThat(samples.get(1).getHandler()).isEqualTo("Test.second");
+    assertThat(samples.get(1).getDispatchNanos()).isEqualTo(200);
+    assertThat(samples.get(1).getCompletionNanos()).isEqualTo(210);
+  }
+
+  @Test public void onlyTheLastClicksAreKept() {
+    for (int i = 0; i < ClickLatency.CAPACITY + 10; i++) {
+      ClickLatency.record("Test.click" + i, i, i + 1);
+    }
+
+    List<ClickLatency.Sample> samples = ClickLatency.snapshot();
+    assertThat(samples).hasSize(ClickLatency.CAPACITY);
+    assertThat(samples.get(0).getHandler()).isEqualTo("Test.click10");
+    assertThat(samples.get(ClickLatency.CAPACITY - 1).getHandler())
+        .isEqualTo("Test.click" + (ClickLatency.CAPACITY + 9));
+  }
+
+  @Test public void clearForgetsClicks() {
+    ClickLatency.record("Test.click", 0, 1);
+    ClickLatency.clear();
+
+    assertThat(ClickLatency.snapshot()).isEmpty();
+  }
+
+  @Test public void slowClicksAreReported() {
+    ClickLatency.setFrameBudget(1);
+    ClickLatency.setSlowClickListener(new ClickLatency.SlowClickListener() {
+      @Override public void onSlowClick(String handler, long durationNanos) {
+        slowClicks.add(handler + " " + durationNanos);
+      }
+    });
+
+    ClickLatency.record("Test.fast", 0, 1000000);
+    ClickLatency.record("Test.slow", 0, 2000000);
+    ClickLatency.record(null, 0, 3000000);
+
+    assertThat(slowClicks).containsExactly("Test.slow 2000000", "unknown 3000000").inOrder();
+  }
+
+  @Test public void concurrentReadsNeverMixClicks() throws Exception {
+    final int writers = 4;
+    final int clicksPerWriter = 10000;
+    final CountDownLatch start = new CountDownLatch(1);
+    final AtomicReference<String> mixed = new AtomicReference<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int w = 0; w < writers; w++) {
+      final int writer = w;
+      threads.add(new Thread(new Runnable() {
+        @Override public void run() {
+          await(start);
+          for (int i = 0; i < clicksPerWriter; i++) {
+            long dispatch = writer * clicksPerWriter + i;
+            ClickLatency.record("Test.click" + dispatch, dispatch, dispatch * 2);
+          }
+        }
+      }));
+    }
+    Thread reader = new Thread(new Runnable() {
+      @Override public void run() {
+        await(start);
+        for (int i = 0; i < 200; i++) {
+          for (ClickLatency.Sample sample : ClickLatency.snapshot()) {
+            long dispatch = sample.getDispatchNanos();
+            if (!("Test.click" + dispatch).equals(sample.getHandler())
+                || sample.getCompletionNanos() != dispatch * 2) {
+              mixed.set(sample.getHandler() + " " + dispatch + " " + sample.getCompletionNanos());
+            }
+          }
+        }
+      }
+    });
+    threads.add(reader);
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(mixed.get()).isNull();
+    assertThat(ClickLatency.snapshot()).hasSize(ClickLatency.CAPACITY);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package butterknife;
+
+import butterknife.compiler.ButterKnifeProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class CoalesceTest {
+  @Test public void coalescedListeners() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.MotionEvent;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.OnTextChanged;\n"
+        + "import butterknife.OnTouch;\n"
+        + "public class Test extends Activity {\n"
+        + "  @OnTouch(value = 1, coalesce = true) boolean drag(View view, MotionEvent event) {\n"
+        + "    return true;\n"
+        + "  }\n"
+        + "  @OnTextChanged(value = 2, coalesce = true) void search(CharSequence text) {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.text.Editable;\n"
+        + "import android.text.TextWatcher;\n"
+        + "import android.view.MotionEvent;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.FrameCoalescer;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.CharSequence;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Object;\n"
+        + "import java.lang.Override;\n"
+        + "import java.lang.Runnable;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  private final FrameCoalescer coalescer0 = new FrameCoalescer();\n"
+        + "  private final FrameCoalescer coalescer1 = new FrameCoalescer();\n"
+        + "  private View view2;\n"
+        + "  private TextWatcher view2TextWatcher;\n"
+        + "  private View view1;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source, int layoutId) {\n"
+        + "    this.target = target;\n"
+        + "    if(layoutId != 0)\n"
+        + "        target.setContentView(layoutId);\n"
+        + "    View view;\n"
+        + "    view = Utils.findRequiredView(source, 2, \"method 'search'\");\n"
+        + "    view2 = view;\n"
+        + "    view2TextWatcher = new TextWatcher() {\n"
+        + "      @Override\n"
+        + "      public void onTextChanged(final CharSequence p0, final int p1, final int p2,"
+        + " final int p3) {\n"
+        + "        coalescer0.post(new Runnable() {\n"
+        + "          @Override\n"
+        + "          public void run() {\n"
+        + "            target.search(p0);\n"
+        + "          }\n"
+        + "        });\n"
+        + "      }\n"
+        + "      @Override\n"
+        + "      public void beforeTextChanged(CharSequence p0, int p1, int p2, int p3) {\n"
+        + "      }\n"
+        + "      @Override\n"
+        + "      public void afterTextChanged(Editable p0) {\n"
+        + "      }\n"
+        + "    };\n"
+        + "    ((TextView) view).addTextChangedListener(view2TextWatcher);\n"
+        + "    view = Utils.findRequiredView(source, 1, \"method 'drag'\");\n"
+        + "    view1 = view;\n"
+        + "    view.setOnTouchListener(new View.OnTouchListener() {\n"
+        + "      private boolean consumed0 = true;\n"
+        + "      @Override\n"
+        + "      public boolean onTouch(final View p0, final MotionEvent p1) {\n"
+        + "        if (p1.getActionMasked() != MotionEvent.ACTION_MOVE) {\n"
+        + "          coalescer1.flush();\n"
+        + "          consumed0 = target.drag(p0, p1);\n"
+        + "          return consumed0;\n"
+        + "        }\n"
+        + "        final MotionEvent event = MotionEvent.obtain(p1);\n"
+        + "        coalescer1.post(new FrameCoalescer.DiscardableTask() {\n"
+        + "          @Override\n"
+        + "          public void discard() {\n"
+        + "            event.recycle();\n"
+        + "          }\n"
+        + "          @Override\n"
+        + "          public void run() {\n"
+        + "            consumed0 = target.drag(p0, event);\n"
+        + "            event.recycle();\n"
+        + "          }\n"
+        + "        });\n"
+        + "        return consumed0;\n"
+        + "      }\n"
+        + "    });\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already"
+        + " cleared.\");\n"
+        + "    target = null;\n"
+        + "    ((TextView) view2).removeTextChangedListener(view2TextWatcher);\n"
+        + "    view2TextWatcher = null;\n"
+        + "    view2 = null;\n"
+        + "    view1.setOnTouchListener(null);\n"
+        + "    view1 = null;\n"
+        + "    coalescer0.cancel();\n"
+        + "    coalescer1.cancel();\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Object getLayout() {\n"
+        + "    throw new IllegalStateException(\"sorry,you can't call this way\");\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+}
@@ -0,0 +1,101 @@
+package butterknife;
+
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.View;
+import android.widget.TextView;
+import butterknife.internal.FrameCoalescer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.annotation.Config.NONE;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = NONE)
+public final class CoalescedUnbindTest {
+  private final Searcher target = new Searcher();
+  private final TextView view = new TextView(RuntimeEnvironment.application);
+
+  @Before public void setUp() {
+    // Hold frame callbacks until the test runs them, as a real frame would.
+    ShadowLooper.pauseMainLooper();
+  }
+
+  @Test public void lastChangeOfAFrameIsDelivered() {
+    new Searcher_ViewBinding(target, view);
+    view.setText("a");
+    view.setText("ab");
+    assertThat(target.searches).isEmpty();
+
+    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    assertThat(target.searches).containsExactly("ab");
+  }
+
+  @Test public void pendingChangeIsDroppedOnUnbind() {
+    Unbinder unbinder = new Searcher_ViewBinding(target, view);
+    view.setText("a");
+    unbinder.unbind();
+
+    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    assertThat(target.searches).isEmpty();
+  }
+
+  public static class Searcher {
+    final List<String> searches = new ArrayList<>();
+
+    void search(CharSequence text) {
+      searches.add(text.toString());
+    }
+  }
+
+  /** What is generated for {@code @OnTextChanged(value = 1, coalesce = true) search}. */
+  static final class Searcher_ViewBinding implements Unbinder {
+    private Searcher target;
+    private final FrameCoalescer coalescer0 = new FrameCoalescer();
+    private View view1;
+    private TextWatcher view1TextWatcher;
+
+    Searcher_ViewBinding(final Searcher target, View source) {
+      this.target = target;
+      view1 = source;
+      view1TextWatcher = new TextWatcher() {
+        @Override public void onTextChanged(final CharSequence p0, final int p1, final int p2,
+            final int p3) {
+          coalescer0.post(new Runnable() {
+            @Override public void run() {
+              target.search(p0);
+            }
+          });
+        }
+
+        @Override public void beforeTextChanged(CharSequence p0, int p1, int p2, int p3) {
+        }
+
+        @Override public void afterTextChanged(Editable p0) {
+        }
+      };
+      ((TextView) source).addTextChangedListener(view1TextWatcher);
+    }
+
+    @Override public void unbind() {
+      if (target == null) throw new IllegalStateException("Bindings already cleared.");
+      target = null;
+      ((TextView) view1).removeTextChangedListener(view1TextWatcher);
+      view1TextWatcher = null;
+      view1 = null;
+      coalescer0.cancel();
+    }
+
+    @Override public Object getLayout() {
+      return null;
+    }
+  }
+}
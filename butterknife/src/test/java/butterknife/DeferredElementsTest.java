@@ -0,0 +1,203 @@
+package butterknife;
+
+import butterknife.compiler.ButterKnifeProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+import static java.util.Arrays.asList;
+
+public class DeferredElementsTest {
+  private static final JavaFileObject TARGET = JavaFileObjects.forSourceString("test.Test", ""
+      + "package test;\n"
+      + "import android.app.Activity;\n"
+      + "import android.view.View;\n"
+      + "import butterknife.BindView;\n"
+      + "public class Test extends Activity {\n"
+      + "  @BindView(1) FancyView fancy;\n"
+      + "  @BindView(2) View plain;\n"
+      + "}"
+  );
+
+  @Test public void fieldOfGeneratedTypeIsBoundInALaterRound() {
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Object;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(Test target, View source, int layoutId) {\n"
+        + "    this.target = target;\n"
+        + "    if(layoutId != 0)\n"
+        + "        target.setContentView(layoutId);\n"
+        + "    target.fancy = Utils.findRequiredViewAsType(source, 1, \"field 'fancy'\","
+        + " FancyView.class);\n"
+        + "    target.plain = Utils.findRequiredView(source, 2, \"field 'plain'\");\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    Test target = this.target;\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already"
+        + " cleared.\");\n"
+        + "    this.target = null;\n"
+        + "    target.fancy = null;\n"
+        + "    target.plain = null;\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Object getLayout() {\n"
+        + "    throw new IllegalStateException(\"sorry,you can't call this way\");\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(TARGET)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor(), new FancyViewProcessor())
+        .compilesWithoutWarnings()
+        .withNoteCount(0)
+        .and()
+        .generatesSources(bindingSource);
+  }
+
+  @Test public void subclassWaitsForItsDeferredSuperclass() {
+    JavaFileObject child = JavaFileObjects.forSourceString("test.TestChild", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class TestChild extends Test {\n"
+        + "  @BindView(3) View other;\n"
+        + "}"
+    );
+
+    JavaFileObject childBindingSource =
+        JavaFileObjects.forSourceString("test/TestChild_ViewBinding", ""
+            + "package test;\n"
+            + "import android.support.annotation.UiThread;\n"
+            + "import android.view.View;\n"
+            + "import butterknife.internal.Utils;\n"
+            + "import java.lang.IllegalStateException;\n"
+            + "import java.lang.Object;\n"
+            + "import java.lang.Override;\n"
+            + "public class TestChild_ViewBinding extends Test_ViewBinding {\n"
+            + "  private TestChild target;\n"
+            + "  @UiThread\n"
+            + "  public TestChild_ViewBinding(TestChild target, View source, int layoutId) {\n"
+            + "    super(target, source, layoutId);\n"
+            + "    this.target = target;\n"
+            + "    if(layoutId != 0)\n"
+            + "        target.setContentView(layoutId);\n"
+            + "    target.other = Utils.findRequiredView(source, 3, \"field 'other'\");\n"
+            + "  }\n"
+            + "  @Override\n"
+            + "  public void unbind() {\n"
+            + "    TestChild target = this.target;\n"
+            + "    if (target == null) throw new IllegalStateException(\"Bindings already"
+            + " cleared.\");\n"
+            + "    this.target = null;\n"
+            + "    target.other = null;\n"
+            + "    super.unbind();\n"
+            + "  }\n"
+            + "  @Override\n"
+            + "  public Object getLayout() {\n"
+            + "    throw new IllegalStateException(\"sorry,you can't call this way\");\n"
+            + "  }\n"
+            + "}"
+    );
+
+    assertAbout(javaSources()).that(asList(TARGET, child))
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor(), new FancyViewProcessor())
+        .compilesWithoutWarnings()
+        .withNoteCount(0)
+        .and()
+        .generatesSources(childBindingSource);
+  }
+
+  @Test public void deferralIsTracedAtTheDebugLevel() {
+    JavaFileObject child = JavaFileObjects.forSourceString("test.TestChild", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class TestChild extends Test {\n"
+        + "  @BindView(3) View other;\n"
+        + "}"
+    );
+
+    assertAbout(javaSources()).that(asList(TARGET, child))
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.logLevel=debug")
+        .processedWith(new ButterKnifeProcessor(), new FancyViewProcessor())
+        .compilesWithoutError()
+        .withNoteContaining("Deferring test.Test to a later round until fancy resolves.")
+        .in(TARGET).onLine(6).and()
+        .withNoteContaining("Deferring test.TestChild to a later round with its superclass.")
+        .in(child).onLine(4);
+  }
+
+  @Test public void typeWhichNeverResolvesIsReported() {
+    assertAbout(javaSource()).that(TARGET)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .failsToCompile()
+        .withErrorContaining("cannot find symbol")
+        .in(TARGET).onLine(6);
+  }
+
+  /** Generates {@code test.FancyView} in the first round, as a view generating processor would. */
+  static final class FancyViewProcessor extends AbstractProcessor {
+    private boolean generated;
+
+    @Override public Set<String> getSupportedAnnotationTypes() {
+      return Collections.singleton("*");
+    }
+
+    @Override public SourceVersion getSupportedSourceVersion() {
+      return SourceVersion.latestSupported();
+    }
+
+    @Override public boolean process(Set<? extends TypeElement> annotations,
+        RoundEnvironment env) {
+      if (generated) {
+        return false;
+      }
+      generated = true;
+      try {
+        Writer writer = processingEnv.getFiler().createSourceFile("test.FancyView").openWriter();
+        try {
+          writer.write(""
+              + "package test;\n"
+              + "import android.content.Context;\n"
+              + "import android.view.View;\n"
+              + "public class FancyView extends View {\n"
+              + "  public FancyView(Context context) {\n"
+              + "    super(context);\n"
+              + "  }\n"
+              + "}");
+        } finally {
+          writer.close();
+        }
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+      return false;
+    }
+  }
+}
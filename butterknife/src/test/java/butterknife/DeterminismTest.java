@@ -0,0 +1,223 @@
+package butterknife;
+
+import butterknife.compiler.ButterKnifeProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import java.util.ArrayList;
+import java.util.List;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+import static java.util.Arrays.asList;
+import static javax.tools.StandardLocation.SOURCE_OUTPUT;
+
+public class DeterminismTest {
+  private static final JavaFileObject R = JavaFileObjects.forSourceString("test.R", ""
+      + "package test;\n"
+      + "public final class R {\n"
+      + "  public static final class id {\n"
+      + "    public static final int title = 0x7f010001;\n"
+      + "    public static final int save = 0x7f010002;\n"
+      + "    public static final int cancel = 0x7f010003;\n"
+      + "  }\n"
+      + "  public static final class string {\n"
+      + "    public static final int app = 0x7f020001;\n"
+      + "  }\n"
+      + "}"
+  );
+
+  private static final JavaFileObject LIB_R = JavaFileObjects.forSourceString("lib.R", ""
+      + "package lib;\n"
+      + "public final class R {\n"
+      + "  public static final class id {\n"
+      + "    public static final int more = 0x7f030001;\n"
+      + "  }\n"
+      + "}"
+  );
+
+  private static final JavaFileObject BASE = JavaFileObjects.forSourceString("test.Base", ""
+      + "package test;\n"
+      + "import android.app.Activity;\n"
+      + "import android.view.View;\n"
+      + "import android.widget.TextView;\n"
+      + "import butterknife.BindString;\n"
+      + "import butterknife.BindView;\n"
+      + "public class Base extends Activity {\n"
+      + "  @BindView(R.id.title) TextView title;\n"
+      + "  @BindView(lib.R.id.more) View more;\n"
+      + "  @BindString(R.string.app) String app;\n"
+      + "}"
+  );
+
+  private static final JavaFileObject CHILD = JavaFileObjects.forSourceString("test.Child", ""
+      + "package test;\n"
+      + "import android.view.View;\n"
+      + "import butterknife.BindView;\n"
+      + "import butterknife.OnClick;\n"
+      + "public class Child extends Base {\n"
+      + "  @BindView(R.id.cancel) View cancel;\n"
+      + "  @OnClick({R.id.save, R.id.cancel}) void save() {}\n"
+      + "}"
+  );
+
+  private static final String BASE_BINDING = ""
+      + "// Generated code from Butter Knife. Do not modify!\n"
+      + "package test;\n"
+      + "\n"
+      + "import android.content.Context;\n"
+      + "import android.support.annotation.AnyThread;\n"
+      + "import android.support.annotation.CallSuper;\n"
+      + "import android.support.annotation.UiThread;\n"
+      + "import android.view.View;\n"
+      + "import android.widget.TextView;\n"
+      + "import butterknife.Unbinder;\n"
+      + "import butterknife.internal.ResourceCache;\n"
+      + "import butterknife.internal.Utils;\n"
+      + "import java.lang.IllegalStateException;\n"
+      + "import java.lang.Object;\n"
+      + "import java.lang.Override;\n"
+      + "import java.lang.SuppressWarnings;\n"
+      + "\n"
+      + "public class Base_ViewBinding implements Unbinder {\n"
+      + "  private Base target;\n"
+      + "\n"
+      + "  @UiThread\n"
+      + "  public Base_ViewBinding(Base target, View source, int layoutId) {\n"
+      + "    this.target = target;\n"
+      + "\n"
+      + "    if(layoutId != 0)\n"
+      + "        target.setContentView(layoutId);\n"
+      + "\n"
+      + "    target.title = Utils.findRequiredViewAsType(source, R.id.title, \"field 'title'\","
+      + " TextView.class);\n"
+      + "    target.more = Utils.findRequiredView(source, lib.R.id.more, \"field 'more'\");\n"
+      + "\n"
+      + "    if (!Utils.isResourceBindingDeferred()) {\n"
+      + "      bindResources(target, target);\n"
+      + "    }\n"
+      + "  }\n"
+      + "\n"
+      + "  @AnyThread\n"
+      + "  @SuppressWarnings(\"ResourceType\")\n"
+      + "  public static void bindResources(Base target, Context context) {\n"
+      + "    target.app = ResourceCache.getString(context, R.string.app);\n"
+      + "  }\n"
+      + "\n"
+      + "  @Override\n"
+      + "  @CallSuper\n"
+      + "  public void unbind() {\n"
+      + "    Base target = this.target;\n"
+      + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+      + "    this.target = null;\n"
+      + "\n"
+      + "    target.title = null;\n"
+      + "    target.more = null;\n"
+      + "  }\n"
+      + "\n"
+      + "  @Override\n"
+      + "  public Object getLayout() {\n"
+      + "    throw new IllegalStateException(\"sorry,you can't call this way\");\n"
+      + "  }\n"
+      + "}\n";
+
+  private static final String CHILD_BINDING = ""
+      + "// Generated code from Butter Knife. Do not modify!\n"
+      + "package test;\n"
+      + "\n"
+      + "import android.support.annotation.UiThread;\n"
+      + "import android.view.View;\n"
+      + "import butterknife.internal.DebouncingOnClickListener;\n"
+      + "import butterknife.internal.Utils;\n"
+      + "import java.lang.IllegalStateException;\n"
+      + "import java.lang.Object;\n"
+      + "import java.lang.Override;\n"
+      + "\n"
+      + "public class Child_ViewBinding extends Base_ViewBinding {\n"
+      + "  private Child target;\n"
+      + "\n"
+      + "  private View view2130771971;\n"
+      + "\n"
+      + "  private View view2130771970;\n"
+      + "\n"
+      + "  @UiThread\n"
+      + "  public Child_ViewBinding(final Child target, View source, int layoutId) {\n"
+      + "    super(target, source, layoutId);\n"
+      + "\n"
+      + "    this.target = target;\n"
+      + "\n"
+      + "    if(layoutId != 0)\n"
+      + "        target.setContentView(layoutId);\n"
+      + "\n"
+      + "    View view;\n"
+      + "    view = Utils.findRequiredView(source, R.id.cancel, \"field 'cancel' and method"
+      + " 'save'\");\n"
+      + "    target.cancel = view;\n"
+      + "    view2130771971 = view;\n"
+      + "    view.setOnClickListener(new DebouncingOnClickListener(\"Child.save\") {\n"
+      + "      @Override\n"
+      + "      public void doClick(View p0) {\n"
+      + "        target.save();\n"
+      + "      }\n"
+      + "    });\n"
+      + "    view = Utils.findRequiredView(source, R.id.save, \"method 'save'\");\n"
+      + "    view2130771970 = view;\n"
+      + "    view.setOnClickListener(new DebouncingOnClickListener(\"Child.save\") {\n"
+      + "      @Override\n"
+      + "      public void doClick(View p0) {\n"
+      + "        target.save();\n"
+      + "      }\n"
+      + "    });\n"
+      + "  }\n"
+      + "\n"
+      + "  @Override\n"
+      + "  public void unbind() {\n"
+      + "    Child target = this.target;\n"
+      + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+      + "    this.target = null;\n"
+      + "\n"
+      + "    target.cancel = null;\n"
+      + "\n"
+      + "    view2130771971.setOnClickListener(null);\n"
+      + "    view2130771971 = null;\n"
+      + "    view2130771970.setOnClickListener(null);\n"
+      + "    view2130771970 = null;\n"
+      + "\n"
+      + "    super.unbind();\n"
+      + "  }\n"
+      + "\n"
+      + "  @Override\n"
+      + "  public Object getLayout() {\n"
+      + "    throw new IllegalStateException(\"sorry,you can't call this way\");\n"
+      + "  }\n"
+      + "}\n";
+
+  @Test public void reversedSourceOrderGeneratesTheSameBindings() {
+    assertGenerated(asList(R, LIB_R, BASE, CHILD));
+    assertGenerated(asList(CHILD, BASE, LIB_R, R));
+  }
+
+  @Test public void determinismCheckPassesInEitherSourceOrder() {
+    assertGenerated(asList(R, LIB_R, BASE, CHILD), "-Abutterknife.checkDeterminism=true");
+    assertGenerated(asList(CHILD, BASE, LIB_R, R), "-Abutterknife.checkDeterminism=true");
+  }
+
+  /** Compares the generated files byte for byte, which an equivalent syntax tree would not. */
+  private static void assertGenerated(List<JavaFileObject> sources, String... options) {
+    List<String> compilerOptions = new ArrayList<>();
+    compilerOptions.add("-Xlint:-processing");
+    compilerOptions.addAll(asList(options));
+
+    assertAbout(javaSources()).that(sources)
+        .withCompilerOptions(compilerOptions)
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesFileNamed(SOURCE_OUTPUT, "test", "Base_ViewBinding.java")
+        .withStringContents(UTF_8, BASE_BINDING)
+        .and()
+        .generatesFileNamed(SOURCE_OUTPUT, "test", "Child_ViewBinding.java")
+        .withStringContents(UTF_8, CHILD_BINDING);
+  }
+}
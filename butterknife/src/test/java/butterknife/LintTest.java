@@ -0,0 +1,157 @@
+package butterknife;
+
+import butterknife.compiler.ButterKnifeProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+import static java.util.Arrays.asList;
+
+public class LintTest {
+  @Test public void optionalLookupsFromTheRoot() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.support.annotation.Nullable;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test extends Activity {\n"
+        + "  @Nullable @BindView(1) View first;\n"
+        + "  @Nullable @BindView(2) View second;\n"
+        + "  @Nullable @BindView(value = 3, parentId = 4) View contained;\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.lint=true",
+            "-Abutterknife.lintOptionalLookups=1")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutError()
+        .withWarningCount(1)
+        .withWarningContaining("Test looks up 2 optional views from the root "
+            + "(field 'first', field 'second'). Each one missing from the layout costs a search "
+            + "of every view in it, up to 2 full-tree searches per bind.")
+        .in(source).onLine(6);
+  }
+
+  @Test public void viewLookedUpBySuperclassToo() {
+    JavaFileObject baseSource = JavaFileObjects.forSourceString("test.Base", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Base extends Activity {\n"
+        + "  @BindView(1) View title;\n"
+        + "}"
+    );
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test extends Base {\n"
+        + "  @BindView(1) View again;\n"
+        + "  @BindView(2) View fresh;\n"
+        + "}"
+    );
+
+    assertAbout(javaSources()).that(asList(baseSource, source))
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.lint=true")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutError()
+        .withWarningCount(1)
+        .withWarningContaining("field 'again' looks up ID 1, which the binding of its superclass "
+            + "Base looks up too.")
+        .in(source).onLine(5);
+  }
+
+  @Test public void deeplyNestedParentPath() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test extends Activity {\n"
+        + "  @BindView(value = 4, parentPath = {1, 2, 3}) View deep;\n"
+        + "  @BindView(value = 5, parentPath = {1, 2}) View shallow;\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.lint=true")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutError()
+        .withWarningCount(1)
+        .withWarningContaining("field 'deep' is found through 3 nested containers. "
+            + "Costs 3 container lookups and casts before the view itself per bind.")
+        .in(source).onLine(6);
+  }
+
+  @Test public void manyClickListeners() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Test extends Activity {\n"
+        + "  @OnClick(1) void first() {}\n"
+        + "  @OnClick(2) void second() {}\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.lint=true",
+            "-Abutterknife.lintClickListeners=1")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutError()
+        .withWarningCount(1)
+        .withWarningContaining("Test creates 2 click listener classes, one for each view with "
+            + "an @OnClick method. Costs about 1000 bytes of dex and 2 listener objects per bind.")
+        .in(source).onLine(4);
+  }
+
+  @Test public void largeBindViews() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindViews;\n"
+        + "import java.util.List;\n"
+        + "public class Test extends Activity {\n"
+        + "  @BindViews({1, 2, 3}) List<View> views;\n"
+        + "  @BindViews({4, 5}) List<View> few;\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.lint=true",
+            "-Abutterknife.lintBindViews=2")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutError()
+        .withWarningCount(1)
+        .withWarningContaining("field 'views' binds 3 views. Costs 3 searches of the view tree "
+            + "and a new 3-element collection per bind.")
+        .in(source).onLine(7);
+  }
+
+  @Test public void noWarningsWithoutLint() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Test extends Activity {\n"
+        + "  @BindView(value = 4, parentPath = {1, 2, 3}) View deep;\n"
+        + "  @OnClick(5) void first() {}\n"
+        + "  @OnClick(6) void second() {}\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.lintClickListeners=1")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings();
+  }
+}
@@ -0,0 +1,109 @@
+package butterknife;
+
+import butterknife.compiler.ButterKnifeProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class OnClickDispatchTest {
+  @Test public void dispatchedClicks() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.Backpressure;\n"
+        + "import butterknife.Dispatch;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Test extends Activity {\n"
+        + "  @OnClick(value = 1, dispatch = Dispatch.BACKGROUND) void sync(View view) {}\n"
+        + "  @OnClick(value = 2, dispatch = \"io\", backpressure = Backpressure.LATEST) void"
+        + " save() {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.Backpressure;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import butterknife.internal.DispatchChannel;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Object;\n"
+        + "import java.lang.Override;\n"
+        + "import java.lang.Runnable;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  private final DispatchChannel dispatch0 = new DispatchChannel(\"background\","
+        + " Backpressure.DROP);\n"
+        + "  private final DispatchChannel dispatch1 = new DispatchChannel(\"io\","
+        + " Backpressure.LATEST);\n"
+        + "  private View view1;\n"
+        + "  private View view2;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source, int layoutId) {\n"
+        + "    this.target = target;\n"
+        + "    if(layoutId != 0)\n"
+        + "        target.setContentView(layoutId);\n"
+        + "    View view;\n"
+        + "    view = Utils.findRequiredView(source, 1, \"method 'sync'\");\n"
+        + "    view1 = view;\n"
+        + "    view.setOnClickListener(new DebouncingOnClickListener(\"Test.sync\") {\n"
+        + "      @Override\n"
+        + "      public void doClick(final View p0) {\n"
+        + "        dispatch0.dispatch(new Runnable() {\n"
+        + "          @Override\n"
+        + "          public void run() {\n"
+        + "            target.sync(p0);\n"
+        + "          }\n"
+        + "        });\n"
+        + "      }\n"
+        + "    });\n"
+        + "    view = Utils.findRequiredView(source, 2, \"method 'save'\");\n"
+        + "    view2 = view;\n"
+        + "    view.setOnClickListener(new DebouncingOnClickListener(\"Test.save\") {\n"
+        + "      @Override\n"
+        + "      public void doClick(final View p0) {\n"
+        + "        dispatch1.dispatch(new Runnable() {\n"
+        + "          @Override\n"
+        + "          public void run() {\n"
+        + "            target.save();\n"
+        + "          }\n"
+        + "        });\n"
+        + "      }\n"
+        + "    });\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already"
+        + " cleared.\");\n"
+        + "    target = null;\n"
+        + "    view1.setOnClickListener(null);\n"
+        + "    view1 = null;\n"
+        + "    view2.setOnClickListener(null);\n"
+        + "    view2 = null;\n"
+        + "    dispatch0.close();\n"
+        + "    dispatch1.close();\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Object getLayout() {\n"
+        + "    throw new IllegalStateException(\"sorry,you can't call this way\");\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+}
@@ -0,0 +1,115 @@
+package butterknife;
+
+import butterknife.compiler.ButterKnifeProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class ParentPathTest {
+  @Test public void sharedParentPath() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test extends Activity {\n"
+        + "  @BindView(value = 3, parentPath = {1, 2}) TextView title;\n"
+        + "  @BindView(value = 4, parentPath = {1, 2}) View subtitle;\n"
+        + "  @BindView(value = 3, parentId = 1) View other;\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Object;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(Test target, View source, int layoutId) {\n"
+        + "    this.target = target;\n"
+        + "    if(layoutId != 0)\n"
+        + "        target.setContentView(layoutId);\n"
+        + "    View parent0 = Utils.findRequiredView(source, 1, \"parent of field 'title', field"
+        + " 'subtitle', and field 'other'\");\n"
+        + "    View parent1 = Utils.findRequiredView(parent0, 2, \"parent of field 'title' and"
+        + " field 'subtitle'\");\n"
+        + "    target.title = Utils.findRequiredViewAsType(parent1, 3, \"field 'title'\","
+        + " TextView.class);\n"
+        + "    target.subtitle = Utils.findRequiredView(parent1, 4, \"field 'subtitle'\");\n"
+        + "    target.other = Utils.findRequiredView(parent0, 3, \"field 'other'\");\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    Test target = this.target;\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already"
+        + " cleared.\");\n"
+        + "    this.target = null;\n"
+        + "    target.title = null;\n"
+        + "    target.subtitle = null;\n"
+        + "    target.other = null;\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Object getLayout() {\n"
+        + "    throw new IllegalStateException(\"sorry,you can't call this way\");\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
+  @Test public void failsIfParentIdAndParentPathAreBothSet() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test extends Activity {\n"
+        + "  @BindView(value = 3, parentId = 1, parentPath = 2) View thing;\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .processedWith(new ButterKnifeProcessor())
+        .failsToCompile()
+        .withErrorContaining(
+            "@BindView may specify parentId or parentPath but not both. (test.Test.thing)")
+        .in(source).onLine(6);
+  }
+
+  @Test public void failsIfParentPathContainsInvalidId() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test extends Activity {\n"
+        + "  @BindView(value = 3, parentPath = {1, 0}) View thing;\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .processedWith(new ButterKnifeProcessor())
+        .failsToCompile()
+        .withErrorContaining("@BindView parentPath contains invalid ID 0. (test.Test.thing)")
+        .in(source).onLine(6);
+  }
+}
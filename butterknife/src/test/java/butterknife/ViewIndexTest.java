@@ -0,0 +1,122 @@
+package butterknife;
+
+import android.content.Context;
+import android.view.View;
+import android.widget.FrameLayout;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.annotation.Config.NONE;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = NONE)
+public final class ViewIndexTest {
+  private final Context context = RuntimeEnvironment.application;
+  private final FrameLayout root = new FrameLayout(context);
+  private final FrameLayout first = group(1);
+  private final FrameLayout second = group(2);
+
+  @Test public void indexIsSharedWithinRoot() {
+    root.addView(first);
+    root.addView(second);
+    assertThat(ViewIndex.peek(first)).isNull();
+
+    ViewIndex index = ViewIndex.of(first);
+    assertThat(ViewIndex.of(second)).isSameAs(index);
+    assertThat(ViewIndex.peek(root)).isSameAs(index);
+    assertThat(ViewIndex.of(new FrameLayout(context))).isNotSameAs(index);
+  }
+
+  @Test public void lookupsAfterTheFirstAreAnsweredFromTheIndex() {
+    for (int id = 100; id < 200; id++) {
+      first.addView(view(id));
+    }
+    root.addView(first);
+    ViewIndex index = ViewIndex.of(root);
+
+    for (int id = 100; id < 200; id++) {
+      assertThat(index.find(root, id)).isSameAs(root.findViewById(id));
+    }
+    assertThat(index.getBuildCount()).isEqualTo(1);
+    assertThat(index.getHitCount()).isEqualTo(100);
+    assertThat(index.getMissCount()).isEqualTo(0);
+  }
+
+  @Test public void firstViewWithAnIdWins() {
+    View a = view(10);
+    View b = view(10);
+    first.addView(a);
+    second.addView(b);
+    root.addView(first);
+    root.addView(second);
+    ViewIndex index = ViewIndex.of(root);
+
+    assertThat(index.find(root, 10)).isSameAs(a);
+    // The first match lies outside this source, so the source is searched instead.
+    assertThat(index.find(second, 10)).isSameAs(b);
+    assertThat(index.getMissCount()).isEqualTo(1);
+  }
+
+  @Test public void viewsAddedAfterBuildAreFound() {
+    root.addView(first);
+    ViewIndex index = ViewIndex.of(root);
+    assertThat(index.find(root, 1)).isSameAs(first);
+
+    View added = view(20);
+    first.addView(added);
+    assertThat(index.find(root, 20)).isSameAs(added);
+    assertThat(index.find(root, 20)).isSameAs(added);
+    assertThat(index.getBuildCount()).isEqualTo(2);
+  }
+
+  @Test public void renumberedViewIsNotReturned() {
+    root.addView(first);
+    ViewIndex index = ViewIndex.of(root);
+    assertThat(index.find(root, 1)).isSameAs(first);
+
+    first.setId(3);
+    assertThat(index.find(root, 1)).isNull();
+    assertThat(index.find(root, 3)).isSameAs(first);
+  }
+
+  @Test public void invalidateRebuilds() {
+    root.addView(first);
+    ViewIndex index = ViewIndex.of(root);
+    index.find(root, 1);
+    index.onGlobalLayout();
+    index.find(root, 1);
+
+    assertThat(index.getBuildCount()).isEqualTo(2);
+  }
+
+  @Test public void findViewByIdUsesTheCurrentIndex() {
+    root.addView(first);
+    ViewIndex index = ViewIndex.of(root);
+    assertThat(ViewIndex.findViewById(root, 1)).isSameAs(first);
+    assertThat(index.getBuildCount()).isEqualTo(0);
+
+    ViewIndex previous = ViewIndex.enter(index);
+    try {
+      assertThat(ViewIndex.findViewById(root, 1)).isSameAs(first);
+    } finally {
+      ViewIndex.enter(previous);
+    }
+    assertThat(index.getHitCount()).isEqualTo(1);
+  }
+
+  private FrameLayout group(int id) {
+    FrameLayout group = new FrameLayout(context);
+    group.setId(id);
+    return group;
+  }
+
+  private View view(int id) {
+    View view = new View(context);
+    view.setId(id);
+    return view;
+  }
+}
@@ -0,0 +1,171 @@
+package butterknife;
+
+import butterknife.compiler.ButterKnifeProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class WeakBindingTest {
+  @Test public void weakBinding() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.OnClick;\n"
+        + "import butterknife.WeakBinding;\n"
+        + "@WeakBinding\n"
+        + "public class Test extends Activity {\n"
+        + "  @BindView(1) View thing;\n"
+        + "  @OnClick(1) void doStuff() {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Object;\n"
+        + "import java.lang.Override;\n"
+        + "import java.lang.ref.WeakReference;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private WeakReference<Test> target;\n"
+        + "  private WeakReference<View> view1;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source, int layoutId) {\n"
+        + "    final WeakReference<Test> weakTarget = new WeakReference<>(target);\n"
+        + "    this.target = weakTarget;\n"
+        + "    if(layoutId != 0)\n"
+        + "        target.setContentView(layoutId);\n"
+        + "    View view;\n"
+        + "    view = Utils.findRequiredView(source, 1, \"field 'thing' and method 'doStuff'\");\n"
+        + "    target.thing = view;\n"
+        + "    view1 = new WeakReference<>(view);\n"
+        + "    view.setOnClickListener(new DebouncingOnClickListener(\"Test.doStuff\") {\n"
+        + "      @Override\n"
+        + "      public void doClick(View p0) {\n"
+        + "        final Test target = weakTarget.get();\n"
+        + "        if (target == null) return;\n"
+        + "        target.doStuff();\n"
+        + "      }\n"
+        + "    });\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    if (this.target == null) throw new IllegalStateException(\"Bindings already"
+        + " cleared.\");\n"
+        + "    Test target = this.target.get();\n"
+        + "    this.target.clear();\n"
+        + "    this.target = null;\n"
+        + "    if (target != null) {\n"
+        + "      target.thing = null;\n"
+        + "    }\n"
+        + "    if (view1 != null) {\n"
+        + "      View view = view1.get();\n"
+        + "      if (view != null) {\n"
+        + "        view.setOnClickListener(null);\n"
+        + "      }\n"
+        + "      view1 = null;\n"
+        + "    }\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Object getLayout() {\n"
+        + "    throw new IllegalStateException(\"sorry,you can't call this way\");\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
+  @Test public void weakListenerReturnsDefaultOnceTargetIsGone() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.app.Activity;\n"
+        + "import butterknife.OnTouch;\n"
+        + "import butterknife.WeakBinding;\n"
+        + "@WeakBinding\n"
+        + "public class Test extends Activity {\n"
+        + "  @OnTouch(1) boolean doStuff() {\n"
+        + "    return true;\n"
+        + "  }\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.MotionEvent;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Object;\n"
+        + "import java.lang.Override;\n"
+        + "import java.lang.ref.WeakReference;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private WeakReference<Test> target;\n"
+        + "  private WeakReference<View> view1;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source, int layoutId) {\n"
+        + "    final WeakReference<Test> weakTarget = new WeakReference<>(target);\n"
+        + "    this.target = weakTarget;\n"
+        + "    if(layoutId != 0)\n"
+        + "        target.setContentView(layoutId);\n"
+        + "    View view;\n"
+        + "    view = Utils.findRequiredView(source, 1, \"method 'doStuff'\");\n"
+        + "    view1 = new WeakReference<>(view);\n"
+        + "    view.setOnTouchListener(new View.OnTouchListener() {\n"
+        + "      @Override\n"
+        + "      public boolean onTouch(View p0, MotionEvent p1) {\n"
+        + "        final Test target = weakTarget.get();\n"
+        + "        if (target == null) return false;\n"
+        + "        return target.doStuff();\n"
+        + "      }\n"
+        + "    });\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    if (this.target == null) throw new IllegalStateException(\"Bindings already"
+        + " cleared.\");\n"
+        + "    this.target.clear();\n"
+        + "    this.target = null;\n"
+        + "    if (view1 != null) {\n"
+        + "      View view = view1.get();\n"
+        + "      if (view != null) {\n"
+        + "        view.setOnTouchListener(null);\n"
+        + "      }\n"
+        + "      view1 = null;\n"
+        + "    }\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public Object getLayout() {\n"
+        + "    throw new IllegalStateException(\"sorry,you can't call this way\");\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+}
@@ -0,0 +1,67 @@
+package butterknife.internal;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowBitmapFactory;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+import static org.robolectric.annotation.Config.NONE;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = NONE)
+public final class BitmapCacheTest {
+  private static final int DRAWABLE = android.R.drawable.ic_delete;
+  private static final int SIZE = android.R.dimen.app_icon_size;
+
+  private final Context context = RuntimeEnvironment.application;
+
+  @After public void tearDown() {
+    BitmapCache.clear();
+  }
+
+  @Test public void sampleSizeKeepsBitmapAtLeastAsLargeAsTarget() {
+    assertThat(BitmapCache.calculateSampleSize(400, 400, 100, 100)).isEqualTo(4);
+    assertThat(BitmapCache.calculateSampleSize(400, 300, 100, 100)).isEqualTo(2);
+    assertThat(BitmapCache.calculateSampleSize(400, 300, 100, 0)).isEqualTo(4);
+    assertThat(BitmapCache.calculateSampleSize(400, 300, 0, 0)).isEqualTo(1);
+    assertThat(BitmapCache.calculateSampleSize(50, 50, 100, 100)).isEqualTo(1);
+    assertThat(BitmapCache.calculateSampleSize(0, 0, 100, 100)).isEqualTo(1);
+  }
+
+  @Test public void bitmapIsDecodedOncePerSampleSize() {
+    Bitmap first = BitmapCache.getSampledBitmap(context, DRAWABLE, 2);
+    assertThat(BitmapCache.getSampledBitmap(context, DRAWABLE, 2)).isSameAs(first);
+    assertThat(BitmapCache.getSampledBitmap(context, DRAWABLE, 4)).isNotSameAs(first);
+  }
+
+  @Test public void targetSizeSharesBitmapOfItsSampleSize() {
+    int size = context.getResources().getDimensionPixelSize(SIZE);
+    ShadowBitmapFactory.provideWidthAndHeightHints(DRAWABLE, size * 4, size * 4);
+
+    Bitmap bitmap = BitmapCache.getBitmap(context, DRAWABLE, SIZE, SIZE);
+    assertThat(BitmapCache.getSampledBitmap(context, DRAWABLE, 4)).isSameAs(bitmap);
+    assertThat(BitmapCache.getBitmap(context, DRAWABLE, SIZE, SIZE)).isSameAs(bitmap);
+  }
+
+  @Test public void clearDecodesAgain() {
+    Bitmap first = BitmapCache.getBitmap(context, DRAWABLE);
+    BitmapCache.clear();
+    assertThat(BitmapCache.getBitmap(context, DRAWABLE)).isNotSameAs(first);
+  }
+
+  @Test public void maxBytesMustBePositive() {
+    try {
+      BitmapCache.setMaxBytes(0);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessage("maxBytes <= 0");
+    }
+  }
+}
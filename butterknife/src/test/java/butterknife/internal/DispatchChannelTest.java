@@ -0,0 +1,148 @@
+package butterknife.internal;
+
+import butterknife.Backpressure;
+import butterknife.Dispatch;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public final class DispatchChannelTest {
+  private static final String EXECUTOR = "test";
+
+  private final Deque<Runnable> submitted = new ArrayDeque<>();
+  private final List<Integer> calls = new ArrayList<>();
+  private boolean reject;
+
+  @Before public void setUp() {
+    DispatchChannel.setExecutor(EXECUTOR, new Executor() {
+      @Override public void execute(Runnable command) {
+        if (reject) {
+          throw new RejectedExecutionException();
+        }
+        submitted.add(command);
+      }
+    });
+  }
+
+  @After public void tearDown() {
+    DispatchChannel.setExecutor(EXECUTOR, null);
+  }
+
+  @Test public void dropIgnoresEventsWhileACallRuns() {
+    DispatchChannel channel = new DispatchChannel(EXECUTOR, Backpressure.DROP);
+    channel.dispatch(call(1));
+    channel.dispatch(call(2));
+    assertThat(submitted).hasSize(1);
+
+    runSubmitted();
+    channel.dispatch(call(3));
+    runSubmitted();
+    assertThat(calls).containsExactly(1, 3).inOrder();
+  }
+
+  @Test public void latestKeepsTheMostRecentEvent() {
+    DispatchChannel channel = new DispatchChannel(EXECUTOR, Backpressure.LATEST);
+    channel.dispatch(call(1));
+    channel.dispatch(call(2));
+    channel.dispatch(call(3));
+    assertThat(submitted).hasSize(1);
+
+    runSubmitted();
+    assertThat(calls).containsExactly(1, 3).inOrder();
+  }
+
+  @Test public void queueCallsForEveryEventOneAtATime() {
+    DispatchChannel channel = new DispatchChannel(EXECUTOR, Backpressure.QUEUE);
+    channel.dispatch(call(1));
+    channel.dispatch(call(2));
+    channel.dispatch(call(3));
+    assertThat(submitted).hasSize(1);
+
+    runSubmitted();
+    assertThat(calls).containsExactly(1, 2, 3).inOrder();
+  }
+
+  @Test public void channelsAreIndependent() {
+    DispatchChannel first = new DispatchChannel(EXECUTOR, Backpressure.DROP);
+    DispatchChannel second = new DispatchChannel(EXECUTOR, Backpressure.DROP);
+    first.dispatch(call(1));
+    second.dispatch(call(2));
+
+    runSubmitted();
+    assertThat(calls).containsExactly(1, 2).inOrder();
+  }
+
+  @Test public void closeDropsWaitingAndLaterEvents() {
+    DispatchChannel channel = new DispatchChannel(EXECUTOR, Backpressure.QUEUE);
+    channel.dispatch(call(1));
+    channel.dispatch(call(2));
+    channel.close();
+    channel.dispatch(call(3));
+
+    runSubmitted();
+    assertThat(calls).containsExactly(1);
+
+    channel.dispatch(call(4));
+    assertThat(submitted).isEmpty();
+  }
+
+  @Test public void rejectedCallLetsLaterEventsThrough() {
+    DispatchChannel channel = new DispatchChannel(EXECUTOR, Backpressure.QUEUE);
+    reject = true;
+    try {
+      channel.dispatch(call(1));
+      fail();
+    } catch (RejectedExecutionException expected) {
+    }
+
+    reject = false;
+    channel.dispatch(call(2));
+    runSubmitted();
+    assertThat(calls).containsExactly(2);
+  }
+
+  @Test public void unknownExecutorThrows() {
+    DispatchChannel channel = new DispatchChannel("unknown", Backpressure.DROP);
+    try {
+      channel.dispatch(call(1));
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessage("No executor named 'unknown' was registered. "
+          + "Register one with ButterKnife.setExecutor.");
+    }
+  }
+
+  @Test public void mainExecutorCannotBeReplaced() {
+    try {
+      DispatchChannel.setExecutor(Dispatch.MAIN, null);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessage("The main thread's executor cannot be replaced.");
+    }
+  }
+
+  private Runnable call(final int event) {
+    return new Runnable() {
+      @Override public void run() {
+        calls.add(event);
+      }
+    };
+  }
+
+  /** Runs submitted tasks, and the ones they submit, like a single background thread would. */
+  private void runSubmitted() {
+    Runnable task;
+    while ((task = submitted.poll()) != null) {
+      task.run();
+    }
+  }
+}
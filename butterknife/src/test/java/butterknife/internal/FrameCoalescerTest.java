@@ -0,0 +1,83 @@
+package butterknife.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.annotation.Config.NONE;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = NONE)
+public final class FrameCoalescerTest {
+  private final FrameCoalescer coalescer = new FrameCoalescer();
+  private final List<String> events = new ArrayList<>();
+
+  @Before public void setUp() {
+    // Hold frame callbacks until the test runs them, as a real frame would.
+    ShadowLooper.pauseMainLooper();
+  }
+
+  @Test public void lastTaskRunsInTheNextFrame() {
+    coalescer.post(task("first"));
+    coalescer.post(task("second"));
+    assertThat(events).containsExactly("discard first");
+
+    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    assertThat(events).containsExactly("discard first", "run second").inOrder();
+
+    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    assertThat(events).hasSize(2);
+  }
+
+  @Test public void flushRunsThePendingTaskNow() {
+    coalescer.post(task("first"));
+    coalescer.flush();
+    assertThat(events).containsExactly("run first");
+
+    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    assertThat(events).containsExactly("run first");
+  }
+
+  @Test public void cancelDiscardsThePendingTask() {
+    coalescer.post(task("first"));
+    coalescer.cancel();
+    assertThat(events).containsExactly("discard first");
+
+    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    assertThat(events).containsExactly("discard first");
+
+    coalescer.post(task("second"));
+    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    assertThat(events).containsExactly("discard first", "run second").inOrder();
+  }
+
+  @Test public void plainTasksAreReplacedSilently() {
+    coalescer.post(new Runnable() {
+      @Override public void run() {
+        events.add("run plain");
+      }
+    });
+    coalescer.post(task("second"));
+
+    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    assertThat(events).containsExactly("run second");
+  }
+
+  private FrameCoalescer.DiscardableTask task(final String name) {
+    return new FrameCoalescer.DiscardableTask() {
+      @Override public void discard() {
+        events.add("discard " + name);
+      }
+
+      @Override public void run() {
+        events.add("run " + name);
+      }
+    };
+  }
+}
@@ -0,0 +1,84 @@
+package butterknife.internal;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.annotation.Config.NONE;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = NONE)
+public final class MissingViewCacheTest {
+  private static final int LAYOUT = 1;
+
+  private final Resources resources = new Resources(RuntimeEnvironment.application.getAssets(),
+      RuntimeEnvironment.application.getResources().getDisplayMetrics(),
+      new Configuration(RuntimeEnvironment.application.getResources().getConfiguration()));
+  private final Context context = new ContextWrapper(RuntimeEnvironment.application) {
+    @Override public Resources getResources() {
+      return resources;
+    }
+  };
+
+  @After public void tearDown() {
+    MissingViewCache.setEnabled(true);
+    MissingViewCache.clear();
+  }
+
+  @Test public void missingViewsAreRememberedPerLayout() {
+    MissingViewCache.forLayout(context, LAYOUT).setMissing(10);
+
+    assertThat(MissingViewCache.forLayout(context, LAYOUT).isMissing(10)).isTrue();
+    assertThat(MissingViewCache.forLayout(context, LAYOUT).isMissing(11)).isFalse();
+    assertThat(MissingViewCache.forLayout(context, LAYOUT + 1).isMissing(10)).isFalse();
+  }
+
+  @Test public void otherConfigurationStartsEmpty() {
+    Configuration config = resources.getConfiguration();
+    config.orientation = Configuration.ORIENTATION_PORTRAIT;
+    MissingViewCache.forLayout(context, LAYOUT).setMissing(10);
+
+    config.orientation = Configuration.ORIENTATION_LANDSCAPE;
+    assertThat(MissingViewCache.forLayout(context, LAYOUT).isMissing(10)).isFalse();
+
+    config.orientation = Configuration.ORIENTATION_PORTRAIT;
+    assertThat(MissingViewCache.forLayout(context, LAYOUT).isMissing(10)).isTrue();
+  }
+
+  @Test public void noMemoWithoutLayout() {
+    assertThat(MissingViewCache.forLayout(context, 0)).isNull();
+  }
+
+  @Test public void invalidateForgetsLayout() {
+    MissingViewCache.forLayout(context, LAYOUT).setMissing(10);
+    MissingViewCache.forLayout(context, LAYOUT + 1).setMissing(10);
+    MissingViewCache.invalidate(LAYOUT);
+
+    assertThat(MissingViewCache.forLayout(context, LAYOUT).isMissing(10)).isFalse();
+    assertThat(MissingViewCache.forLayout(context, LAYOUT + 1).isMissing(10)).isTrue();
+  }
+
+  @Test public void disablingForgetsEverything() {
+    MissingViewCache.forLayout(context, LAYOUT).setMissing(10);
+    MissingViewCache.setEnabled(false);
+    assertThat(MissingViewCache.forLayout(context, LAYOUT)).isNull();
+
+    MissingViewCache.setEnabled(true);
+    assertThat(MissingViewCache.forLayout(context, LAYOUT).isMissing(10)).isFalse();
+  }
+
+  @Test public void resourceCacheClearForgetsEverything() {
+    MissingViewCache.forLayout(context, LAYOUT).setMissing(10);
+    ResourceCache.clear();
+
+    assertThat(MissingViewCache.forLayout(context, LAYOUT).isMissing(10)).isFalse();
+  }
+}
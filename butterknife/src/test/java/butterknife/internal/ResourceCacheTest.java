@@ -0,0 +1,125 @@
+package butterknife.internal;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+import static org.robolectric.annotation.Config.NONE;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = NONE)
+public final class ResourceCacheTest {
+  private static final int INTEGER = android.R.integer.config_shortAnimTime;
+  private static final int DIMEN = android.R.dimen.app_icon_size;
+  private static final int ARRAY = android.R.array.emailAddressTypes;
+
+  private final CountingResources resources = new CountingResources(RuntimeEnvironment.application);
+  private final Context context = new ContextWrapper(RuntimeEnvironment.application) {
+    @Override public Resources getResources() {
+      return resources;
+    }
+  };
+
+  @After public void tearDown() {
+    ResourceCache.clear();
+  }
+
+  @Test public void valueIsResolvedOnce() {
+    int first = ResourceCache.getInteger(context, INTEGER);
+    int second = ResourceCache.getInteger(context, INTEGER);
+
+    assertThat(second).isEqualTo(first);
+    assertThat(resources.lookups).isEqualTo(1);
+  }
+
+  @Test public void otherConfigurationResolvesAgain() {
+    Configuration config = resources.getConfiguration();
+    config.orientation = Configuration.ORIENTATION_PORTRAIT;
+    ResourceCache.getInteger(context, INTEGER);
+
+    config.orientation = Configuration.ORIENTATION_LANDSCAPE;
+    ResourceCache.getInteger(context, INTEGER);
+    assertThat(resources.lookups).isEqualTo(2);
+
+    // The first configuration's table was keyed by a snapshot, not by the live configuration.
+    config.orientation = Configuration.ORIENTATION_PORTRAIT;
+    ResourceCache.getInteger(context, INTEGER);
+    assertThat(resources.lookups).isEqualTo(2);
+  }
+
+  @Test public void clearResolvesAgain() {
+    ResourceCache.getInteger(context, INTEGER);
+    ResourceCache.clear();
+    ResourceCache.getInteger(context, INTEGER);
+
+    assertThat(resources.lookups).isEqualTo(2);
+  }
+
+  @Test public void arraysAreCopies() {
+    String[] first = ResourceCache.getStringArray(context, ARRAY);
+    String expected = first[0];
+    first[0] = "changed";
+
+    String[] second = ResourceCache.getStringArray(context, ARRAY);
+    assertThat(second).isNotSameAs(first);
+    assertThat(second[0]).isEqualTo(expected);
+  }
+
+  @Test public void dimensionGettersSharingAnIdAreCachedApart() {
+    assertThat(ResourceCache.getDimensionPixelSize(context, DIMEN))
+        .isEqualTo(resources.getDimensionPixelSize(DIMEN));
+    assertThat(ResourceCache.getDimension(context, DIMEN))
+        .isEqualTo(resources.getDimension(DIMEN));
+    assertThat(ResourceCache.getDimensionPixelSize(context, DIMEN))
+        .isEqualTo(resources.getDimensionPixelSize(DIMEN));
+    try {
+      ResourceCache.getFloat(context, DIMEN);
+      fail();
+    } catch (Resources.NotFoundException expected) {
+    }
+  }
+
+  @Test public void floatIsNotAnsweredFromAnotherGetter() {
+    ResourceCache.getDimension(context, DIMEN);
+    try {
+      ResourceCache.getFloat(context, DIMEN);
+      fail();
+    } catch (Resources.NotFoundException expected) {
+    }
+    assertThat(ResourceCache.getDimensionPixelSize(context, DIMEN))
+        .isEqualTo(resources.getDimensionPixelSize(DIMEN));
+  }
+
+  @Test public void arrayGettersSharingAnIdAreCachedApart() {
+    assertThat(ResourceCache.getTextArray(context, ARRAY))
+        .isEqualTo(resources.getTextArray(ARRAY));
+    assertThat(ResourceCache.getStringArray(context, ARRAY))
+        .isEqualTo(resources.getStringArray(ARRAY));
+    assertThat(ResourceCache.getTextArray(context, ARRAY))
+        .isEqualTo(resources.getTextArray(ARRAY));
+  }
+
+  /** Counts how often an integer is actually resolved. */
+  static final class CountingResources extends Resources {
+    int lookups;
+
+    CountingResources(Context context) {
+      super(context.getAssets(), context.getResources().getDisplayMetrics(),
+          new Configuration(context.getResources().getConfiguration()));
+    }
+
+    @Override public int getInteger(int id) {
+      lookups++;
+      return super.getInteger(id);
+    }
+  }
+}
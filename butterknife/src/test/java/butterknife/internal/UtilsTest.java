@@ -0,0 +1,74 @@
+package butterknife.internal;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+import android.view.ContextThemeWrapper;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.annotation.Config.NONE;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = NONE)
+public final class UtilsTest {
+  private static final int DRAWABLE = android.R.drawable.ic_delete;
+  private static final int TINT = android.R.attr.colorForeground;
+
+  private final CountingResources resources = new CountingResources(RuntimeEnvironment.application);
+
+  @After public void tearDown() {
+    ResourceCache.clear();
+  }
+
+  @Test public void tintedDrawableIsLoadedOncePerTheme() {
+    Context context = themed();
+    Utils.getTintedDrawable(context, DRAWABLE, TINT);
+    Utils.getTintedDrawable(context, DRAWABLE, TINT);
+    assertThat(resources.drawableLoads).isEqualTo(1);
+
+    Utils.getTintedDrawable(themed(), DRAWABLE, TINT);
+    assertThat(resources.drawableLoads).isEqualTo(2);
+  }
+
+  @Test public void tintedDrawablesAreNotShared() {
+    Context context = themed();
+    Drawable first = Utils.getTintedDrawable(context, DRAWABLE, TINT);
+    Drawable second = Utils.getTintedDrawable(context, DRAWABLE, TINT);
+    assertThat(second).isNotSameAs(first);
+
+    first.setAlpha(0);
+    Drawable third = Utils.getTintedDrawable(context, DRAWABLE, TINT);
+    assertThat(third.getConstantState()).isNotSameAs(first.getConstantState());
+    assertThat(third.getConstantState()).isNotSameAs(second.getConstantState());
+  }
+
+  private Context themed() {
+    return new ContextThemeWrapper(RuntimeEnvironment.application, android.R.style.Theme) {
+      @Override public Resources getResources() {
+        return resources;
+      }
+    };
+  }
+
+  /** Counts how often a drawable is actually loaded. */
+  static final class CountingResources extends Resources {
+    int drawableLoads;
+
+    CountingResources(Context context) {
+      super(context.getAssets(), context.getResources().getDisplayMetrics(),
+          new Configuration(context.getResources().getConfiguration()));
+    }
+
+    @Override public Drawable getDrawable(int id) {
+      drawableLoads++;
+      return super.getDrawable(id);
+    }
+  }
+}